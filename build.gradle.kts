@@ -3,6 +3,7 @@ plugins {
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
     id("jacoco")
+    alias(libs.plugins.jmh)
 }
 
 configurations {
@@ -15,6 +16,9 @@ allprojects {
     group = property("app.group").toString()
 }
 
+// load test (HTTP only, does not depend on main classes)
+val loadtest: SourceSet by sourceSets.creating
+
 dependencyManagement {
     imports {
         mavenBom(libs.spring.cloud.dependencies.get().toString())
@@ -23,10 +27,15 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    // reactive profile (spring.main.web-application-type=reactive)
+    implementation(libs.spring.boot.starter.webflux)
+    implementation(libs.spring.boot.starter.actuator)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
     testImplementation(libs.spring.boot.starter.test)
+    testImplementation(libs.reactor.test)
+    "loadtestImplementation"(libs.hdrhistogram)
 
 }
 
@@ -46,6 +55,87 @@ tasks.getByName("bootJar") {
 tasks.getByName("jar") {
     enabled = false
 }
+// benchmark tasks (./gradlew jmh -Pjmh.includes=ShardedPointEngineBenchmark)
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    findProperty("jmh.includes")?.let { includes.add(it.toString()) }
+}
+// load test task (./gradlew loadTest -Ploadtest.args="rate=500 durationSeconds=60")
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Drives the running point API with an open-model load and reports latency percentiles"
+    classpath = loadtest.runtimeClasspath
+    mainClass.set("io.hhplus.tdd.loadtest.PointLoadTest")
+    args = findProperty("loadtest.args")?.toString()?.split(" ")?.filter { it.isNotBlank() } ?: emptyList()
+}
+// fast startup profile (./gradlew faststartTrain -Pfaststart, ./gradlew startupBenchmark -Pfaststart)
+// - bootJar is AOT processed with the faststart profile (bean conditions are fixed at build time)
+// - bootJar is unpacked into build/faststart/app as application.jar + lib/*.jar,
+//   because CDS can archive neither nested jars nor non-empty class directories
+// - a training run (exit on context refresh) dumps the class data sharing archive to build/faststart/app.jsa
+val mainClassName = "io.hhplus.tdd.TddApplication"
+if (hasProperty("faststart")) {
+    apply(plugin = "org.springframework.boot.aot")
+
+    tasks.named<org.springframework.boot.gradle.tasks.aot.ProcessAot>("processAot") {
+        args("--spring.profiles.active=faststart")
+    }
+
+    val faststartDir = layout.buildDirectory.dir("faststart").get().asFile
+    val faststartApp = faststartDir.resolve("app")
+    val faststartArchive = faststartDir.resolve("app.jsa")
+    val bootJarFile = tasks.named<org.springframework.boot.gradle.tasks.bundling.BootJar>("bootJar")
+        .flatMap { it.archiveFile }
+    // the same class path order must be used for training and for every run that maps the archive
+    val faststartClasspath = provider {
+        listOf(faststartApp.resolve("application.jar")) +
+            (faststartApp.resolve("lib").listFiles()?.sortedBy { it.name } ?: emptyList())
+    }
+    val faststartJvmArgs = listOf("-Dspring.aot.enabled=true", "-Dspring.profiles.active=faststart")
+
+    val faststartLibs by tasks.registering(Sync::class) {
+        from(zipTree(bootJarFile)) {
+            include("BOOT-INF/lib/*.jar")
+            eachFile { path = name }
+        }
+        includeEmptyDirs = false
+        into(faststartApp.resolve("lib"))
+    }
+    val faststartAppJar by tasks.registering(Jar::class) {
+        dependsOn(faststartLibs)
+        from(zipTree(bootJarFile)) {
+            include("BOOT-INF/classes/**")
+            eachFile { path = path.removePrefix("BOOT-INF/classes/") }
+        }
+        includeEmptyDirs = false
+        archiveFileName.set("application.jar")
+        destinationDirectory.set(faststartApp)
+    }
+    tasks.register<JavaExec>("faststartTrain") {
+        group = "build"
+        description = "Runs the AOT processed application until context refresh and dumps a CDS archive"
+        dependsOn(faststartAppJar)
+        classpath(faststartClasspath)
+        mainClass.set(mainClassName)
+        jvmArgs(faststartJvmArgs + listOf("-XX:ArchiveClassesAtExit=$faststartArchive", "-Dspring.context.exit=onRefresh"))
+        outputs.file(faststartArchive)
+    }
+    // startup benchmark (./gradlew startupBenchmark -Pfaststart -Pstartup.args="runs=10")
+    tasks.register<JavaExec>("startupBenchmark") {
+        group = "verification"
+        description = "Compares time-to-first-request of the default bootJar against the AOT + CDS layout"
+        dependsOn("faststartTrain")
+        classpath = loadtest.runtimeClasspath
+        mainClass.set("io.hhplus.tdd.loadtest.StartupBenchmark")
+        args = (findProperty("startup.args")?.toString()?.split(" ")?.filter { it.isNotBlank() } ?: emptyList()) +
+            listOf("logDir=$faststartDir")
+        doFirst {
+            systemProperty("startup.default", listOf("-jar", bootJarFile.get().asFile.path).joinToString("\n"))
+            systemProperty("startup.faststart", (listOf("-XX:SharedArchiveFile=$faststartArchive") + faststartJvmArgs +
+                listOf("-cp", faststartClasspath.get().joinToString(File.pathSeparator), mainClassName)).joinToString("\n"))
+        }
+    }
+}
 // test tasks
 tasks.test {
     ignoreFailures = true
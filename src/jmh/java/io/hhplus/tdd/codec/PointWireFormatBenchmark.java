@@ -0,0 +1,141 @@
+package io.hhplus.tdd.codec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON 과 application/x-point-binary 의 인코딩/디코딩 처리량
+ * - 충전/사용 응답(UserPoint), 요청 본문(long), 내역 100건(List<PointHistory>)
+ * - 인코딩은 둘 다 재사용하는 출력 스트림에 바로 쓴다 (응답 버퍼에 쓰는 것과 같은 경로)
+ * - 크기(bytes on the wire)는 Setup 에서 출력한다
+ * ./gradlew jmh -Pjmh.includes=PointWireFormatBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PointWireFormatBenchmark {
+
+    private static final int HISTORY_ROWS = 100;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+    private JavaType historyListType;
+
+    private UserPoint userPoint;
+    private List<PointHistory> histories;
+    private byte[] userPointJson;
+    private byte[] userPointBinary;
+    private byte[] amountJson;
+    private byte[] amountBinary;
+    private byte[] historiesJson;
+    private byte[] historiesBinary;
+
+    @Setup
+    public void setup() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        long time = 1_700_000_000_000L;
+        userPoint = new UserPoint(123_456L, 1_250_000L, time);
+        histories = new ArrayList<>(HISTORY_ROWS);
+        long id = 1_000_000L;
+        for (int i = 0; i < HISTORY_ROWS; i++) {
+            id += 1 + random.nextInt(5_000);
+            time += random.nextInt(600_000);
+            histories.add(new PointHistory(id, 123_456L, 1_000L * (1 + random.nextInt(100)),
+                    random.nextInt(2) == 0 ? TransactionType.CHARGE : TransactionType.USE, time));
+        }
+        historyListType = objectMapper.getTypeFactory().constructType(new TypeReference<List<PointHistory>>() {
+        });
+
+        userPointJson = objectMapper.writeValueAsBytes(userPoint);
+        userPointBinary = PointBinaryFormat.toBytes(userPoint);
+        amountJson = objectMapper.writeValueAsBytes(5_000L);
+        amountBinary = PointBinaryFormat.toBytes(5_000L);
+        historiesJson = objectMapper.writeValueAsBytes(histories);
+        historiesBinary = PointBinaryFormat.toBytes(histories);
+        System.out.printf("%nUserPoint json=%d binary=%d, amount json=%d binary=%d, %d histories json=%d binary=%d%n",
+                userPointJson.length, userPointBinary.length, amountJson.length, amountBinary.length,
+                HISTORY_ROWS, historiesJson.length, historiesBinary.length);
+    }
+
+    @Benchmark
+    public int userPointEncodeJson() throws IOException {
+        out.reset();
+        objectMapper.writeValue(out, userPoint);
+        return out.size();
+    }
+
+    @Benchmark
+    public int userPointEncodeBinary() throws IOException {
+        out.reset();
+        PointBinaryFormat.write(userPoint, out);
+        return out.size();
+    }
+
+    @Benchmark
+    public UserPoint userPointDecodeJson() throws IOException {
+        return objectMapper.readValue(userPointJson, UserPoint.class);
+    }
+
+    @Benchmark
+    public Object userPointDecodeBinary() {
+        return PointBinaryFormat.read(UserPoint.class, userPointBinary);
+    }
+
+    @Benchmark
+    public long amountDecodeJson() throws IOException {
+        return objectMapper.readValue(amountJson, long.class);
+    }
+
+    @Benchmark
+    public Object amountDecodeBinary() {
+        return PointBinaryFormat.read(long.class, amountBinary);
+    }
+
+    @Benchmark
+    public int historiesEncodeJson() throws IOException {
+        out.reset();
+        objectMapper.writeValue(out, histories);
+        return out.size();
+    }
+
+    @Benchmark
+    public int historiesEncodeBinary() throws IOException {
+        out.reset();
+        PointBinaryFormat.write(histories, out);
+        return out.size();
+    }
+
+    @Benchmark
+    public List<PointHistory> historiesDecodeJson() throws IOException {
+        return objectMapper.readValue(historiesJson, historyListType);
+    }
+
+    @Benchmark
+    public List<PointHistory> historiesDecodeBinary() {
+        return PointBinaryFormat.readList(PointHistory.class, historiesBinary);
+    }
+}
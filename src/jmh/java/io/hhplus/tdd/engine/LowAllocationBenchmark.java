@@ -0,0 +1,80 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.util.Deadline;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 충전 처리 경로의 연산당 할당량 확인 (-prof gc 의 gc.alloc.rate.norm)
+ * - ledgerBalance : 소비자/샤드 스레드가 하는 잔액 반영. 0 B/op 이어야 한다.
+ * - ledgerCharge : 잔액 반영 + 내역 추가. 내역 청크에 남는 데이터(행당 25 B + 청크 헤더)만 할당된다.
+ * - ringCharge : 링 버퍼 왕복. 경계에서 돌려주는 UserPoint 하나만 만든다.
+ * - perUserLock / stripedLock : 유저별 락 조회 시 Long 박싱 유무
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(1)
+public class LowAllocationBenchmark {
+
+    private static final int USER_COUNT = 1024;
+
+    private PointLedger ledger;
+    private PointRingBuffer ringBuffer;
+    private UserLocks perUserLocks;
+    private UserLocks stripedLocks;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ledger = new PointLedger();
+        ringBuffer = new PointRingBuffer(1024);
+        perUserLocks = new UserLocks(0);
+        stripedLocks = new UserLocks(1024);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ringBuffer.shutdown();
+    }
+
+    @Benchmark
+    public long ledgerBalance() {
+        long userId = 1_000 + (sequence++ & (USER_COUNT - 1));
+        long updated = ledger.pointOf(userId) + 1L;
+        ledger.updatePoint(userId, updated, sequence);
+        return updated;
+    }
+
+    @Benchmark
+    public long ledgerCharge() {
+        long userId = 1_000 + (sequence++ & (USER_COUNT - 1));
+        long updated = ledger.pointOf(userId) + 1L;
+        ledger.updatePoint(userId, updated, sequence);
+        ledger.appendHistory(sequence, userId, 1L, TransactionType.CHARGE, sequence);
+        return updated;
+    }
+
+    @Benchmark
+    public UserPoint ringCharge() {
+        long userId = 1_000 + (sequence++ & (USER_COUNT - 1));
+        return ringBuffer.apply(userId, 1L, TransactionType.CHARGE, Deadline.after(1000L));
+    }
+
+    @Benchmark
+    public Lock perUserLock() {
+        return perUserLocks.lockFor(1_000 + (sequence++ & (USER_COUNT - 1)));
+    }
+
+    @Benchmark
+    public Lock stripedLock() {
+        return stripedLocks.lockFor(1_000 + (sequence++ & (USER_COUNT - 1)));
+    }
+}
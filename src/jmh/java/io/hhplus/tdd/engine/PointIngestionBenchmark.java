@@ -0,0 +1,83 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.config.PointBatchProperties;
+import io.hhplus.tdd.config.PointTimeoutProperties;
+import io.hhplus.tdd.database.latency.StorageLatencyModel;
+import io.hhplus.tdd.database.latency.SyntheticPointHistoryTable;
+import io.hhplus.tdd.database.latency.SyntheticUserPointTable;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.repository.PointHistoryRepository;
+import io.hhplus.tdd.repository.UserPointRepository;
+import io.hhplus.tdd.service.UserPointServiceImpl;
+import io.hhplus.tdd.expire.PointExpiryTracker;
+import io.hhplus.tdd.feed.PointChangeFeed;
+import io.hhplus.tdd.store.BalanceVersionStore;
+import io.hhplus.tdd.store.HistoryJournal;
+import io.hhplus.tdd.store.BalanceLeaderboard;
+import io.hhplus.tdd.store.KnownUserFilter;
+import io.hhplus.tdd.util.Deadline;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 링 버퍼 처리와 기존 UserPointServiceImpl(유저별 락) 처리의 충전 처리량/할당량 비교
+ * - 할당량은 -prof gc 로 확인한다. (./gradlew jmh -Pjmh.includes=PointIngestionBenchmark)
+ * - 저장소 지연을 빼고 처리 경로 자체의 비용만 보기 위해 지연 없는(zero) 테이블을 쓴다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class PointIngestionBenchmark {
+
+    private static final int USER_COUNT = 10_000;
+
+    private PointRingBuffer ringBuffer;
+    private ExecutorService pointIoExecutor;
+    private UserPointServiceImpl userPointService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ringBuffer = new PointRingBuffer(1024);
+        pointIoExecutor = Executors.newFixedThreadPool(4);
+        userPointService = new UserPointServiceImpl(
+                new UserPointRepository(new SyntheticUserPointTable(StorageLatencyModel.zero()), KnownUserFilter.disabled(), new BalanceLeaderboard()),
+                new PointHistoryRepository(new SyntheticPointHistoryTable(StorageLatencyModel.zero()), KnownUserFilter.disabled(), new HistoryJournal()),
+                new PointTimeoutProperties(),
+                new UserLocks(0),
+                pointIoExecutor,
+                new BalanceVersionStore(60_000L, 4096),
+                new PointBatchProperties(),
+                pointIoExecutor,
+                new PointChangeFeed(1 << 16),
+                PointExpiryTracker.disabled(),
+                HotKeyLanes.disabled(),
+                pointIoExecutor);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ringBuffer.shutdown();
+        pointIoExecutor.shutdown();
+    }
+
+    @Benchmark
+    public UserPoint ringBuffer() {
+        long userId = ThreadLocalRandom.current().nextInt(USER_COUNT);
+        return ringBuffer.apply(userId, 1L, TransactionType.CHARGE, Deadline.after(1000L));
+    }
+
+    @Benchmark
+    public UserPoint lockService() {
+        long userId = ThreadLocalRandom.current().nextInt(USER_COUNT);
+        return userPointService.chargeUserPoint(userId, 1L);
+    }
+}
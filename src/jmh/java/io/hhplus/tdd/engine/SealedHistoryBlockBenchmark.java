@@ -0,0 +1,77 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.point.PointHistory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 압축 내역 블록의 압축률과 풀기 처리량
+ * - 64행 블록 하나를 푸는 것을 64 연산으로 센다 (결과는 행/초)
+ * - 압축률은 Setup 에서 출력한다
+ * ./gradlew jmh -Pjmh.includes=SealedHistoryBlockBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SealedHistoryBlockBenchmark {
+
+    private static final int ROWS = 64;
+
+    private final long[] ids = new long[ROWS];
+    private final long[] amounts = new long[ROWS];
+    private final long[] millis = new long[ROWS];
+    private final byte[] types = new byte[ROWS];
+    private final List<PointHistory> out = new ArrayList<>(ROWS);
+    private SealedHistoryBlock block;
+
+    //여러 유저가 섞여 기록된 한 유저의 내역: id 는 드문드문, 시각은 몇 분 간격, 금액은 천 단위
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        long id = 1_000_000L;
+        long time = 1_700_000_000_000L;
+        for (int i = 0; i < ROWS; i++) {
+            id += 1 + random.nextInt(5_000);
+            time += random.nextInt(600_000);
+            ids[i] = id;
+            millis[i] = time;
+            amounts[i] = 1_000L * (1 + random.nextInt(100));
+            types[i] = (byte) random.nextInt(2);
+        }
+        block = SealedHistoryBlock.encode(ids, amounts, millis, types, ROWS);
+        System.out.printf("%nraw=%d bytes, sealed=%d bytes, ratio=%.2f%n",
+                ROWS * SealedHistoryBlock.RAW_ROW_BYTES, block.encodedBytes(),
+                (double) ROWS * SealedHistoryBlock.RAW_ROW_BYTES / block.encodedBytes());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<PointHistory> decode() {
+        out.clear();
+        block.decodeInto(1L, out);
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public SealedHistoryBlock encode() {
+        return SealedHistoryBlock.encode(ids, amounts, millis, types, ROWS);
+    }
+}
@@ -0,0 +1,47 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.util.Deadline;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 샤드 수(1 ~ N)에 따른 충전 처리량 비교
+ * - 샤드 수를 코어 수까지 늘리며 처리량이 선형에 가깝게 늘어나는지 확인한다.
+ * - 생산자 스레드 수는 -t 옵션으로 바꿀 수 있다. (기본값: 코어 수)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+public class ShardedPointEngineBenchmark {
+
+    private static final int USER_COUNT = 10_000;
+
+    @Param({"1", "2", "4", "8"})
+    private int shardCount;
+
+    private ShardedPointEngine engine;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        engine = new ShardedPointEngine(shardCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Benchmark
+    public UserPoint charge() {
+        long userId = ThreadLocalRandom.current().nextInt(USER_COUNT);
+        return engine.apply(userId, 1L, TransactionType.CHARGE, Deadline.after(1000L));
+    }
+}
@@ -0,0 +1,56 @@
+package io.hhplus.tdd.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트 설정 (key=value 인자)
+ * - baseUrl : 대상 서버 주소
+ * - rate : 초당 요청 수 (개방형 모델, 응답을 기다리지 않고 일정한 간격으로 보낸다)
+ * - durationSeconds / warmupSeconds : 측정 시간 / 측정 전 워밍업 시간
+ * - users : 유저 수, zipf : 유저 편중도 (0 이면 균등)
+ * - readRatio : 조회 비율, historyRatio : 조회 중 내역 조회 비율, useRatio : 쓰기 중 사용 비율
+ * - historyDepth : 측정 전에 유저마다 미리 쌓아 둘 충전 내역 수 (상위 seedUsers 명)
+ */
+public record LoadTestOptions(
+        String baseUrl,
+        int rate,
+        int durationSeconds,
+        int warmupSeconds,
+        int users,
+        double zipf,
+        double readRatio,
+        double historyRatio,
+        double useRatio,
+        int historyDepth,
+        int seedUsers,
+        int maxConnections,
+        long seed
+) {
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int index = arg.indexOf('=');
+            if (index <= 0) {
+                throw new IllegalArgumentException("Argument must be key=value: " + arg);
+            }
+            values.put(arg.substring(0, index).replaceFirst("^--", ""), arg.substring(index + 1));
+        }
+        return new LoadTestOptions(
+                values.getOrDefault("baseUrl", "http://localhost:9999"),
+                Integer.parseInt(values.getOrDefault("rate", "200")),
+                Integer.parseInt(values.getOrDefault("durationSeconds", "30")),
+                Integer.parseInt(values.getOrDefault("warmupSeconds", "5")),
+                Integer.parseInt(values.getOrDefault("users", "10000")),
+                Double.parseDouble(values.getOrDefault("zipf", "0.99")),
+                Double.parseDouble(values.getOrDefault("readRatio", "0.8")),
+                Double.parseDouble(values.getOrDefault("historyRatio", "0.25")),
+                Double.parseDouble(values.getOrDefault("useRatio", "0.3")),
+                Integer.parseInt(values.getOrDefault("historyDepth", "0")),
+                Integer.parseInt(values.getOrDefault("seedUsers", "100")),
+                Integer.parseInt(values.getOrDefault("maxConnections", "256")),
+                Long.parseLong(values.getOrDefault("seed", "42"))
+        );
+    }
+}
@@ -0,0 +1,210 @@
+package io.hhplus.tdd.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * TddApplication 의 HTTP API 를 대상으로 하는 개방형(open model) 부하 발생기
+ * - 요청은 응답과 무관하게 정해진 시각(intended start)에 보낸다.
+ * - 지연 시간은 정해진 시각부터 응답까지(보정값)와 실제 전송부터 응답까지(미보정값)를 따로 기록한다.
+ *   두 값의 차이가 크거나 전송이 예정보다 늦어졌다면 coordinated omission 이 발생한 것으로 보고한다.
+ *
+ * ./gradlew loadTest -Ploadtest.args="rate=500 durationSeconds=60 zipf=0.99 readRatio=0.9"
+ */
+public class PointLoadTest {
+
+    enum Operation {READ_POINT, READ_HISTORY, CHARGE, USE}
+
+    //예정 시각보다 이만큼 늦게 보낸 요청은 늦은 요청으로 센다
+    private static final long LATE_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final LoadTestOptions options;
+    private final HttpClient client;
+    private final ZipfianGenerator zipfian;
+    private final SplittableRandom random;
+    private final Semaphore inFlight;
+
+    public PointLoadTest(LoadTestOptions options, HttpClient client) {
+        this.options = options;
+        this.client = client;
+        this.zipfian = new ZipfianGenerator(options.users(), options.zipf());
+        this.random = new SplittableRandom(options.seed());
+        this.inFlight = new Semaphore(options.maxConnections());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        try {
+            PointLoadTest loadTest = new PointLoadTest(options, client);
+            loadTest.seedHistories();
+            if (options.warmupSeconds() > 0) {
+                loadTest.run(options.warmupSeconds());
+            }
+            loadTest.run(options.durationSeconds()).print(System.out, options);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    //상위 seedUsers 명에게 historyDepth 건씩 충전 내역을 미리 쌓는다
+    void seedHistories() {
+        if (options.historyDepth() <= 0) {
+            return;
+        }
+        for (int depth = 0; depth < options.historyDepth(); depth++) {
+            for (int rank = 0; rank < Math.min(options.seedUsers(), options.users()); rank++) {
+                inFlight.acquireUninterruptibly();
+                client.sendAsync(request(Operation.CHARGE, userIdOf(rank)), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> inFlight.release());
+            }
+        }
+        inFlight.acquireUninterruptibly(options.maxConnections());
+        inFlight.release(options.maxConnections());
+    }
+
+    Result run(int durationSeconds) {
+        Result result = new Result();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * intervalNanos;
+            if (intended >= end) {
+                break;
+            }
+            long now;
+            while ((now = System.nanoTime()) < intended) {
+                LockSupport.parkNanos(intended - now);
+            }
+            inFlight.acquireUninterruptibly();
+            long sent = System.nanoTime();
+            result.recordLag(sent - intended);
+
+            Operation operation = nextOperation();
+            client.sendAsync(request(operation, userIdOf(zipfian.next(random))), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        long done = System.nanoTime();
+                        result.record(operation, done - intended, done - sent, error == null ? response.statusCode() : -1);
+                        inFlight.release();
+                    });
+        }
+        inFlight.acquireUninterruptibly(options.maxConnections());
+        inFlight.release(options.maxConnections());
+        result.elapsedNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    private Operation nextOperation() {
+        if (random.nextDouble() < options.readRatio()) {
+            return random.nextDouble() < options.historyRatio() ? Operation.READ_HISTORY : Operation.READ_POINT;
+        }
+        return random.nextDouble() < options.useRatio() ? Operation.USE : Operation.CHARGE;
+    }
+
+    //Zipf 순위 0 이 가장 뜨거운 유저(userId 1)가 된다
+    private static long userIdOf(long rank) {
+        return rank + 1;
+    }
+
+    private HttpRequest request(Operation operation, long userId) {
+        String url = options.baseUrl() + "/point/" + userId;
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(Duration.ofSeconds(30));
+        return switch (operation) {
+            case READ_POINT -> builder.uri(URI.create(url)).GET().build();
+            case READ_HISTORY -> builder.uri(URI.create(url + "/histories")).GET().build();
+            case CHARGE -> builder.uri(URI.create(url + "/charge"))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("1000")).build();
+            case USE -> builder.uri(URI.create(url + "/use"))
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("10")).build();
+        };
+    }
+
+    static class Result {
+
+        private final Map<Operation, Histogram> corrected = new EnumMap<>(Operation.class);
+        private final Histogram correctedAll = new ConcurrentHistogram(3);
+        private final Histogram uncorrectedAll = new ConcurrentHistogram(3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder lateSends = new LongAdder();
+        private final AtomicLong maxLagNanos = new AtomicLong();
+        private long elapsedNanos;
+
+        Result() {
+            for (Operation operation : Operation.values()) {
+                corrected.put(operation, new ConcurrentHistogram(3));
+            }
+        }
+
+        void recordLag(long lagNanos) {
+            if (lagNanos > LATE_THRESHOLD_NANOS) {
+                lateSends.increment();
+            }
+            maxLagNanos.accumulateAndGet(lagNanos, Math::max);
+        }
+
+        void record(Operation operation, long correctedNanos, long uncorrectedNanos, int status) {
+            corrected.get(operation).recordValue(correctedNanos);
+            correctedAll.recordValue(correctedNanos);
+            uncorrectedAll.recordValue(uncorrectedNanos);
+            statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+
+        void print(PrintStream out, LoadTestOptions options) {
+            long total = correctedAll.getTotalCount();
+            double seconds = elapsedNanos / 1e9;
+            out.printf("target rate %d req/s, achieved %.1f req/s (%d requests in %.1fs)%n",
+                    options.rate(), total / seconds, total, seconds);
+            out.printf("%-14s %8s %9s %9s %9s %9s %9s%n", "operation", "count", "p50(ms)", "p90(ms)", "p99(ms)", "p99.9(ms)", "max(ms)");
+            for (Operation operation : Operation.values()) {
+                printRow(out, operation.name(), corrected.get(operation));
+            }
+            printRow(out, "ALL", correctedAll);
+            printRow(out, "ALL(uncorr.)", uncorrectedAll);
+            out.println("status " + statuses.entrySet().stream()
+                    .map(entry -> entry.getKey() + "=" + entry.getValue().sum()).toList());
+
+            double p99Ratio = uncorrectedAll.getTotalCount() == 0 ? 1.0
+                    : (double) correctedAll.getValueAtPercentile(99) / Math.max(1, uncorrectedAll.getValueAtPercentile(99));
+            out.printf("late sends %d (max lag %.1fms), corrected/uncorrected p99 = %.2f%n",
+                    lateSends.sum(), maxLagNanos.get() / 1e6, p99Ratio);
+            if (lateSends.sum() > total / 100 || p99Ratio > 1.5) {
+                out.println("WARNING: coordinated omission detected - the generator could not keep the schedule,"
+                        + " use the corrected percentiles (or raise maxConnections / lower rate)");
+            }
+        }
+
+        private static void printRow(PrintStream out, String name, Histogram histogram) {
+            out.printf("%-14s %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, histogram.getTotalCount(),
+                    histogram.getValueAtPercentile(50) / 1e6, histogram.getValueAtPercentile(90) / 1e6,
+                    histogram.getValueAtPercentile(99) / 1e6, histogram.getValueAtPercentile(99.9) / 1e6,
+                    histogram.getMaxValue() / 1e6);
+        }
+    }
+}
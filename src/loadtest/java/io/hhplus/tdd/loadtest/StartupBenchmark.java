@@ -0,0 +1,121 @@
+package io.hhplus.tdd.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기동 방식별 첫 요청까지 걸린 시간(time-to-first-request) 비교
+ * - 변형마다 JVM 을 새로 띄우고, 프로세스 시작부터 GET path 가 처음 응답할 때까지를 잰다.
+ * - 변형의 JVM 인자는 시스템 프로퍼티 startup.<이름> 에 한 줄에 하나씩 담는다.
+ * - 변형을 번갈아 실행해 측정 중 시스템 상태 변화가 한쪽에만 몰리지 않게 한다.
+ *
+ * ./gradlew startupBenchmark -Pfaststart -Pstartup.args="runs=10"
+ */
+public class StartupBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int index = arg.indexOf('=');
+            if (index <= 0) {
+                throw new IllegalArgumentException("Argument must be key=value: " + arg);
+            }
+            options.put(arg.substring(0, index).replaceFirst("^--", ""), arg.substring(index + 1));
+        }
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        int port = Integer.parseInt(options.getOrDefault("port", "9990"));
+        String path = options.getOrDefault("path", "/point/1");
+        long timeoutNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("timeoutSeconds", "60")));
+        Path logDir = Path.of(options.getOrDefault("logDir", System.getProperty("java.io.tmpdir")));
+
+        Map<String, List<String>> variants = new LinkedHashMap<>();
+        for (String name : options.getOrDefault("variants", "default,faststart").split(",")) {
+            String jvmArgs = System.getProperty("startup." + name);
+            if (jvmArgs == null) {
+                throw new IllegalArgumentException("Missing system property startup." + name);
+            }
+            variants.put(name, Arrays.stream(jvmArgs.split("\n")).filter(arg -> !arg.isBlank()).toList());
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(200))
+                .build();
+        URI uri = URI.create("http://localhost:" + port + path);
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+        Map<String, long[]> results = new LinkedHashMap<>();
+        variants.keySet().forEach(name -> results.put(name, new long[runs]));
+        for (int run = 0; run < runs; run++) {
+            for (Map.Entry<String, List<String>> variant : variants.entrySet()) {
+                List<String> command = new ArrayList<>();
+                command.add(java);
+                command.addAll(variant.getValue());
+                command.add("--server.port=" + port);
+                File log = logDir.resolve("startup-" + variant.getKey() + ".log").toFile();
+                results.get(variant.getKey())[run] = timeToFirstRequest(command, log, client, uri, timeoutNanos);
+            }
+        }
+
+        System.out.printf("time to first request (%s, %d runs)%n", path, runs);
+        System.out.printf("%-12s %10s %10s %10s%n", "variant", "min(ms)", "median(ms)", "max(ms)");
+        for (Map.Entry<String, long[]> result : results.entrySet()) {
+            long[] nanos = result.getValue().clone();
+            Arrays.sort(nanos);
+            System.out.printf("%-12s %10.1f %10.1f %10.1f%n", result.getKey(),
+                    nanos[0] / 1e6, nanos[nanos.length / 2] / 1e6, nanos[nanos.length - 1] / 1e6);
+        }
+        if (results.size() >= 2) {
+            List<long[]> ordered = new ArrayList<>(results.values());
+            long[] baseline = ordered.get(0).clone();
+            long[] candidate = ordered.get(ordered.size() - 1).clone();
+            Arrays.sort(baseline);
+            Arrays.sort(candidate);
+            System.out.printf("median speedup: %.2fx%n", (double) baseline[runs / 2] / candidate[runs / 2]);
+        }
+    }
+
+    //응답 코드와 상관없이 서버가 처음 응답한 시점까지
+    private static long timeToFirstRequest(List<String> command, File log, HttpClient client, URI uri, long timeoutNanos)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build();
+            while (System.nanoTime() - start < timeoutNanos) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Process exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    client.send(request, HttpResponse.BodyHandlers.discarding());
+                    return System.nanoTime() - start;
+                } catch (IOException e) {
+                    //아직 포트가 열리지 않았다
+                    Thread.sleep(5);
+                }
+            }
+            throw new IllegalStateException("No response within timeout, see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+}
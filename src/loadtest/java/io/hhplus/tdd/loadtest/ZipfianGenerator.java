@@ -0,0 +1,55 @@
+package io.hhplus.tdd.loadtest;
+
+import java.util.SplittableRandom;
+
+/**
+ * [0, items) 범위의 Zipf 분포 난수 (Gray et al. "Quickly Generating Billion-Record Synthetic Databases")
+ * - 0 번이 가장 자주 나오므로 호출하는 쪽에서 userId 로 섞어서 쓴다.
+ * - theta 가 0 이면 균등 분포와 같다.
+ */
+public class ZipfianGenerator {
+
+    private final long items;
+    private final double theta;
+    private final double zetaN;
+    private final double alpha;
+    private final double eta;
+
+    public ZipfianGenerator(long items, double theta) {
+        if (items <= 0) {
+            throw new IllegalArgumentException("Items must be greater than 0");
+        }
+        if (theta < 0 || theta == 1.0) {
+            throw new IllegalArgumentException("Theta must be >= 0 and != 1");
+        }
+        this.items = items;
+        this.theta = theta;
+        this.zetaN = zeta(items, theta);
+        double zeta2 = zeta(2, theta);
+        this.alpha = 1.0 / (1.0 - theta);
+        this.eta = (1 - Math.pow(2.0 / items, 1 - theta)) / (1 - zeta2 / zetaN);
+    }
+
+    public long next(SplittableRandom random) {
+        if (theta == 0) {
+            return random.nextLong(items);
+        }
+        double u = random.nextDouble();
+        double uz = u * zetaN;
+        if (uz < 1.0) {
+            return 0;
+        }
+        if (uz < 1.0 + Math.pow(0.5, theta)) {
+            return Math.min(1, items - 1);
+        }
+        return Math.min(items - 1, (long) (items * Math.pow(eta * u - eta + 1, alpha)));
+    }
+
+    private static double zeta(long n, double theta) {
+        double sum = 0;
+        for (long i = 1; i <= n; i++) {
+            sum += 1 / Math.pow(i, theta);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.exception.PointTimeoutException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+
+//ApiControllerAdvice 의 WebFlux 버전 (reactive 프로필)
+@Profile("reactive")
+@RestControllerAdvice
+class ReactiveApiControllerAdvice extends ResponseEntityExceptionHandler {
+    @ExceptionHandler(value = PointTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handlePointTimeoutException(PointTimeoutException e) {
+        return ResponseEntity.status(504).body(new ErrorResponse("504", "처리 시간이 초과되었습니다."));
+    }
+
+    @ExceptionHandler(value = Exception.class)
+    public ResponseEntity<ErrorResponse> handleException(Exception e) {
+        return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
+    }
+}
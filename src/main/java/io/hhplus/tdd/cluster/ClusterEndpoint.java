@@ -0,0 +1,33 @@
+package io.hhplus.tdd.cluster;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.Map;
+
+/**
+ * /actuator/cluster
+ * - GET         : 자기 노드, 노드별 가상 노드 수와 담당 비율
+ * - GET /{id}   : 해당 유저의 담당 노드
+ */
+@Endpoint(id = "cluster")
+@RequiredArgsConstructor
+public class ClusterEndpoint {
+
+    private final ClusterRouter clusterRouter;
+
+    @ReadOperation
+    public Map<String, Object> cluster() {
+        return Map.of(
+                "self", clusterRouter.self(),
+                "virtualNodes", clusterRouter.ring().nodes(),
+                "ownership", clusterRouter.ring().ownership());
+    }
+
+    @ReadOperation
+    public Map<String, Object> owner(@Selector long userId) {
+        return Map.of("userId", userId, "owner", clusterRouter.ownerOf(userId));
+    }
+}
@@ -0,0 +1,85 @@
+package io.hhplus.tdd.cluster;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 담당 노드를 찾고, 다른 노드가 담당하는 요청을 그 노드로 전달한다.
+ * HttpClient 는 노드별 연결을 재사용(keep-alive)하므로 요청마다 연결을 새로 맺지 않는다.
+ * 전달하는 요청에는 보내는 노드와 노드끼리 공유하는 secret 을 붙이고, 받는 쪽은 둘 다 맞을 때만 전달된 요청으로 믿는다.
+ */
+public class ClusterRouter {
+
+    //전달된 요청에 붙여 받는 쪽이 다시 전달하지 않게 한다
+    public static final String FORWARDED_HEADER = "X-Point-Forwarded-By";
+    //노드끼리 공유하는 secret, 클라이언트가 FORWARDED_HEADER 를 붙여 담당 노드 확인을 건너뛰지 못하게 한다
+    public static final String TOKEN_HEADER = "X-Point-Cluster-Token";
+
+    private final ConsistentHashRing ring;
+    private final String self;
+    private final byte[] secret;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+
+    public ClusterRouter(ConsistentHashRing ring, String self, String secret, HttpClient httpClient, Duration requestTimeout) {
+        if (!ring.nodes().containsKey(self)) {
+            throw new IllegalArgumentException("Self node is not in the cluster: " + self);
+        }
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("Cluster secret must be set");
+        }
+        this.ring = ring;
+        this.self = self;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+    }
+
+    public String ownerOf(long userId) {
+        return ring.ownerOf(userId);
+    }
+
+    public boolean isLocal(long userId) {
+        return self.equals(ring.ownerOf(userId));
+    }
+
+    public String self() {
+        return self;
+    }
+
+    public ConsistentHashRing ring() {
+        return ring;
+    }
+
+    //클러스터의 다른 노드가 secret 을 붙여 전달한 요청인지 (비교 시간은 secret 내용과 무관하다)
+    public boolean isTrustedHop(String forwardedBy, String token) {
+        if (forwardedBy == null || token == null || !ring.nodes().containsKey(forwardedBy)) {
+            return false;
+        }
+        return MessageDigest.isEqual(secret, token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public CompletableFuture<HttpResponse<byte[]>> forward(String node, String method, String pathAndQuery,
+                                                           String contentType, String accept, byte[] body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(node + pathAndQuery))
+                .timeout(requestTimeout)
+                .header(FORWARDED_HEADER, self)
+                .header(TOKEN_HEADER, new String(secret, StandardCharsets.UTF_8))
+                .method(method, body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        if (contentType != null) {
+            builder.header("Content-Type", contentType);
+        }
+        if (accept != null) {
+            builder.header("Accept", accept);
+        }
+        return httpClient.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
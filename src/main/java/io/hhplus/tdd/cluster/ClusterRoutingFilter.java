@@ -0,0 +1,353 @@
+package io.hhplus.tdd.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.codec.PointBinaryFormat;
+import io.hhplus.tdd.config.PointBatchProperties;
+import io.hhplus.tdd.point.LeaderboardEntry;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.service.UserPointService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * /point 요청을 담당 노드로 보낸다.
+ * - /point/{id}/** : 담당 노드가 아니면 그대로 전달하고 응답을 돌려준다. 한 유저의 요청은 한 노드에서만 처리되므로
+ *   유저별 락이 클러스터 전체에서 유효하다.
+ * - POST /point/balances : id 를 담당 노드별로 나눠 동시에 조회하고 요청 순서대로 합친다.
+ *   나누기 전에 본문과 id 개수(point.batch.max-ids)를 검사하므로 클러스터 전체에서도 한 요청에 max-ids 개까지다.
+ * - GET /point/leaderboard : 모든 노드의 상위 목록을 모아 다시 순위를 매긴다.
+ * - GET /point/{id}/rank : 담당 노드의 순위에 다른 노드에서 그 유저보다 앞서는 유저 수를 더해 전체 순위를 돌려준다.
+ *   노드마다 조금씩 다른 시점에 세므로, 그 사이 바뀐 포인트만큼 어긋날 수 있다.
+ * - 그 밖의 요청(변경 피드 등)과 다른 노드가 전달한 요청은 이 노드에서 처리한다.
+ *   전달된 요청은 보낸 노드가 클러스터 노드이고 secret 이 맞을 때만 믿으며, 아니면 전달 헤더를 지우고 클라이언트 요청으로 처리한다.
+ * - 잘못된 본문, 숫자가 아닌 id/limit 은 노드로 보내지 않고 400 으로 돌려준다.
+ * - 노드 사이의 나눠 조회/모으기는 application/x-point-binary 로 주고받고, 클라이언트에는 Accept 에 맞춰 돌려준다.
+ */
+public class ClusterRoutingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterRoutingFilter.class);
+    private static final MediaType BINARY = MediaType.valueOf(PointBinaryFormat.MEDIA_TYPE_VALUE);
+    private static final Pattern USER_PATH = Pattern.compile("^/point/(\\d+)(/.*)?$");
+    private static final Pattern RANK_PATH = Pattern.compile("^/point/(\\d+)/rank$");
+
+    private final ClusterRouter clusterRouter;
+    private final ObjectMapper objectMapper;
+    private final PointBatchProperties pointBatchProperties;
+
+    public ClusterRoutingFilter(ClusterRouter clusterRouter, ObjectMapper objectMapper,
+                                PointBatchProperties pointBatchProperties) {
+        this.clusterRouter = clusterRouter;
+        this.objectMapper = objectMapper;
+        this.pointBatchProperties = pointBatchProperties;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String forwardedBy = request.getHeader(ClusterRouter.FORWARDED_HEADER);
+        String token = request.getHeader(ClusterRouter.TOKEN_HEADER);
+        if (clusterRouter.isTrustedHop(forwardedBy, token)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (forwardedBy != null || token != null) {
+            request = new ExternalRequest(request);
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        try {
+            if ("POST".equals(request.getMethod()) && "/point/balances".equals(path)) {
+                scatterBalances(request, response, chain);
+                return;
+            }
+            if ("GET".equals(request.getMethod()) && "/point/leaderboard".equals(path)) {
+                gatherLeaderboard(request, response);
+                return;
+            }
+            Matcher rankMatcher = RANK_PATH.matcher(path);
+            if ("GET".equals(request.getMethod()) && rankMatcher.matches()) {
+                gatherRank(request, response, Long.parseLong(rankMatcher.group(1)), path);
+                return;
+            }
+            Matcher matcher = USER_PATH.matcher(path);
+            if (matcher.matches()) {
+                long userId = Long.parseLong(matcher.group(1));
+                if (!clusterRouter.isLocal(userId)) {
+                    byte[] body = request.getInputStream().readAllBytes();
+                    writeResponse(response, clusterRouter.forward(clusterRouter.ownerOf(userId), request.getMethod(),
+                            pathAndQuery(request, path), request.getContentType(), request.getHeader("Accept"), body).join());
+                    return;
+                }
+            }
+        } catch (NumberFormatException e) {
+            writeBadRequest(response);
+            return;
+        } catch (CompletionException e) {
+            log.warn("Failed to forward {} {}", request.getMethod(), path, e.getCause());
+            writeError(response);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private void scatterBalances(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        byte[] body = request.getInputStream().readAllBytes();
+        List<Long> ids;
+        try {
+            ids = isBinary(request.getContentType())
+                    ? PointBinaryFormat.readList(Long.class, body)
+                    : objectMapper.readValue(body, new TypeReference<>() {
+            });
+            UserPointService.checkIds(ids, pointBatchProperties.getMaxIds());
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            writeBadRequest(response);
+            return;
+        }
+        Map<String, List<Long>> byNode = new LinkedHashMap<>();
+        for (Long id : ids) {
+            byNode.computeIfAbsent(clusterRouter.ownerOf(id), node -> new ArrayList<>()).add(id);
+        }
+        if (byNode.isEmpty() || (byNode.size() == 1 && byNode.containsKey(clusterRouter.self()))) {
+            chain.doFilter(new CachedBodyRequest(request, body), response);
+            return;
+        }
+
+        Map<String, CompletableFuture<HttpResponse<byte[]>>> calls = new LinkedHashMap<>();
+        byNode.forEach((node, nodeIds) -> calls.put(node, clusterRouter.forward(node, "POST", "/point/balances",
+                PointBinaryFormat.MEDIA_TYPE_VALUE, PointBinaryFormat.MEDIA_TYPE_VALUE, PointBinaryFormat.toBytes(nodeIds))));
+        Map<Long, UserPoint> found = new LinkedHashMap<>();
+        for (CompletableFuture<HttpResponse<byte[]>> call : calls.values()) {
+            HttpResponse<byte[]> nodeResponse = call.join();
+            if (nodeResponse.statusCode() != 200) {
+                writeResponse(response, nodeResponse);
+                return;
+            }
+            for (UserPoint userPoint : PointBinaryFormat.readList(UserPoint.class, nodeResponse.body())) {
+                found.put(userPoint.id(), userPoint);
+            }
+        }
+        List<UserPoint> result = ids.stream().distinct().map(found::get).toList();
+        writeBody(request, response, result);
+    }
+
+    private void gatherLeaderboard(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String limitParameter = request.getParameter("limit");
+        int limit = limitParameter != null ? Integer.parseInt(limitParameter) : 100;
+        List<CompletableFuture<HttpResponse<byte[]>>> calls = clusterRouter.ring().nodes().keySet().stream()
+                .map(node -> clusterRouter.forward(node, "GET", pathAndQuery(request, "/point/leaderboard"),
+                        null, PointBinaryFormat.MEDIA_TYPE_VALUE, new byte[0]))
+                .toList();
+        List<LeaderboardEntry> merged = new ArrayList<>();
+        for (CompletableFuture<HttpResponse<byte[]>> call : calls) {
+            HttpResponse<byte[]> nodeResponse = call.join();
+            if (nodeResponse.statusCode() != 200) {
+                writeResponse(response, nodeResponse);
+                return;
+            }
+            merged.addAll(PointBinaryFormat.readList(LeaderboardEntry.class, nodeResponse.body()));
+        }
+        merged.sort(Comparator.comparingLong(LeaderboardEntry::point).reversed()
+                .thenComparingLong(LeaderboardEntry::userId));
+        List<LeaderboardEntry> result = new ArrayList<>();
+        for (int i = 0; i < Math.min(limit, merged.size()); i++) {
+            LeaderboardEntry entry = merged.get(i);
+            result.add(new LeaderboardEntry(i + 1, entry.userId(), entry.point()));
+        }
+        writeBody(request, response, result);
+    }
+
+    private void gatherRank(HttpServletRequest request, HttpServletResponse response, long userId, String path)
+            throws IOException {
+        HttpResponse<byte[]> ownerResponse = clusterRouter.forward(clusterRouter.ownerOf(userId), "GET", path,
+                null, PointBinaryFormat.MEDIA_TYPE_VALUE, new byte[0]).join();
+        if (ownerResponse.statusCode() != 200) {
+            writeResponse(response, ownerResponse);
+            return;
+        }
+        LeaderboardEntry entry = (LeaderboardEntry) PointBinaryFormat.read(LeaderboardEntry.class, ownerResponse.body());
+        //순위표에 없는 유저
+        if (entry.rank() == 0) {
+            writeBody(request, response, entry);
+            return;
+        }
+        String aheadPath = "/point/leaderboard/ahead?point=" + entry.point() + "&userId=" + userId;
+        List<CompletableFuture<HttpResponse<byte[]>>> calls = clusterRouter.ring().nodes().keySet().stream()
+                .filter(node -> !node.equals(clusterRouter.ownerOf(userId)))
+                .map(node -> clusterRouter.forward(node, "GET", aheadPath, null, PointBinaryFormat.MEDIA_TYPE_VALUE, new byte[0]))
+                .toList();
+        long rank = entry.rank();
+        for (CompletableFuture<HttpResponse<byte[]>> call : calls) {
+            HttpResponse<byte[]> nodeResponse = call.join();
+            if (nodeResponse.statusCode() != 200) {
+                writeResponse(response, nodeResponse);
+                return;
+            }
+            rank += (Long) PointBinaryFormat.read(Long.class, nodeResponse.body());
+        }
+        writeBody(request, response, new LeaderboardEntry(rank, userId, entry.point()));
+    }
+
+    private static String pathAndQuery(HttpServletRequest request, String path) {
+        return request.getQueryString() == null ? path : path + "?" + request.getQueryString();
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    //Accept 에 바이너리 형식이 있으면 바이너리로, 아니면 JSON 으로 쓴다
+    private void writeBody(HttpServletRequest request, HttpServletResponse response, Object value) throws IOException {
+        response.setStatus(200);
+        if (acceptsBinary(request.getHeader("Accept"))) {
+            response.setContentType(PointBinaryFormat.MEDIA_TYPE_VALUE);
+            response.setContentLength(PointBinaryFormat.sizeOf(value));
+            PointBinaryFormat.write(value, response.getOutputStream());
+            return;
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(toJson(value));
+    }
+
+    private static boolean isBinary(String contentType) {
+        return contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(BINARY);
+    }
+
+    private static boolean acceptsBinary(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        return MediaType.parseMediaTypes(accept).stream().anyMatch(mediaType -> mediaType.equalsTypeAndSubtype(BINARY));
+    }
+
+    private static void writeResponse(HttpServletResponse response, HttpResponse<byte[]> nodeResponse) throws IOException {
+        response.setStatus(nodeResponse.statusCode());
+        nodeResponse.headers().firstValue("Content-Type").ifPresent(response::setContentType);
+        response.getOutputStream().write(nodeResponse.body());
+    }
+
+    private void writeBadRequest(HttpServletResponse response) throws IOException {
+        response.setStatus(400);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(toJson(new ErrorResponse("400", "잘못된 요청입니다.")));
+    }
+
+    private void writeError(HttpServletResponse response) throws IOException {
+        response.setStatus(502);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(toJson(new ErrorResponse("502", "담당 노드에 요청을 전달하지 못했습니다.")));
+    }
+
+    //믿을 수 없는 전달 헤더를 지운 클라이언트 요청
+    private static final class ExternalRequest extends HttpServletRequestWrapper {
+
+        ExternalRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        private static boolean isClusterHeader(String name) {
+            return ClusterRouter.FORWARDED_HEADER.equalsIgnoreCase(name) || ClusterRouter.TOKEN_HEADER.equalsIgnoreCase(name);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isClusterHeader(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isClusterHeader(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            List<String> names = new ArrayList<>();
+            for (Enumeration<String> e = super.getHeaderNames(); e.hasMoreElements(); ) {
+                String name = e.nextElement();
+                if (!isClusterHeader(name)) {
+                    names.add(name);
+                }
+            }
+            return Collections.enumeration(names);
+        }
+    }
+
+    //이미 읽은 요청 본문을 다시 읽을 수 있게 한다
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.hhplus.tdd.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * userId 를 담당 노드로 매핑하는 일관된 해시 링
+ * - 노드마다 가상 노드 여러 개를 링에 올려 담당 범위를 고르게 나눈다.
+ * - 노드를 더하거나 빼면 그 노드 몫의 범위만 옮겨 간다.
+ * - 가상 노드 수를 노드별로 다르게 주어 담당 비율을 조정할 수 있다.
+ */
+public class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    private final Map<String, Integer> nodes;
+
+    //node url -> 가상 노드 수
+    public ConsistentHashRing(Map<String, Integer> nodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("Cluster must have at least one node");
+        }
+        this.nodes = Collections.unmodifiableMap(new LinkedHashMap<>(nodes));
+        nodes.forEach((node, virtualNodes) -> {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        });
+    }
+
+    public String ownerOf(long userId) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(mix(userId));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    public Map<String, Integer> nodes() {
+        return nodes;
+    }
+
+    //노드별로 담당하는 해시 공간의 비율
+    public Map<String, Double> ownership() {
+        Map<String, Double> shares = new LinkedHashMap<>();
+        nodes.keySet().forEach(node -> shares.put(node, 0.0));
+        long previous = ring.lastKey();
+        for (Map.Entry<Long, String> entry : ring.entrySet()) {
+            //(previous, key] 구간은 key 의 노드 몫이다
+            double span = (double) (entry.getKey() - previous) / 0x1p64;
+            shares.merge(entry.getValue(), span < 0 ? span + 1.0 : span, Double::sum);
+            previous = entry.getKey();
+        }
+        //가상 노드가 하나뿐이면 링 전체를 담당한다
+        if (ring.size() == 1) {
+            shares.put(ring.firstEntry().getValue(), 1.0);
+        }
+        return shares;
+    }
+
+    private static long hash(String key) {
+        //FNV-1a 로 접은 뒤 섞는다
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    //MurmurHash3 fmix64
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53a87c5L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,398 @@
+package io.hhplus.tdd.codec;
+
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.point.LeaderboardEntry;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * application/x-point-binary : 내부 호출용 고정 길이 바이너리 형식 (big-endian)
+ * - long             : 8
+ * - UserPoint        : id 8 | point 8 | updateMillis 8                     = 24
+ * - PointHistory     : id 8 | userId 8 | amount 8 | type 1 | updateMillis 8 = 33
+ * - LeaderboardEntry : rank 8 | userId 8 | point 8                         = 24
+ * - ErrorResponse    : code, message (각각 u16 길이 + UTF-8)
+ * - PointHistoryPage : List<PointHistory> | nextCursor (u16 길이 + UTF-8, 마지막 페이지면 길이 0)
+ * - List<위 타입>     : count 4 | 원소...
+ * 타입 정보는 싣지 않는다. 보내는 쪽과 받는 쪽 모두 엔드포인트로 타입을 안다.
+ */
+public final class PointBinaryFormat {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-point-binary";
+
+    static final int USER_POINT_BYTES = 24;
+    static final int POINT_HISTORY_BYTES = 33;
+    static final int LEADERBOARD_ENTRY_BYTES = 24;
+
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle SHORT = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+    private static final TransactionType[] TYPES = TransactionType.values();
+    //스트림에 쓸 때 모아 보내는 단위
+    private static final int CHUNK_BYTES = 8192;
+
+    private PointBinaryFormat() {
+    }
+
+    //value 를 이 형식으로 쓸 수 있는 타입인지 (List 는 원소 타입으로 판단)
+    public static boolean supports(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return clazz == long.class || clazz == Long.class || clazz == UserPoint.class || clazz == PointHistory.class
+                    || clazz == LeaderboardEntry.class || clazz == ErrorResponse.class || clazz == PointHistoryPage.class;
+        }
+        if (type instanceof ParameterizedType parameterized && parameterized.getRawType() instanceof Class<?> raw
+                && List.class.isAssignableFrom(raw)) {
+            Type element = parameterized.getActualTypeArguments()[0];
+            if (element instanceof WildcardType wildcard) {
+                element = wildcard.getUpperBounds()[0];
+            }
+            return element instanceof Class<?> && supports(element);
+        }
+        return false;
+    }
+
+    public static int sizeOf(Object value) {
+        if (value instanceof List<?> list) {
+            if (list.isEmpty()) {
+                return 4;
+            }
+            //목록의 원소는 모두 같은 타입이므로 고정 길이 타입은 곱셈으로 끝낸다
+            int fixed = fixedSize(list.get(0));
+            if (fixed > 0) {
+                return 4 + fixed * list.size();
+            }
+            int size = 4;
+            for (Object element : list) {
+                size += sizeOf(element);
+            }
+            return size;
+        }
+        int fixed = fixedSize(value);
+        if (fixed > 0) {
+            return fixed;
+        }
+        if (value instanceof ErrorResponse error) {
+            return utf8Length(error.code()) + utf8Length(error.message());
+        }
+        if (value instanceof PointHistoryPage page) {
+            return sizeOf(page.histories()) + utf8Length(page.nextCursor());
+        }
+        throw new IllegalArgumentException("Unsupported type: " + (value == null ? null : value.getClass()));
+    }
+
+    private static int fixedSize(Object value) {
+        if (value instanceof Long) {
+            return 8;
+        }
+        if (value instanceof UserPoint) {
+            return USER_POINT_BYTES;
+        }
+        if (value instanceof PointHistory) {
+            return POINT_HISTORY_BYTES;
+        }
+        if (value instanceof LeaderboardEntry) {
+            return LEADERBOARD_ENTRY_BYTES;
+        }
+        return 0;
+    }
+
+    public static byte[] toBytes(Object value) {
+        byte[] bytes = new byte[sizeOf(value)];
+        try {
+            Sink sink = new Sink(bytes, null);
+            sink.put(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes;
+    }
+
+    //작은 버퍼 하나에 모아 out 에 바로 쓴다
+    public static void write(Object value, OutputStream out) throws IOException {
+        Sink sink = new Sink(new byte[Math.min(CHUNK_BYTES, sizeOf(value))], out);
+        sink.put(value);
+        sink.flush();
+    }
+
+    /**
+     * type 으로 해석한다. (long/Long, 지원하는 레코드, List<지원하는 타입>)
+     * 형식이 맞지 않으면 IllegalArgumentException
+     */
+    public static Object read(Type type, byte[] bytes) {
+        Source source = new Source(bytes);
+        Object value = source.get(type);
+        if (source.position != bytes.length) {
+            throw new IllegalArgumentException("Malformed point binary: " + (bytes.length - source.position) + " trailing bytes");
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> readList(Class<T> elementType, byte[] bytes) {
+        Source source = new Source(bytes);
+        List<T> values = (List<T>) source.list(elementType);
+        if (source.position != bytes.length) {
+            throw new IllegalArgumentException("Malformed point binary: " + (bytes.length - source.position) + " trailing bytes");
+        }
+        return values;
+    }
+
+    private static int utf8Length(String value) {
+        return 2 + (value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private static final class Sink {
+        private final byte[] buffer;
+        private final OutputStream out;
+        private int position;
+
+        Sink(byte[] buffer, OutputStream out) {
+            this.buffer = buffer;
+            this.out = out;
+        }
+
+        void put(Object value) throws IOException {
+            if (value instanceof List<?> list) {
+                putList(list);
+            } else if (value instanceof Long longValue) {
+                putLong(longValue);
+            } else if (value instanceof UserPoint userPoint) {
+                putUserPoint(userPoint);
+            } else if (value instanceof PointHistory history) {
+                putHistory(history);
+            } else if (value instanceof LeaderboardEntry entry) {
+                putEntry(entry);
+            } else if (value instanceof ErrorResponse error) {
+                putString(error.code());
+                putString(error.message());
+            } else if (value instanceof PointHistoryPage page) {
+                putList(page.histories());
+                putString(page.nextCursor());
+            } else {
+                throw new IllegalArgumentException("Unsupported type: " + (value == null ? null : value.getClass()));
+            }
+        }
+
+        //원소 타입은 첫 원소로 한 번만 확인하고 타입별 반복문으로 쓴다
+        private void putList(List<?> list) throws IOException {
+            ensure(4);
+            INT.set(buffer, position, list.size());
+            position += 4;
+            if (list.isEmpty()) {
+                return;
+            }
+            Object first = list.get(0);
+            if (first instanceof PointHistory) {
+                for (Object element : list) {
+                    putHistory((PointHistory) element);
+                }
+            } else if (first instanceof UserPoint) {
+                for (Object element : list) {
+                    putUserPoint((UserPoint) element);
+                }
+            } else if (first instanceof LeaderboardEntry) {
+                for (Object element : list) {
+                    putEntry((LeaderboardEntry) element);
+                }
+            } else if (first instanceof Long) {
+                for (Object element : list) {
+                    putLong((Long) element);
+                }
+            } else {
+                for (Object element : list) {
+                    put(element);
+                }
+            }
+        }
+
+        //레코드 하나는 버퍼를 나눠 쓰지 않는다 (버퍼는 sizeOf 이상이거나 CHUNK_BYTES)
+        private void putUserPoint(UserPoint userPoint) throws IOException {
+            ensure(USER_POINT_BYTES);
+            putLongUnchecked(userPoint.id());
+            putLongUnchecked(userPoint.point());
+            putLongUnchecked(userPoint.updateMillis());
+        }
+
+        private void putHistory(PointHistory history) throws IOException {
+            ensure(POINT_HISTORY_BYTES);
+            putLongUnchecked(history.id());
+            putLongUnchecked(history.userId());
+            putLongUnchecked(history.amount());
+            buffer[position++] = (byte) history.type().ordinal();
+            putLongUnchecked(history.updateMillis());
+        }
+
+        private void putEntry(LeaderboardEntry entry) throws IOException {
+            ensure(LEADERBOARD_ENTRY_BYTES);
+            putLongUnchecked(entry.rank());
+            putLongUnchecked(entry.userId());
+            putLongUnchecked(entry.point());
+        }
+
+        private void putLongUnchecked(long value) {
+            LONG.set(buffer, position, value);
+            position += 8;
+        }
+
+        private void putLong(long value) throws IOException {
+            ensure(8);
+            LONG.set(buffer, position, value);
+            position += 8;
+        }
+
+        //오류 응답과 페이지 커서에만 쓰이므로 문자열은 그대로 바이트로 바꾼다
+        private void putString(String value) throws IOException {
+            byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 0xFFFF) {
+                throw new IllegalArgumentException("String too long: " + bytes.length);
+            }
+            ensure(2);
+            SHORT.set(buffer, position, (short) bytes.length);
+            position += 2;
+            for (int offset = 0; offset < bytes.length; ) {
+                ensure(1);
+                int length = Math.min(bytes.length - offset, buffer.length - position);
+                System.arraycopy(bytes, offset, buffer, position, length);
+                position += length;
+                offset += length;
+            }
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.length - position < bytes) {
+                flush();
+            }
+        }
+
+        void flush() throws IOException {
+            if (out != null && position > 0) {
+                out.write(buffer, 0, position);
+                position = 0;
+            }
+        }
+    }
+
+    private static final class Source {
+        private final byte[] bytes;
+        private int position;
+
+        Source(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        Object get(Type type) {
+            if (type instanceof ParameterizedType parameterized) {
+                Type element = parameterized.getActualTypeArguments()[0];
+                if (element instanceof WildcardType wildcard) {
+                    element = wildcard.getUpperBounds()[0];
+                }
+                return list((Class<?>) element);
+            }
+            Class<?> clazz = (Class<?>) type;
+            if (clazz == long.class || clazz == Long.class) {
+                return getLong();
+            }
+            if (clazz == UserPoint.class) {
+                require(USER_POINT_BYTES);
+                return new UserPoint(getLong(), getLong(), getLong());
+            }
+            if (clazz == PointHistory.class) {
+                require(POINT_HISTORY_BYTES);
+                long id = getLong();
+                long userId = getLong();
+                long amount = getLong();
+                int ordinal = bytes[position++];
+                if (ordinal < 0 || ordinal >= TYPES.length) {
+                    throw new IllegalArgumentException("Malformed point binary: unknown transaction type " + ordinal);
+                }
+                return new PointHistory(id, userId, amount, TYPES[ordinal], getLong());
+            }
+            if (clazz == LeaderboardEntry.class) {
+                require(LEADERBOARD_ENTRY_BYTES);
+                return new LeaderboardEntry(getLong(), getLong(), getLong());
+            }
+            if (clazz == ErrorResponse.class) {
+                return new ErrorResponse(getString(), getString());
+            }
+            if (clazz == PointHistoryPage.class) {
+                List<PointHistory> histories = histories();
+                String nextCursor = getString();
+                return new PointHistoryPage(histories, nextCursor.isEmpty() ? null : nextCursor);
+            }
+            throw new IllegalArgumentException("Unsupported type: " + type);
+        }
+
+        List<?> list(Class<?> elementType) {
+            require(4);
+            int count = (int) INT.get(bytes, position);
+            position += 4;
+            //count 를 믿기 전에 남은 바이트로 가능한 개수인지 확인한다
+            if (count < 0 || count > (bytes.length - position) / minimumSize(elementType)) {
+                throw new IllegalArgumentException("Malformed point binary: count " + count);
+            }
+            List<Object> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(get(elementType));
+            }
+            return values;
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<PointHistory> histories() {
+            return (List<PointHistory>) list(PointHistory.class);
+        }
+
+        private long getLong() {
+            require(8);
+            long value = (long) LONG.get(bytes, position);
+            position += 8;
+            return value;
+        }
+
+        private String getString() {
+            require(2);
+            int length = Short.toUnsignedInt((short) SHORT.get(bytes, position));
+            position += 2;
+            require(length);
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private void require(int length) {
+            if (bytes.length - position < length) {
+                throw new IllegalArgumentException("Malformed point binary: truncated at " + position);
+            }
+        }
+
+        private static int minimumSize(Class<?> elementType) {
+            if (elementType == UserPoint.class) {
+                return USER_POINT_BYTES;
+            }
+            if (elementType == PointHistory.class) {
+                return POINT_HISTORY_BYTES;
+            }
+            if (elementType == LeaderboardEntry.class) {
+                return LEADERBOARD_ENTRY_BYTES;
+            }
+            if (elementType == PointHistoryPage.class) {
+                return 6;
+            }
+            return elementType == ErrorResponse.class ? 4 : 8;
+        }
+    }
+}
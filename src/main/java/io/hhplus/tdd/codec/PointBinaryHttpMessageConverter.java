@@ -0,0 +1,75 @@
+package io.hhplus.tdd.codec;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Content-Type / Accept 가 application/x-point-binary 일 때 PointBinaryFormat 으로 읽고 쓴다.
+ * JSON 변환기 뒤에 등록하므로 Accept 로 이 형식을 요청하지 않으면 그대로 JSON 으로 응답한다.
+ */
+public class PointBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType MEDIA_TYPE = MediaType.valueOf(PointBinaryFormat.MEDIA_TYPE_VALUE);
+
+    public PointBinaryHttpMessageConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PointBinaryFormat.supports(clazz);
+    }
+
+    //List 는 원소 타입을 canRead/canWrite(Type) 에서 확인하므로 여기서는 클래스만 본다
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz) || supports(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return PointBinaryFormat.supports(type) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return (type != null ? PointBinaryFormat.supports(type) : supports(clazz)) && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return decode(type, inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return decode(clazz, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        PointBinaryFormat.write(value, outputMessage.getBody());
+    }
+
+    //고정 길이라 쓰기 전에 크기를 알 수 있다
+    @Override
+    protected Long getContentLength(Object value, @Nullable MediaType contentType) {
+        return (long) PointBinaryFormat.sizeOf(value);
+    }
+
+    private static Object decode(Type type, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return PointBinaryFormat.read(type, inputMessage.getBody().readAllBytes());
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 기록 시각 구간 내역 조회 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "point.audit")
+public class PointAuditProperties {
+
+    //시각 인덱스 버킷 크기 (기본 1분)
+    private long bucketMillis = 60_000;
+
+    //한 페이지에 돌려주는 최대 내역 수
+    private int maxPageSize = 10_000;
+
+    //최근 이 시간 안에 기록된 내역은 아직 저널에 들어오지 않았을 수 있어 다음 페이지로 미룬다
+    private long settleMillis = 1_000;
+
+    //시각 인덱서가 저널을 따라잡는 간격
+    private long indexIntervalMillis = 100;
+
+    //인덱서가 한 번에 정렬해 공개하는 최대 행 수
+    private int indexBatchRows = 65_536;
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 여러 유저 포인트 일괄 조회 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "point.batch")
+public class PointBatchProperties {
+
+    //한 번에 조회할 수 있는 최대 유저 수
+    private int maxIds = 1000;
+
+    //일괄 조회 전체 기한
+    private long timeoutMillis = 1000L;
+
+    //저장소 조회를 병렬로 수행하는 스레드 수
+    private int threads = 64;
+}
@@ -0,0 +1,55 @@
+package io.hhplus.tdd.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.cluster.ClusterEndpoint;
+import io.hhplus.tdd.cluster.ClusterRouter;
+import io.hhplus.tdd.cluster.ClusterRoutingFilter;
+import io.hhplus.tdd.cluster.ConsistentHashRing;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "point.cluster", name = "enabled", havingValue = "true")
+public class PointClusterConfig {
+
+    @Bean
+    public ConsistentHashRing consistentHashRing(PointClusterProperties pointClusterProperties) {
+        Map<String, Integer> nodes = new LinkedHashMap<>();
+        for (PointClusterProperties.Node node : pointClusterProperties.getNodes()) {
+            nodes.put(node.getUrl(), node.getVirtualNodes() > 0 ? node.getVirtualNodes() : pointClusterProperties.getVirtualNodes());
+        }
+        return new ConsistentHashRing(nodes);
+    }
+
+    @Bean
+    public ClusterRouter clusterRouter(ConsistentHashRing consistentHashRing, PointClusterProperties pointClusterProperties) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(pointClusterProperties.getConnectTimeoutMillis()))
+                .build();
+        return new ClusterRouter(consistentHashRing, pointClusterProperties.getSelf(), pointClusterProperties.getSecret(),
+                httpClient,
+                Duration.ofMillis(pointClusterProperties.getRequestTimeoutMillis()));
+    }
+
+    @Bean
+    public FilterRegistrationBean<ClusterRoutingFilter> clusterRoutingFilter(ClusterRouter clusterRouter, ObjectMapper objectMapper,
+                                                                             PointBatchProperties pointBatchProperties) {
+        FilterRegistrationBean<ClusterRoutingFilter> registration =
+                new FilterRegistrationBean<>(new ClusterRoutingFilter(clusterRouter, objectMapper, pointBatchProperties));
+        registration.addUrlPatterns("/point/*");
+        return registration;
+    }
+
+    @Bean
+    public ClusterEndpoint clusterEndpoint(ClusterRouter clusterRouter) {
+        return new ClusterEndpoint(clusterRouter);
+    }
+}
@@ -0,0 +1,37 @@
+package io.hhplus.tdd.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 여러 인스턴스로 나눠 실행할 때의 설정
+ * - 모든 인스턴스가 같은 nodes 목록을 가져야 같은 유저를 같은 노드가 담당한다.
+ * - self 는 nodes 중 자기 자신의 url 이다.
+ * - secret 은 모든 노드가 같은 값을 가져야 하며, 노드끼리 전달한 요청을 확인하는 데 쓴다. (켜려면 반드시 설정)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "point.cluster")
+public class PointClusterProperties {
+
+    private boolean enabled = false;
+    private String self;
+    private String secret;
+    private List<Node> nodes = new ArrayList<>();
+    //노드마다 해시 링에 올리는 가상 노드 수 (노드별 virtual-nodes 가 없을 때)
+    private int virtualNodes = 160;
+    private long connectTimeoutMillis = 1000;
+    private long requestTimeoutMillis = 5000;
+
+    @Getter
+    @Setter
+    public static class Node {
+        private String url;
+        //0 이면 기본값, 늘리면 그 노드가 더 많은 유저를 담당한다
+        private int virtualNodes = 0;
+    }
+}
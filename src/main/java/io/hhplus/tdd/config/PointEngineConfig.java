@@ -0,0 +1,32 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.engine.PointRingBuffer;
+import io.hhplus.tdd.engine.ShardedPointEngine;
+import io.hhplus.tdd.engine.UserLocks;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PointEngineConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "point.engine", name = "mode", havingValue = "lock", matchIfMissing = true)
+    public UserLocks userLocks(PointEngineProperties pointEngineProperties) {
+        return new UserLocks(pointEngineProperties.getLockStripes());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(prefix = "point.engine", name = "mode", havingValue = "sharded")
+    public ShardedPointEngine shardedPointEngine(PointEngineProperties pointEngineProperties) {
+        return new ShardedPointEngine(pointEngineProperties.resolveShardCount(),
+                pointEngineProperties.getHistorySealAfterMillis());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(prefix = "point.engine", name = "mode", havingValue = "ring")
+    public PointRingBuffer pointRingBuffer(PointEngineProperties pointEngineProperties) {
+        return new PointRingBuffer(pointEngineProperties.getRingSize(),
+                pointEngineProperties.getHistorySealAfterMillis());
+    }
+}
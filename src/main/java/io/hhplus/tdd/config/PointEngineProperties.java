@@ -0,0 +1,35 @@
+package io.hhplus.tdd.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 포인트 충전/사용 처리 방식
+ * - lock : 유저별 ReentrantLock (기본값)
+ * - sharded : userId 해시로 나눈 샤드 스레드가 처리
+ * - ring : 미리 할당한 링 버퍼에 명령을 넣고 소비자 스레드 하나가 배치로 처리
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "point.engine")
+public class PointEngineProperties {
+
+    private String mode = "lock";
+
+    //0 이면 유저별 락, 0 보다 크면 해당 개수의 락을 userId 해시로 나눠 쓴다
+    private int lockStripes = 0;
+
+    //0 이하이면 CPU 코어 수만큼 샤드를 만든다
+    private int shardCount = 0;
+
+    //링 버퍼 슬롯 수 (2의 거듭제곱)
+    private int ringSize = 1024;
+
+    //sharded/ring 엔진에서 이보다 오래된 내역은 압축 블록으로 옮긴다 (기본 3일)
+    private long historySealAfterMillis = 3L * 24 * 60 * 60 * 1000;
+
+    public int resolveShardCount() {
+        return shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+    }
+}
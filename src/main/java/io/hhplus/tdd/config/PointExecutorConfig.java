@@ -0,0 +1,45 @@
+package io.hhplus.tdd.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class PointExecutorConfig {
+
+    @Bean(name = "pointIoExecutor", destroyMethod = "shutdown")
+    public ExecutorService pointIoExecutor(PointIoProperties pointIoProperties) {
+        return new ThreadPoolExecutor(
+                pointIoProperties.getThreads(), pointIoProperties.getThreads(),
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(pointIoProperties.getQueueCapacity()),
+                namedThreadFactory("point-io-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    //일괄 조회 fan-out 용, 큐가 가득 차면 호출한 스레드에서 직접 조회한다
+    @Bean(name = "pointReadExecutor", destroyMethod = "shutdown")
+    public ExecutorService pointReadExecutor(PointBatchProperties pointBatchProperties) {
+        return new ThreadPoolExecutor(
+                pointBatchProperties.getThreads(), pointBatchProperties.getThreads(),
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(pointBatchProperties.getMaxIds()),
+                namedThreadFactory("point-read-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.expire.PointExpiryTracker;
+import io.hhplus.tdd.expire.TimingWheel;
+import io.hhplus.tdd.service.UserPointExpireService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 만료는 유저 락으로 기록하는 lock 엔진에서 처리한다.
+ * 틱마다 휠을 돌려 만료된 유저를 모으고, 유저마다 만료된 lot 을 한 번의 EXPIRE 내역으로 묶어 차감한다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "point.engine", name = "mode", havingValue = "lock", matchIfMissing = true)
+public class PointExpirationConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PointExpirationConfig.class);
+
+    //만료 시간이 타이밍 휠 범위(64^5 틱)를 넘으면 시작하지 않는다
+    @Bean
+    public PointExpiryTracker pointExpiryTracker(PointExpirationProperties pointExpirationProperties) {
+        long afterMillis = pointExpirationProperties.getAfterMillis();
+        long tickMillis = pointExpirationProperties.getTickMillis();
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("point.expiration.tick-millis must be greater than 0");
+        }
+        if (afterMillis / tickMillis >= TimingWheel.MAX_TICKS) {
+            throw new IllegalArgumentException("point.expiration.after-millis must be less than "
+                    + TimingWheel.MAX_TICKS + " ticks: afterMillis=" + afterMillis + ", tickMillis=" + tickMillis);
+        }
+        return new PointExpiryTracker(afterMillis, tickMillis, System.currentTimeMillis());
+    }
+
+    @Bean(name = "pointExpireExecutor", destroyMethod = "shutdown")
+    public ExecutorService pointExpireExecutor(PointExpirationProperties pointExpirationProperties) {
+        return Executors.newFixedThreadPool(pointExpirationProperties.getThreads(),
+                PointExecutorConfig.namedThreadFactory("point-expire-"));
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService pointExpirationTicker(PointExpiryTracker pointExpiryTracker,
+                                                          UserPointExpireService userPointExpireService,
+                                                          @Qualifier("pointExpireExecutor") ExecutorService pointExpireExecutor,
+                                                          PointExpirationProperties pointExpirationProperties) {
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(
+                PointExecutorConfig.namedThreadFactory("point-expire-tick-"));
+        if (pointExpiryTracker.isEnabled()) {
+            long tick = pointExpirationProperties.getTickMillis();
+            ticker.scheduleWithFixedDelay(() -> {
+                Set<Long> expiredUsers = new HashSet<>();
+                pointExpiryTracker.advance(System.currentTimeMillis(), expiredUsers);
+                //다음 틱과 겹치지 않도록 이번 틱의 차감이 끝날 때까지 기다린다
+                CompletableFuture.allOf(expiredUsers.stream()
+                        .map(userId -> CompletableFuture.runAsync(
+                                () -> expire(userPointExpireService, pointExpiryTracker, userId, tick), pointExpireExecutor))
+                        .toArray(CompletableFuture[]::new)).join();
+            }, tick, tick, TimeUnit.MILLISECONDS);
+        }
+        return ticker;
+    }
+
+    @Bean
+    public MeterBinder pointExpirationMetrics(PointExpiryTracker pointExpiryTracker) {
+        return registry -> {
+            Gauge.builder("point.expiration.pending.lots", pointExpiryTracker, PointExpiryTracker::pendingLots)
+                    .description("만료를 기다리는 충전 건수").register(registry);
+            FunctionCounter.builder("point.expiration.expired.points", pointExpiryTracker, PointExpiryTracker::expiredPoints)
+                    .description("만료로 차감된 포인트").register(registry);
+        };
+    }
+
+    private static void expire(UserPointExpireService userPointExpireService, PointExpiryTracker pointExpiryTracker, long userId, long tick) {
+        try {
+            userPointExpireService.expireUserPoint(userId);
+        } catch (RuntimeException e) {
+            //처리하지 못한 lot 은 남아 있으므로 다음 틱에 다시 시도한다
+            log.warn("Failed to expire points: userId={}", userId, e);
+            pointExpiryTracker.retry(userId, System.currentTimeMillis() + tick);
+        }
+    }
+}
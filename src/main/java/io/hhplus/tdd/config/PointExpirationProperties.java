@@ -0,0 +1,21 @@
+package io.hhplus.tdd.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 충전 포인트 만료 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "point.expiration")
+public class PointExpirationProperties {
+
+    //충전 후 이 시간이 지나면 남은 포인트를 차감한다, 0 이면 만료 없음
+    private long afterMillis = 0;
+    //타이밍 휠 한 칸의 시간, 만료는 최대 이만큼 늦게 처리된다
+    private long tickMillis = 1000;
+    //만료 차감을 기록하는 스레드 수
+    private int threads = 4;
+}
@@ -0,0 +1,42 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.feed.PointChangeBroadcaster;
+import io.hhplus.tdd.feed.PointChangeFeed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+public class PointFeedConfig {
+
+    @Bean
+    public PointChangeFeed pointChangeFeed(PointFeedProperties pointFeedProperties) {
+        return new PointChangeFeed(pointFeedProperties.getCapacity());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public PointChangeBroadcaster pointChangeBroadcaster(PointChangeFeed pointChangeFeed, PointFeedProperties pointFeedProperties) {
+        return new PointChangeBroadcaster(pointChangeFeed,
+                Executors.newSingleThreadScheduledExecutor(PointExecutorConfig.namedThreadFactory("point-feed-")),
+                Executors.newFixedThreadPool(pointFeedProperties.getSenderThreads(),
+                        PointExecutorConfig.namedThreadFactory("point-feed-send-")),
+                pointFeedProperties.getBatchSize(),
+                pointFeedProperties.getMaxBatchesPerPass(),
+                pointFeedProperties.getMaxLag(),
+                pointFeedProperties.getPollMillis(),
+                pointFeedProperties.getEmitterTimeoutMillis());
+    }
+
+    @Bean
+    public MeterBinder pointFeedMetrics(PointChangeFeed pointChangeFeed, PointChangeBroadcaster pointChangeBroadcaster) {
+        return registry -> {
+            Gauge.builder("point.feed.offset", pointChangeFeed, PointChangeFeed::nextOffset)
+                    .description("발행된 포인트 변경 이벤트 수").register(registry);
+            Gauge.builder("point.feed.subscribers", pointChangeBroadcaster, PointChangeBroadcaster::subscriberCount)
+                    .description("SSE 구독자 수").register(registry);
+        };
+    }
+}
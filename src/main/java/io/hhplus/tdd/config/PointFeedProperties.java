@@ -0,0 +1,27 @@
+package io.hhplus.tdd.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 포인트 변경 피드(SSE) 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "point.feed")
+public class PointFeedProperties {
+
+    //버퍼에 보관하는 이벤트 수 (2의 거듭제곱)
+    private int capacity = 65536;
+    //구독자 하나에 한 번에 보내는 이벤트 수
+    private int batchSize = 256;
+    //한 번의 전송 작업에서 구독자 하나에 보내는 최대 배치 수, 남은 이벤트는 다음 차례에 보낸다
+    private int maxBatchesPerPass = 4;
+    //SSE 전송 스레드 수, 응답하지 않는 클라이언트 하나가 전송 스레드 하나를 잡는다
+    private int senderThreads = 4;
+    //이보다 뒤처진 구독자는 끊는다, 0 이면 버퍼 크기
+    private long maxLag = 0;
+    private long pollMillis = 20;
+    private long emitterTimeoutMillis = 30L * 60 * 1000;
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 기록이 없는 유저 조회를 걸러내는 블룸 필터 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "point.filter")
+public class PointFilterProperties {
+
+    private boolean enabled = true;
+
+    //예상 유저 수 (이 수를 넘으면 오탐률이 목표보다 높아진다)
+    private long expectedUsers = 1_000_000L;
+
+    //목표 오탐률
+    private double falsePositiveRate = 0.01;
+}
@@ -0,0 +1,17 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.jfr.FlightRecorderEndpoint;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 녹화는 /actuator/jfr 로 필요할 때만 켠다. 꺼져 있는 동안 이벤트 비용은 isEnabled() 확인 한 번이다.
+ */
+@Configuration
+public class PointFlightRecorderConfig {
+
+    @Bean
+    public FlightRecorderEndpoint flightRecorderEndpoint() {
+        return new FlightRecorderEndpoint();
+    }
+}
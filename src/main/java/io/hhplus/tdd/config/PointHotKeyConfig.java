@@ -0,0 +1,114 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.engine.HotKeyDetector;
+import io.hhplus.tdd.engine.HotKeyLanes;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@ConditionalOnProperty(prefix = "point.engine", name = "mode", havingValue = "lock", matchIfMissing = true)
+public class PointHotKeyConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public HotKeyLanes hotKeyLanes(PointHotKeyProperties pointHotKeyProperties) {
+        if (!pointHotKeyProperties.isEnabled()) {
+            return HotKeyLanes.disabled();
+        }
+        HotKeyDetector detector = new HotKeyDetector(pointHotKeyProperties.getWindowMillis(),
+                pointHotKeyProperties.getHotRatePerSecond(), pointHotKeyProperties.getCoolRatePerSecond());
+        return new HotKeyLanes(detector,
+                pointHotKeyProperties.getMaxHotKeys(),
+                pointHotKeyProperties.getQueueCapacity(),
+                pointHotKeyProperties.getMaxBatch(),
+                pointHotKeyProperties.getWindowMillis(),
+                PointExecutorConfig.namedThreadFactory("point-hot-"));
+    }
+
+    //조용해진 유저의 요청률 기록을 윈도우마다 지운다 (요청 스레드에서 맵 전체를 훑지 않도록)
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService pointHotKeySweeper(HotKeyLanes hotKeyLanes, PointHotKeyProperties pointHotKeyProperties) {
+        ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(
+                PointExecutorConfig.namedThreadFactory("point-hotkey-sweep-"));
+        if (pointHotKeyProperties.isEnabled()) {
+            long interval = pointHotKeyProperties.getWindowMillis();
+            sweeper.scheduleWithFixedDelay(hotKeyLanes::sweep, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        return sweeper;
+    }
+
+    //레인 배치의 내역 기록용, 큐는 레인 수 x 배치 크기를 넘지 않으므로 따로 제한하지 않는다
+    @Bean(name = "pointHotIoExecutor", destroyMethod = "shutdown")
+    public ExecutorService pointHotIoExecutor(PointHotKeyProperties pointHotKeyProperties) {
+        return new ThreadPoolExecutor(
+                pointHotKeyProperties.getIoThreads(), pointHotKeyProperties.getIoThreads(),
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                PointExecutorConfig.namedThreadFactory("point-hot-io-"));
+    }
+
+    /*
+     * 전체 수치는 항상 두고, 레인별 수치(userId 태그)는 레인이 생길 때 등록하고 닫힐 때 지운다.
+     * 핫 유저는 maxHotKeys 명을 넘지 않으므로 태그 수도 그 안에 머문다.
+     */
+    @Bean
+    public MeterBinder hotKeyLaneMetrics(HotKeyLanes hotKeyLanes) {
+        return registry -> {
+            Gauge.builder("point.hotkey.lanes", hotKeyLanes, HotKeyLanes::hotKeys)
+                    .description("전용 레인으로 처리 중인 핫 유저 수").register(registry);
+            FunctionCounter.builder("point.hotkey.promotions", hotKeyLanes, HotKeyLanes::promotions)
+                    .description("핫 유저로 판정되어 레인이 생긴 수").register(registry);
+            FunctionCounter.builder("point.hotkey.demotions", hotKeyLanes, HotKeyLanes::demotions)
+                    .description("요청률이 떨어져 레인이 닫힌 수").register(registry);
+            FunctionCounter.builder("point.hotkey.overflowed", hotKeyLanes, HotKeyLanes::overflowed)
+                    .description("레인 큐가 가득 차 원래 경로로 돌린 요청 수").register(registry);
+
+            Map<Long, List<Meter>> laneMeters = new ConcurrentHashMap<>();
+            hotKeyLanes.setListener(new HotKeyLanes.Listener() {
+                @Override
+                public void onPromote(HotKeyLanes.LaneStats lane) {
+                    laneMeters.put(lane.userId(), registerLane(registry, lane));
+                }
+
+                @Override
+                public void onDemote(HotKeyLanes.LaneStats lane) {
+                    List<Meter> meters = laneMeters.remove(lane.userId());
+                    if (meters != null) {
+                        meters.forEach(registry::remove);
+                    }
+                }
+            });
+            //바인딩 전에 생긴 레인
+            hotKeyLanes.lanes().forEach(lane -> laneMeters.computeIfAbsent(lane.userId(), id -> registerLane(registry, lane)));
+        };
+    }
+
+    private static List<Meter> registerLane(MeterRegistry registry, HotKeyLanes.LaneStats lane) {
+        Tags tags = Tags.of("userId", Long.toString(lane.userId()));
+        return List.of(
+                Gauge.builder("point.hotkey.lane.queued", lane, HotKeyLanes.LaneStats::queued).tags(tags)
+                        .description("레인 큐에서 기다리는 요청 수").register(registry),
+                FunctionCounter.builder("point.hotkey.lane.batches", lane, HotKeyLanes.LaneStats::batches).tags(tags)
+                        .description("레인이 기록한 배치 수").register(registry),
+                FunctionCounter.builder("point.hotkey.lane.commands", lane, HotKeyLanes.LaneStats::commands).tags(tags)
+                        .description("레인이 처리한 요청 수").register(registry),
+                FunctionCounter.builder("point.hotkey.lane.overflowed", lane, HotKeyLanes.LaneStats::overflowed).tags(tags)
+                        .description("레인 큐가 가득 차 원래 경로로 돌린 요청 수").register(registry));
+    }
+}
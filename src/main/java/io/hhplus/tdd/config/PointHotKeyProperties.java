@@ -0,0 +1,38 @@
+package io.hhplus.tdd.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 핫 유저 분리 설정 (lock 엔진)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "point.hotkey")
+public class PointHotKeyProperties {
+
+    //배치 기록과 레인 스레드가 기본 경로를 바꾸므로 필요한 배포에서만 켠다
+    private boolean enabled = false;
+
+    //요청률을 재는 슬라이딩 윈도우 크기
+    private long windowMillis = 1000;
+
+    //초당 요청이 이 값 이상이면 전용 레인으로 옮긴다
+    private double hotRatePerSecond = 50;
+
+    //전용 레인의 유저가 초당 이 값 아래로 떨어지면 원래 경로로 돌려보낸다
+    private double coolRatePerSecond = 10;
+
+    //동시에 둘 수 있는 전용 레인 수
+    private int maxHotKeys = 16;
+
+    //레인 큐 크기, 가득 차면 넘친 요청은 자기 기한으로 원래(락) 경로에서 처리한다
+    private int queueCapacity = 64;
+
+    //한 번에 묶어서 기록하는 최대 요청 수
+    private int maxBatch = 64;
+
+    //레인 배치의 내역 기록 전용 I/O 스레드 수 (일반 유저의 pointIoExecutor 와 나눠 쓰지 않는다)
+    private int ioThreads = 16;
+}
@@ -0,0 +1,19 @@
+package io.hhplus.tdd.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 저장소 호출을 병렬로 수행하는 I/O 스레드 풀 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "point.io")
+public class PointIoProperties {
+
+    private int threads = 16;
+
+    //큐가 가득 차면 호출한 스레드에서 직접 실행한다
+    private int queueCapacity = 1000;
+}
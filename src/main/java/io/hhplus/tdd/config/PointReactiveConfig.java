@@ -0,0 +1,57 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.engine.UserSerialLanes;
+import io.hhplus.tdd.feed.PointChangeFeed;
+import io.hhplus.tdd.feed.ReactivePointChangeStream;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * reactive 프로필 (WebFlux)
+ * 요청 스레드(Netty event loop)는 블로킹하지 않고, Table 호출은 pointBlockingScheduler 에서 실행한다.
+ */
+@Configuration
+@Profile("reactive")
+public class PointReactiveConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler pointBlockingScheduler(PointReactiveProperties pointReactiveProperties) {
+        return Schedulers.newBoundedElastic(pointReactiveProperties.getThreadCap(),
+                pointReactiveProperties.getQueuedTaskCap(), "point-elastic", 60, true);
+    }
+
+    @Bean
+    public UserSerialLanes userSerialLanes(Scheduler pointBlockingScheduler, PointReactiveProperties pointReactiveProperties) {
+        return new UserSerialLanes(pointBlockingScheduler::schedule, pointReactiveProperties.getMaxBatch());
+    }
+
+    @Bean
+    public ReactivePointChangeStream reactivePointChangeStream(PointChangeFeed pointChangeFeed, PointFeedProperties pointFeedProperties) {
+        return new ReactivePointChangeStream(pointChangeFeed,
+                pointFeedProperties.getBatchSize(),
+                pointFeedProperties.getMaxLag(),
+                pointFeedProperties.getPollMillis());
+    }
+
+    //spring-boot-starter-web 도 함께 있으면 reactive 서버로 Tomcat 이 먼저 선택되므로 Netty 를 직접 지정한다
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public MeterBinder pointReactiveMetrics(UserSerialLanes userSerialLanes) {
+        return registry -> {
+            Gauge.builder("point.reactive.lane.pending", userSerialLanes, UserSerialLanes::pending)
+                    .description("유저 레인에서 실행을 기다리는 작업 수").register(registry);
+            Gauge.builder("point.reactive.lane.active", userSerialLanes, UserSerialLanes::activeLanes)
+                    .description("작업이 남아 있는 유저 레인 수").register(registry);
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package io.hhplus.tdd.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * reactive 프로필 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "point.reactive")
+public class PointReactiveProperties {
+
+    //블로킹 Table 호출을 실행하는 bounded elastic 스케줄러의 최대 스레드 수
+    private int threadCap = 64;
+    //스레드가 모두 바쁠 때 대기할 수 있는 작업 수, 넘치면 거절한다
+    private int queuedTaskCap = 100_000;
+    //레인 하나가 스케줄러 스레드를 놓기 전까지 연달아 처리하는 작업 수
+    private int maxBatch = 32;
+}
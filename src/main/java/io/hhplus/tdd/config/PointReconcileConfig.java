@@ -0,0 +1,92 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.engine.UserLocks;
+import io.hhplus.tdd.reconcile.PointReconcileEndpoint;
+import io.hhplus.tdd.reconcile.PointReconciler;
+import io.hhplus.tdd.repository.PointHistoryRepository;
+import io.hhplus.tdd.repository.UserPointRepository;
+import io.hhplus.tdd.store.BalanceVersionStore;
+import io.hhplus.tdd.store.HistoryJournal;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 정합성 검사는 Table 에 기록하는 lock 엔진에서만 의미가 있다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "point.engine", name = "mode", havingValue = "lock", matchIfMissing = true)
+public class PointReconcileConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PointReconcileConfig.class);
+
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool pointReconcilePool(PointReconcileProperties pointReconcileProperties) {
+        return new ForkJoinPool(pointReconcileProperties.getParallelism());
+    }
+
+    @Bean
+    public PointReconciler pointReconciler(HistoryJournal historyJournal,
+                                           BalanceVersionStore balanceVersionStore,
+                                           UserPointRepository userPointRepository,
+                                           PointHistoryRepository pointHistoryRepository,
+                                           UserLocks userLocks,
+                                           ForkJoinPool pointReconcilePool,
+                                           PointReconcileProperties pointReconcileProperties) {
+        return new PointReconciler(historyJournal, balanceVersionStore, userPointRepository, pointHistoryRepository, userLocks,
+                pointReconcilePool, pointReconcileProperties.getLeafSize(), pointReconcileProperties.getMaxRowsPerSecond(),
+                pointReconcileProperties.getLockTimeoutMillis());
+    }
+
+    @Bean
+    public PointReconcileEndpoint pointReconcileEndpoint(PointReconciler pointReconciler) {
+        return new PointReconcileEndpoint(pointReconciler);
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService pointReconcileScheduler(PointReconciler pointReconciler,
+                                                            PointReconcileProperties pointReconcileProperties) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+                PointExecutorConfig.namedThreadFactory("point-reconcile-"));
+        long interval = pointReconcileProperties.getIntervalMillis();
+        if (interval > 0) {
+            scheduler.scheduleWithFixedDelay(() -> {
+                try {
+                    int mismatches = pointReconciler.reconcile().mismatches().size();
+                    if (mismatches > 0) {
+                        log.warn("Point reconciliation found {} mismatched users", mismatches);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Point reconciliation failed", e);
+                }
+            }, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        return scheduler;
+    }
+
+    @Bean
+    public MeterBinder pointReconcileMetrics(PointReconciler pointReconciler) {
+        return registry -> {
+            Gauge.builder("point.reconcile.rows.total", pointReconciler, PointReconciler::rowsTotal)
+                    .description("이번 검사에서 읽을 내역 수").register(registry);
+            Gauge.builder("point.reconcile.rows.scanned", pointReconciler, PointReconciler::rowsScanned)
+                    .description("이번 검사에서 읽은 내역 수").register(registry);
+            Gauge.builder("point.reconcile.users.checked", pointReconciler, PointReconciler::usersChecked)
+                    .description("이번 검사에서 비교한 유저 수").register(registry);
+            Gauge.builder("point.reconcile.mismatches", pointReconciler, PointReconciler::lastMismatches)
+                    .description("마지막 검사에서 불일치한 유저 수").register(registry);
+            FunctionCounter.builder("point.reconcile.runs", pointReconciler, PointReconciler::runs)
+                    .description("완료된 검사 수").register(registry);
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package io.hhplus.tdd.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 포인트 정합성 검사 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "point.reconcile")
+public class PointReconcileProperties {
+
+    //검사에 쓰는 포크/조인 스레드 수
+    private int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    //저널을 나눠 집계하는 단위
+    private int leafSize = 8192;
+    //저널을 읽는 최대 속도, 0 이면 제한 없음
+    private long maxRowsPerSecond = 0;
+    //다시 확인할 때 유저 락을 기다리는 최대 시간, 넘으면 그 유저는 건너뛴다
+    private long lockTimeoutMillis = 100;
+    //백그라운드 실행 간격, 0 이면 요청할 때만 실행
+    private long intervalMillis = 0;
+}
@@ -0,0 +1,24 @@
+package io.hhplus.tdd.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Controller;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * faststart 프로필은 빈을 지연 생성한다.
+ * 다만 첫 요청 경로(컨트롤러와 그 의존성)와 스스로 일을 시작하는 스케줄러는 기동 시점에 만든다.
+ */
+@Configuration
+public class PointStartupConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter pointEagerBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (ScheduledExecutorService.class.isAssignableFrom(beanType)
+                || AnnotatedElementUtils.hasAnnotation(beanType, Controller.class));
+    }
+}
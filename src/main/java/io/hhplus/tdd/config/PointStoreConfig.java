@@ -0,0 +1,110 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.store.BalanceLeaderboard;
+import io.hhplus.tdd.store.BalanceVersionStore;
+import io.hhplus.tdd.store.HistoryJournal;
+import io.hhplus.tdd.store.HistoryTimeIndex;
+import io.hhplus.tdd.store.KnownUserFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class PointStoreConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(PointStoreConfig.class);
+
+    @Bean
+    public BalanceVersionStore balanceVersionStore(PointVersionProperties pointVersionProperties) {
+        return new BalanceVersionStore(pointVersionProperties.getRetentionMillis(),
+                pointVersionProperties.getMaxVersionsPerUser());
+    }
+
+    //쓰기가 없는 유저의 지난 버전도 보관 기간이 지나면 정리되도록 주기적으로 sweep 한다
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService pointVersionSweeper(BalanceVersionStore balanceVersionStore,
+                                                        PointVersionProperties pointVersionProperties) {
+        ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(
+                PointExecutorConfig.namedThreadFactory("point-version-sweep-"));
+        long interval = pointVersionProperties.getSweepIntervalMillis();
+        sweeper.scheduleWithFixedDelay(() -> {
+            try {
+                balanceVersionStore.sweep();
+            } catch (RuntimeException e) {
+                log.warn("Balance version sweep failed", e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+        return sweeper;
+    }
+
+    @Bean
+    public BalanceLeaderboard balanceLeaderboard() {
+        return new BalanceLeaderboard();
+    }
+
+    @Bean
+    public HistoryJournal historyJournal(PointAuditProperties pointAuditProperties) {
+        return new HistoryJournal(pointAuditProperties.getBucketMillis());
+    }
+
+    /*
+     * 저널에 공개된 행을 시각 인덱스에 넣는다 (조회 경로 밖에서).
+     * 한 번에 index-batch-rows 행씩 정렬해 공개하고, 밀려 있으면 다 따라잡을 때까지 이어서 넣는다.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService pointHistoryIndexer(HistoryJournal historyJournal,
+                                                        PointAuditProperties pointAuditProperties) {
+        ScheduledExecutorService indexer = Executors.newSingleThreadScheduledExecutor(
+                PointExecutorConfig.namedThreadFactory("point-history-index-"));
+        HistoryTimeIndex timeIndex = historyJournal.timeIndex();
+        int batchRows = pointAuditProperties.getIndexBatchRows();
+        long interval = pointAuditProperties.getIndexIntervalMillis();
+        indexer.scheduleWithFixedDelay(() -> {
+            try {
+                boolean caughtUp;
+                do {
+                    caughtUp = timeIndex.catchUp(batchRows);
+                } while (!caughtUp);
+            } catch (RuntimeException e) {
+                log.warn("History time indexing failed", e);
+            }
+        }, 0L, interval, TimeUnit.MILLISECONDS);
+        return indexer;
+    }
+
+    /*
+     * 애플리케이션 시작 시 설정값으로 필터를 만든다.
+     * Table 이 메모리 저장소라 시작 시점에는 기록된 유저가 없으므로 빈 필터가 곧 재구성된 필터다.
+     */
+    @Bean
+    public KnownUserFilter knownUserFilter(PointFilterProperties pointFilterProperties) {
+        if (!pointFilterProperties.isEnabled()) {
+            return KnownUserFilter.disabled();
+        }
+        return new KnownUserFilter(pointFilterProperties.getExpectedUsers(), pointFilterProperties.getFalsePositiveRate());
+    }
+
+    @Bean
+    public MeterBinder knownUserFilterMetrics(KnownUserFilter knownUserFilter) {
+        return registry -> {
+            FunctionCounter.builder("point.filter.lookups", knownUserFilter, KnownUserFilter::lookups)
+                    .description("블룸 필터 조회 수").register(registry);
+            FunctionCounter.builder("point.filter.negatives", knownUserFilter, KnownUserFilter::negatives)
+                    .description("저장소 조회 없이 걸러낸 조회 수").register(registry);
+            FunctionCounter.builder("point.filter.false.positives", knownUserFilter, KnownUserFilter::falsePositives)
+                    .description("필터를 통과했지만 기록이 없었던 조회 수").register(registry);
+            Gauge.builder("point.filter.false.positive.rate", knownUserFilter, KnownUserFilter::observedFalsePositiveRate)
+                    .description("관측된 오탐률").register(registry);
+            Gauge.builder("point.filter.expected.false.positive.rate", knownUserFilter, KnownUserFilter::expectedFalsePositiveRate)
+                    .description("채워진 비트 비율로 계산한 예상 오탐률").register(registry);
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 포인트 충전/사용 요청별 처리 기한(ms)
+ * - 락 대기 시간과 저장소 호출 시간을 모두 포함한다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "point.timeout")
+public class PointTimeoutProperties {
+
+    //포인트 충전 기한
+    private long chargeMillis = 3000L;
+
+    //포인트 사용 기한
+    private long useMillis = 3000L;
+
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 포인트 버전(시점 조회) 보관 설정
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "point.versions")
+public class PointVersionProperties {
+
+    //이 기간보다 오래된 시점은 조회할 수 없다 (기본 7일)
+    private long retentionMillis = 7L * 24 * 60 * 60 * 1000;
+
+    //유저당 보관하는 최대 버전 수, 보관 기간 안이라도 이보다 오래된 버전은 버린다 (청크 단위로 올림)
+    private int maxVersionsPerUser = 4096;
+
+    //보관 기간이 지난 버전을 정리하는 주기, 쓰기가 없는 유저도 이 주기로 정리된다
+    private long sweepIntervalMillis = 60_000L;
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.codec.PointBinaryHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class PointWebConfig implements WebMvcConfigurer {
+
+    //목록 끝에 추가해 Accept 를 지정하지 않은 요청은 JSON 을 받는다
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new PointBinaryHttpMessageConverter());
+    }
+}
@@ -0,0 +1,44 @@
+package io.hhplus.tdd.config;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.latency.StorageLatencyModel;
+import io.hhplus.tdd.database.latency.SyntheticPointHistoryTable;
+import io.hhplus.tdd.database.latency.SyntheticUserPointTable;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * perf 프로필에서만 Table 을 지연 모델이 적용된 구현으로 바꾼다.
+ * 기본 프로필에서는 원래 Table 을 그대로 사용한다.
+ */
+@Configuration
+@Profile("perf")
+public class StorageLatencyConfig {
+
+    @Bean
+    public StorageLatencyModel storageLatencyModel(StorageLatencyProperties properties) {
+        return switch (properties.getMode()) {
+            case "zero" -> StorageLatencyModel.zero();
+            case "fixed" -> StorageLatencyModel.fixed();
+            case "seeded" -> StorageLatencyModel.seeded(properties.getSeed());
+            case "lognormal" -> StorageLatencyModel.logNormal(
+                    properties.getSeed(), properties.getMedianRatio(), properties.getP99Ratio());
+            default -> throw new IllegalArgumentException("Unknown latency mode: " + properties.getMode());
+        };
+    }
+
+    @Bean
+    @Primary
+    public UserPointTable syntheticUserPointTable(StorageLatencyModel storageLatencyModel) {
+        return new SyntheticUserPointTable(storageLatencyModel);
+    }
+
+    @Bean
+    @Primary
+    public PointHistoryTable syntheticPointHistoryTable(StorageLatencyModel storageLatencyModel) {
+        return new SyntheticPointHistoryTable(storageLatencyModel);
+    }
+}
@@ -0,0 +1,26 @@
+package io.hhplus.tdd.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * perf 프로필에서 사용하는 저장소 지연 모델 설정
+ * - zero : 지연 없음
+ * - fixed : 항상 상한값의 절반
+ * - seeded : 시드를 고정한 [0, 상한) 균등 분포 (실제 Table 과 같은 분포)
+ * - lognormal : 중앙값/p99 를 상한값 대비 비율로 지정한 로그정규 분포
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "point.latency")
+public class StorageLatencyProperties {
+
+    private String mode = "seeded";
+
+    private long seed = 42L;
+
+    private double medianRatio = 0.25;
+
+    private double p99Ratio = 1.0;
+}
@@ -0,0 +1,59 @@
+package io.hhplus.tdd.database.latency;
+
+import java.util.SplittableRandom;
+
+/**
+ * 저장소 호출 한 번에 걸리는 지연 시간 모델
+ * - budgetMillis 는 실제 Table 의 throttle 상한값이다. (selectById 200, insertOrUpdate/insert 300)
+ */
+public interface StorageLatencyModel {
+
+    long delayNanos(long budgetMillis);
+
+    //지연 없음
+    static StorageLatencyModel zero() {
+        return budgetMillis -> 0L;
+    }
+
+    //항상 상한값의 절반 (실제 Table 의 평균과 같다)
+    static StorageLatencyModel fixed() {
+        return budgetMillis -> budgetMillis * 1_000_000L / 2;
+    }
+
+    //실제 Table 과 같은 [0, 상한) 균등 분포지만 시드를 고정해 재현 가능하다
+    static StorageLatencyModel seeded(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        return budgetMillis -> {
+            synchronized (random) {
+                return (long) (random.nextDouble() * budgetMillis * 1_000_000L);
+            }
+        };
+    }
+
+    /**
+     * 로그정규 분포 (꼬리가 긴 지연)
+     * - 중앙값 = 상한값 * medianRatio, p99 = 상한값 * p99Ratio
+     */
+    static StorageLatencyModel logNormal(long seed, double medianRatio, double p99Ratio) {
+        if (medianRatio <= 0 || p99Ratio < medianRatio) {
+            throw new IllegalArgumentException("Ratios must satisfy 0 < median <= p99");
+        }
+        //표준정규분포의 99 분위수
+        double sigma = Math.log(p99Ratio / medianRatio) / 2.3263478740408408;
+        SplittableRandom random = new SplittableRandom(seed);
+        return budgetMillis -> {
+            double gaussian;
+            synchronized (random) {
+                gaussian = nextGaussian(random);
+            }
+            return (long) (budgetMillis * 1_000_000L * medianRatio * Math.exp(sigma * gaussian));
+        };
+    }
+
+    private static double nextGaussian(SplittableRandom random) {
+        //Box-Muller
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+    }
+}
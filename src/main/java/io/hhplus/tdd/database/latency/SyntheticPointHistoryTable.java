@@ -0,0 +1,54 @@
+package io.hhplus.tdd.database.latency;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 성능 측정용 PointHistoryTable
+ * - 공개 API 와 동작(유저별 조회 시 전체 스캔 포함)은 PointHistoryTable 과 같고,
+ *   throttle 만 StorageLatencyModel 로 바꿔 재현 가능하게 한다.
+ */
+public class SyntheticPointHistoryTable extends PointHistoryTable {
+
+    private final List<PointHistory> table = new ArrayList<>();
+    private final StorageLatencyModel latencyModel;
+    private long cursor = 1;
+
+    public SyntheticPointHistoryTable(StorageLatencyModel latencyModel) {
+        this.latencyModel = latencyModel;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        throttle(300);
+        synchronized (table) {
+            PointHistory pointHistory = new PointHistory(cursor++, userId, amount, type, updateMillis);
+            table.add(pointHistory);
+            return pointHistory;
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        synchronized (table) {
+            return table.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+        }
+    }
+
+    private void throttle(long budgetMillis) {
+        long nanos = latencyModel.delayNanos(budgetMillis);
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package io.hhplus.tdd.database.latency;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 성능 측정용 UserPointTable
+ * - 공개 API 와 동작은 UserPointTable 과 같고, throttle 만 StorageLatencyModel 로 바꿔 재현 가능하게 한다.
+ */
+public class SyntheticUserPointTable extends UserPointTable {
+
+    private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+    private final StorageLatencyModel latencyModel;
+
+    public SyntheticUserPointTable(StorageLatencyModel latencyModel) {
+        this.latencyModel = latencyModel;
+    }
+
+    @Override
+    public UserPoint selectById(Long id) {
+        throttle(200);
+        return table.getOrDefault(id, UserPoint.empty(id));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        throttle(300);
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        table.put(id, userPoint);
+        return userPoint;
+    }
+
+    private void throttle(long budgetMillis) {
+        long nanos = latencyModel.delayNanos(budgetMillis);
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
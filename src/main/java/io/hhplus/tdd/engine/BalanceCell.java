@@ -0,0 +1,104 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 유저 한 명의 잔액과 내역을 담는 가변 셀
+ * - 갱신할 때마다 UserPoint/PointHistory 를 만들지 않고 필드와 기본형 배열을 덮어쓴다.
+ * - 내역은 고정 크기 청크를 이어 붙이므로 늘어날 때 기존 배열을 복사하지 않는다.
+ * - 불변 객체는 조회 결과를 돌려줄 때만 만든다.
+ * - 마지막 행이 오래된 청크는 SealedHistoryBlock 으로 압축해 앞쪽(sealed)으로 옮긴다.
+ */
+final class BalanceCell {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final int CHUNK_SIZE = 64;
+
+    final long userId;
+    long point;
+    long updateMillis;
+
+    private HistoryChunk head;
+    private HistoryChunk tail;
+    private SealedHistoryBlock[] sealed = new SealedHistoryBlock[0];
+    private int sealedCount;
+
+    BalanceCell(long userId, long updateMillis) {
+        this.userId = userId;
+        this.updateMillis = updateMillis;
+    }
+
+    void appendHistory(long historyId, long amount, TransactionType type, long millis) {
+        if (tail == null || tail.size == CHUNK_SIZE) {
+            HistoryChunk chunk = new HistoryChunk();
+            if (tail == null) {
+                head = chunk;
+            } else {
+                tail.next = chunk;
+            }
+            tail = chunk;
+        }
+        tail.append(historyId, amount, (byte) type.ordinal(), millis);
+    }
+
+    //마지막 행이 cutoffMillis 이전인 청크를 앞에서부터 압축한다, 압축한 블록 크기 합을 돌려준다
+    long sealColdChunks(long cutoffMillis) {
+        long encodedBytes = 0L;
+        while (head != null && head.size > 0 && head.millis[head.size - 1] <= cutoffMillis) {
+            SealedHistoryBlock block = SealedHistoryBlock.encode(head.ids, head.amounts, head.millis, head.types, head.size);
+            if (sealedCount == sealed.length) {
+                sealed = Arrays.copyOf(sealed, Math.max(4, sealedCount << 1));
+            }
+            sealed[sealedCount++] = block;
+            encodedBytes += block.encodedBytes();
+            head = head.next;
+            if (head == null) {
+                tail = null;
+            }
+        }
+        return encodedBytes;
+    }
+
+    int sealedRows() {
+        int rows = 0;
+        for (int i = 0; i < sealedCount; i++) {
+            rows += sealed[i].size();
+        }
+        return rows;
+    }
+
+    List<PointHistory> toHistories() {
+        List<PointHistory> list = new ArrayList<>();
+        for (int i = 0; i < sealedCount; i++) {
+            sealed[i].decodeInto(userId, list);
+        }
+        for (HistoryChunk chunk = head; chunk != null; chunk = chunk.next) {
+            for (int i = 0; i < chunk.size; i++) {
+                list.add(new PointHistory(chunk.ids[i], userId, chunk.amounts[i], TYPES[chunk.types[i]], chunk.millis[i]));
+            }
+        }
+        return list;
+    }
+
+    private static final class HistoryChunk {
+        final long[] ids = new long[CHUNK_SIZE];
+        final long[] amounts = new long[CHUNK_SIZE];
+        final long[] millis = new long[CHUNK_SIZE];
+        final byte[] types = new byte[CHUNK_SIZE];
+        int size;
+        HistoryChunk next;
+
+        void append(long id, long amount, byte type, long updateMillis) {
+            ids[size] = id;
+            amounts[size] = amount;
+            millis[size] = updateMillis;
+            types[size] = type;
+            size++;
+        }
+    }
+}
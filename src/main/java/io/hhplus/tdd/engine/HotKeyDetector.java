@@ -0,0 +1,112 @@
+package io.hhplus.tdd.engine;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 유저별 요청률(초당) 슬라이딩 윈도우 추정
+ * - windowMillis 단위로 정렬된 현재/이전 윈도우 카운트만 두고, 이전 윈도우는 지난 비율만큼 줄여 더한다.
+ * - hotRate 이상이면 핫 유저, coolRate 미만으로 떨어지면 다시 일반 유저로 본다 (hotRate > coolRate 로 잦은 전환을 막는다).
+ * - 두 윈도우 동안 요청이 없던 유저는 sweep 으로 정리한다. 요청 스레드가 아니라 백그라운드 스케줄러가 윈도우마다 부르며,
+ *   맵 크기는 최근 요청한 유저 수를 넘지 않는다.
+ */
+public class HotKeyDetector {
+
+    private static final class Window {
+        long start = Long.MIN_VALUE;
+        long current;
+        long previous;
+    }
+
+    private final ConcurrentHashMap<Long, Window> windows = new ConcurrentHashMap<>();
+    private final long windowMillis;
+    private final double hotRate;
+    private final double coolRate;
+    private final LongSupplier clock;
+
+    public HotKeyDetector(long windowMillis, double hotRate, double coolRate) {
+        this(windowMillis, hotRate, coolRate, System::currentTimeMillis);
+    }
+
+    public HotKeyDetector(long windowMillis, double hotRate, double coolRate, LongSupplier clock) {
+        if (windowMillis <= 0 || coolRate < 0 || hotRate <= coolRate) {
+            throw new IllegalArgumentException("Window must be > 0 and hot rate must be greater than cool rate");
+        }
+        this.windowMillis = windowMillis;
+        this.hotRate = hotRate;
+        this.coolRate = coolRate;
+        this.clock = clock;
+    }
+
+    //요청 한 건을 세고, 핫 유저 기준을 넘었는지 돌려준다
+    public boolean recordAndCheckHot(long userId) {
+        long nowMillis = clock.getAsLong();
+        Window window = windows.computeIfAbsent(userId, id -> new Window());
+        double rate;
+        synchronized (window) {
+            roll(window, nowMillis);
+            window.current++;
+            rate = estimate(window, nowMillis);
+        }
+        return rate >= hotRate;
+    }
+
+    //핫 유저였다가 요청률이 coolRate 아래로 떨어졌는지
+    public boolean isCool(long userId) {
+        return rate(userId) < coolRate;
+    }
+
+    //현재 추정 요청률 (초당)
+    public double rate(long userId) {
+        Window window = windows.get(userId);
+        if (window == null) {
+            return 0.0;
+        }
+        long nowMillis = clock.getAsLong();
+        synchronized (window) {
+            roll(window, nowMillis);
+            return estimate(window, nowMillis);
+        }
+    }
+
+    public long windowMillis() {
+        return windowMillis;
+    }
+
+    public int trackedUsers() {
+        return windows.size();
+    }
+
+    private void roll(Window window, long nowMillis) {
+        long start = nowMillis - Math.floorMod(nowMillis, windowMillis);
+        if (window.start == start) {
+            return;
+        }
+        window.previous = window.start == start - windowMillis ? window.current : 0L;
+        window.current = 0L;
+        window.start = start;
+    }
+
+    private double estimate(Window window, long nowMillis) {
+        double remaining = 1.0 - (double) (nowMillis - window.start) / windowMillis;
+        return (window.previous * remaining + window.current) * 1000.0 / windowMillis;
+    }
+
+    /*
+     * 두 윈도우 동안 조용했던 유저를 지운다.
+     * 정리와 동시에 같은 유저의 요청이 세어지면 한 건이 빠질 수 있지만, 두 윈도우 동안 조용했던 유저라 판정에는 영향이 없다.
+     */
+    public void sweep() {
+        long nowMillis = clock.getAsLong();
+        long staleBefore = nowMillis - 2 * windowMillis;
+        windows.forEach((userId, window) -> {
+            boolean stale;
+            synchronized (window) {
+                stale = window.start < staleBefore;
+            }
+            if (stale) {
+                windows.remove(userId, window);
+            }
+        });
+    }
+}
@@ -0,0 +1,331 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.exception.PointTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 핫 유저 전용 레인
+ * - HotKeyDetector 가 핫 유저로 판정하면 그 유저에게 크기가 정해진 큐와 전용 워커 스레드를 붙인다 (최대 maxHotKeys 명).
+ * - 핫 유저의 요청 스레드는 유저 락을 두고 경쟁하지 않고 큐에 넣은 뒤 결과만 기다린다.
+ *   큐가 가득 차면 거절하지 않고 offer 가 false 를 돌려, 호출자가 자기 기한으로 원래(락) 경로에서 처리한다.
+ * - 워커는 큐에 쌓인 요청을 maxBatch 건까지 한 번에 꺼내 BatchWriter 로 넘긴다.
+ * - 레인은 자리(slots)를 먼저 잡고 맵에 넣은 뒤 맵 밖에서 워커를 시작하므로, 레인 수는 maxHotKeys 를 넘지 않고
+ *   스레드 시작과 리스너 호출이 맵의 잠금을 붙잡지 않는다.
+ * - 요청률이 coolRate 아래로 떨어지면 레인을 닫는다. 닫힌 레인은 남은 요청만 처리하고 워커가 끝나며, 이후 요청은 원래 경로로 간다.
+ */
+public class HotKeyLanes {
+
+    private static final Logger log = LoggerFactory.getLogger(HotKeyLanes.class);
+    private static final HotKeyLanes DISABLED = new HotKeyLanes();
+
+    //한 유저의 요청 묶음을 기록한다, 워커 스레드에서 호출된다
+    public interface BatchWriter {
+        void write(long userId, List<HotPointCommand> batch);
+    }
+
+    public interface LaneStats {
+        long userId();
+
+        int queued();
+
+        long batches();
+
+        long commands();
+
+        long overflowed();
+    }
+
+    //레인이 생기고 닫힐 때 (메트릭 등록/해제)
+    public interface Listener {
+        void onPromote(LaneStats lane);
+
+        void onDemote(LaneStats lane);
+    }
+
+    private final ConcurrentHashMap<Long, Lane> lanes = new ConcurrentHashMap<>();
+    //맵에 있는 레인 수 + 만드는 중인 레인 수
+    private final AtomicInteger slots = new AtomicInteger();
+    private final HotKeyDetector detector;
+    private final int maxHotKeys;
+    private final int queueCapacity;
+    private final int maxBatch;
+    private final long idleMillis;
+    private final ThreadFactory threadFactory;
+    private final LongAdder promotions = new LongAdder();
+    private final LongAdder demotions = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private volatile Listener listener;
+
+    public HotKeyLanes(HotKeyDetector detector, int maxHotKeys, int queueCapacity, int maxBatch, long idleMillis,
+                       ThreadFactory threadFactory) {
+        if (maxHotKeys <= 0 || queueCapacity <= 0 || maxBatch <= 0 || idleMillis <= 0) {
+            throw new IllegalArgumentException("maxHotKeys, queueCapacity, maxBatch and idleMillis must be greater than 0");
+        }
+        this.detector = detector;
+        this.maxHotKeys = maxHotKeys;
+        this.queueCapacity = queueCapacity;
+        this.maxBatch = maxBatch;
+        this.idleMillis = idleMillis;
+        this.threadFactory = threadFactory;
+    }
+
+    //레인을 쓰지 않는다 (핫 유저 분리를 끈 경우)
+    private HotKeyLanes() {
+        this.detector = null;
+        this.maxHotKeys = 0;
+        this.queueCapacity = 0;
+        this.maxBatch = 0;
+        this.idleMillis = 0;
+        this.threadFactory = null;
+    }
+
+    public static HotKeyLanes disabled() {
+        return DISABLED;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    //요청 한 건을 세고, 레인으로 보낼 유저(이미 레인이 있거나 막 핫 유저가 된 유저)인지 돌려준다
+    public boolean record(long userId) {
+        if (detector == null) {
+            return false;
+        }
+        boolean hot = detector.recordAndCheckHot(userId);
+        return hot || lanes.containsKey(userId);
+    }
+
+    /**
+     * record 가 true 였던 요청을 레인에 넣는다, 레인이 없으면 만든다.
+     * 레인 수가 maxHotKeys 에 닿았거나, 레인이 막 닫혔거나, 레인 큐가 가득 찼으면 false 이고 호출자가 원래 경로로 처리한다.
+     */
+    public boolean offer(long userId, HotPointCommand command, BatchWriter writer) {
+        Lane lane = lanes.get(userId);
+        if (lane == null) {
+            lane = promote(userId, writer);
+            if (lane == null) {
+                return false;
+            }
+        }
+        return lane.offer(command);
+    }
+
+    //백그라운드 스케줄러에서 호출된다, 오래 조용했던 유저의 요청률 기록을 지운다
+    public void sweep() {
+        if (detector != null) {
+            detector.sweep();
+        }
+    }
+
+    //자리를 잡지 못하면 null, 다른 스레드가 먼저 만들었으면 그 레인
+    private Lane promote(long userId, BatchWriter writer) {
+        if (slots.incrementAndGet() > maxHotKeys) {
+            slots.decrementAndGet();
+            return lanes.get(userId);
+        }
+        Lane created = new Lane(userId, writer);
+        Lane existing = lanes.putIfAbsent(userId, created);
+        if (existing != null) {
+            slots.decrementAndGet();
+            return existing;
+        }
+        created.start();
+        return created;
+    }
+
+    public boolean isHot(long userId) {
+        return lanes.containsKey(userId);
+    }
+
+    public List<LaneStats> lanes() {
+        return new ArrayList<>(lanes.values());
+    }
+
+    public int hotKeys() {
+        return lanes.size();
+    }
+
+    public long promotions() {
+        return promotions.sum();
+    }
+
+    public long demotions() {
+        return demotions.sum();
+    }
+
+    public long overflowed() {
+        return overflowed.sum();
+    }
+
+    //워커를 멈추고 큐에 남은 요청은 기한 초과로 돌려준다
+    public void shutdown() {
+        for (Lane lane : lanes.values()) {
+            lane.close();
+            Thread worker = lane.worker;
+            if (worker != null) {
+                worker.interrupt();
+            }
+        }
+    }
+
+    private final class Lane implements LaneStats, Runnable {
+        private final long userId;
+        private final BatchWriter writer;
+        private final ArrayBlockingQueue<HotPointCommand> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final LongAdder batches = new LongAdder();
+        private final LongAdder commands = new LongAdder();
+        private final LongAdder laneOverflowed = new LongAdder();
+        //start 전에는 null
+        private volatile Thread worker;
+        private volatile boolean closed;
+
+        //맵에 넣기 전에 버려질 수 있으므로 생성자에서는 스레드를 만들지 않는다
+        Lane(long userId, BatchWriter writer) {
+            this.userId = userId;
+            this.writer = writer;
+        }
+
+        //맵에 들어간 레인만 시작한다, 그 사이 shutdown 으로 닫혔으면 시작하지 않는다
+        synchronized void start() {
+            if (closed) {
+                failQueued();
+                return;
+            }
+            promotions.increment();
+            log.info("User {} promoted to hot lane: rate={}/s", userId, String.format("%.1f", detector.rate(userId)));
+            Listener current = listener;
+            if (current != null) {
+                current.onPromote(this);
+            }
+            worker = threadFactory.newThread(this);
+            worker.start();
+        }
+
+        /*
+         * 넣은 뒤에 closed 를 다시 확인한다.
+         * 닫힌 뒤 워커가 가져가지 않은 요청은 큐에서 빼서 원래 경로로 돌려보내고, 이미 가져갔으면 워커가 처리한다.
+         */
+        boolean offer(HotPointCommand command) {
+            if (closed) {
+                return false;
+            }
+            if (!queue.offer(command)) {
+                laneOverflowed.increment();
+                overflowed.increment();
+                return false;
+            }
+            return !closed || !queue.remove(command);
+        }
+
+        @Override
+        public void run() {
+            List<HotPointCommand> batch = new ArrayList<>(maxBatch);
+            try {
+                while (true) {
+                    HotPointCommand first = queue.poll(closed ? 0L : idleMillis, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        if (closed) {
+                            return;
+                        }
+                        closeIfCool();
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, maxBatch - 1);
+                    write(batch);
+                    batch.clear();
+                    if (!closed) {
+                        closeIfCool();
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                failQueued();
+            }
+        }
+
+        private void failQueued() {
+            HotPointCommand command;
+            while ((command = queue.poll()) != null) {
+                if (command.claim()) {
+                    command.fail(new PointTimeoutException("hotLane"));
+                }
+            }
+        }
+
+        private void write(List<HotPointCommand> batch) {
+            try {
+                writer.write(userId, batch);
+            } catch (RuntimeException e) {
+                log.warn("Hot lane batch failed: userId={}", userId, e);
+                for (HotPointCommand command : batch) {
+                    //완료된 요청에는 영향이 없다
+                    command.claim();
+                    command.fail(e);
+                }
+            }
+            batches.increment();
+            commands.add(batch.size());
+        }
+
+        private void closeIfCool() {
+            if (detector.isCool(userId)) {
+                close();
+            }
+        }
+
+        //워커(요청률 하락)와 shutdown 이 함께 닫을 수 있다
+        private synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (lanes.remove(userId, this)) {
+                slots.decrementAndGet();
+            }
+            demotions.increment();
+            log.info("User {} demoted from hot lane: batches={}, commands={}", userId, batches.sum(), commands.sum());
+            Listener current = listener;
+            if (current != null) {
+                current.onDemote(this);
+            }
+        }
+
+        @Override
+        public long userId() {
+            return userId;
+        }
+
+        @Override
+        public int queued() {
+            return queue.size();
+        }
+
+        @Override
+        public long batches() {
+            return batches.sum();
+        }
+
+        @Override
+        public long commands() {
+            return commands.sum();
+        }
+
+        @Override
+        public long overflowed() {
+            return laneOverflowed.sum();
+        }
+    }
+}
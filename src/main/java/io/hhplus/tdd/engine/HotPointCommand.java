@@ -0,0 +1,100 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.exception.PointTimeoutException;
+import io.hhplus.tdd.jfr.PointOperationEvent;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.util.Deadline;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 핫 유저 레인에 들어가는 충전/사용 요청 한 건
+ * - 호출자가 기한 초과로 먼저 취소하면 레인은 이 요청을 배치에 넣지 않는다.
+ * - 레인이 먼저 배치에 넣었다면(claim) 호출자는 결과를 끝까지 기다린다.
+ */
+public final class HotPointCommand {
+
+    private static final int PENDING = 0;
+    private static final int CLAIMED = 1;
+    private static final int CANCELLED = 2;
+
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+    private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+    private final TransactionType type;
+    private final long amount;
+    private final Deadline deadline;
+    private final PointOperationEvent event;
+
+    public HotPointCommand(TransactionType type, long amount, Deadline deadline, PointOperationEvent event) {
+        this.type = type;
+        this.amount = amount;
+        this.deadline = deadline;
+        this.event = event;
+    }
+
+    public TransactionType type() {
+        return type;
+    }
+
+    public long amount() {
+        return amount;
+    }
+
+    public Deadline deadline() {
+        return deadline;
+    }
+
+    public PointOperationEvent event() {
+        return event;
+    }
+
+    //레인이 처리하기로 정한다, 호출자가 이미 취소했으면 false
+    public boolean claim() {
+        return state.compareAndSet(PENDING, CLAIMED);
+    }
+
+    public boolean isCancelled() {
+        return state.get() == CANCELLED;
+    }
+
+    public boolean isDone() {
+        return result.isDone();
+    }
+
+    public void complete(UserPoint userPoint) {
+        result.complete(userPoint);
+    }
+
+    public void fail(RuntimeException error) {
+        result.completeExceptionally(error);
+    }
+
+    public UserPoint await() {
+        try {
+            result.get(Math.max(0L, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (state.compareAndSet(PENDING, CANCELLED)) {
+                throw new PointTimeoutException("hotLane");
+            }
+        } catch (ExecutionException ignored) {
+            //아래 join 에서 원래 예외로 다시 던진다
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package io.hhplus.tdd.engine;
+
+/**
+ * long userId -> BalanceCell 오픈 어드레싱 해시맵
+ * - HashMap<Long, ...> 과 달리 조회/갱신 시 Long 박싱과 Entry 할당이 없다.
+ * - 한 스레드만 접근한다.
+ */
+final class LongCellMap {
+
+    private long[] keys;
+    private BalanceCell[] cells;
+    private int mask;
+    private int size;
+
+    LongCellMap(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(4, initialCapacity - 1)) << 1;
+        this.keys = new long[capacity];
+        this.cells = new BalanceCell[capacity];
+        this.mask = capacity - 1;
+    }
+
+    BalanceCell get(long key) {
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            BalanceCell cell = cells[i];
+            if (cell == null || keys[i] == key) {
+                return cell;
+            }
+        }
+    }
+
+    BalanceCell getOrCreate(long key, long updateMillis) {
+        int i = index(key);
+        for (; cells[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return cells[i];
+            }
+        }
+        BalanceCell cell = new BalanceCell(key, updateMillis);
+        keys[i] = key;
+        cells[i] = cell;
+        if (++size > (cells.length >> 1)) {
+            resize();
+        }
+        return cell;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return cells.length;
+    }
+
+    //slot 위치의 셀, 비어 있으면 null (전체를 조금씩 훑을 때 쓴다)
+    BalanceCell cellAt(int slot) {
+        return cells[slot & mask];
+    }
+
+    private int index(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        BalanceCell[] oldCells = cells;
+        keys = new long[oldKeys.length << 1];
+        cells = new BalanceCell[oldCells.length << 1];
+        mask = cells.length - 1;
+        for (int j = 0; j < oldCells.length; j++) {
+            if (oldCells[j] != null) {
+                int i = index(oldKeys[j]);
+                while (cells[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                cells[i] = oldCells[j];
+            }
+        }
+    }
+}
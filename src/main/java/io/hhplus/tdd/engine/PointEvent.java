@@ -0,0 +1,76 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * 링 버퍼에 미리 할당해 두고 재사용하는 명령 슬롯
+ * - 요청 필드를 채운 뒤 publishedSequence 를 쓰면 소비자에게 공개된다.
+ * - 결과 필드를 채운 뒤 completedSequence 를 쓰면 생산자에게 공개된다.
+ * - 생산자가 결과를 읽고 releasedSequence 를 쓰면 다음 바퀴에서 슬롯을 다시 쓸 수 있다.
+ * - 소비자가 처리하기 전에 생산자가 기한 초과로 취소하면 소비자가 건너뛰고 대신 releasedSequence 를 쓴다.
+ *   취소와 처리는 state 하나를 두고 CAS 로 정하므로 취소된 명령은 반영되지 않는다.
+ */
+final class PointEvent {
+
+    enum Kind {CHARGE, USE, SELECT_POINT, SELECT_HISTORY}
+
+    enum Outcome {OK, INSUFFICIENT, TIMEOUT, FAILED, CANCELLED}
+
+    private static final AtomicLongFieldUpdater<PointEvent> STATE =
+            AtomicLongFieldUpdater.newUpdater(PointEvent.class, "state");
+
+    //요청
+    Kind kind;
+    long userId;
+    long amount;
+    long deadlineNanos;
+
+    //결과
+    Outcome outcome;
+    long resultPoint;
+    long resultMillis;
+    long previousPoint;
+    Object resultObject;
+    RuntimeException error;
+
+    volatile long publishedSequence;
+    volatile long completedSequence;
+    volatile long releasedSequence;
+    volatile Thread waiter;
+
+    //시퀀스 s 에 대해 2s 는 소비자가 가져감, 2s + 1 은 생산자가 취소함, 그보다 작으면 아직 정해지지 않음
+    private volatile long state = Long.MIN_VALUE;
+
+    PointEvent(long initialSequence) {
+        this.publishedSequence = initialSequence;
+        this.completedSequence = initialSequence;
+        this.releasedSequence = initialSequence;
+    }
+
+    //소비자가 처리하기로 정한다, 생산자가 이미 취소했으면 false
+    boolean claim(long sequence) {
+        return decide(sequence, 2 * sequence);
+    }
+
+    //생산자가 취소한다, 소비자가 이미 가져갔으면 false
+    boolean cancel(long sequence) {
+        return decide(sequence, 2 * sequence + 1);
+    }
+
+    private boolean decide(long sequence, long decided) {
+        long current = state;
+        while (current < 2 * sequence) {
+            if (STATE.compareAndSet(this, current, decided)) {
+                return true;
+            }
+            current = state;
+        }
+        return current == decided;
+    }
+
+    TransactionType transactionType() {
+        return kind == Kind.CHARGE ? TransactionType.CHARGE : TransactionType.USE;
+    }
+}
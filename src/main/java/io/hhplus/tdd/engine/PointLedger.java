@@ -0,0 +1,96 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * 한 스레드만 접근하는 포인트/내역 저장소
+ * - 샤드(또는 소비자 스레드)가 소유하므로 락 없이 사용한다.
+ * - 내부는 유저별 가변 셀로 관리하고, UserPoint/PointHistory 는 조회 결과로 돌려줄 때만 만든다.
+ * - sealAfterMillis 보다 오래된 내역은 압축 블록으로 옮긴다. 기록하는 유저의 셀과 함께
+ *   셀 하나씩을 돌아가며 확인하므로 한동안 기록이 없는 유저의 내역도 결국 압축된다.
+ */
+public class PointLedger {
+
+    private final LongCellMap cells = new LongCellMap(1024);
+    private final long sealAfterMillis;
+    private int sweepSlot;
+    private long sealedBytes;
+
+    public PointLedger() {
+        this(Long.MAX_VALUE);
+    }
+
+    public PointLedger(long sealAfterMillis) {
+        this.sealAfterMillis = sealAfterMillis;
+    }
+
+    public UserPoint selectPoint(long userId) {
+        BalanceCell cell = cells.get(userId);
+        return cell != null ? new UserPoint(userId, cell.point, cell.updateMillis) : UserPoint.empty(userId);
+    }
+
+    public List<PointHistory> selectHistories(long userId) {
+        BalanceCell cell = cells.get(userId);
+        return cell != null ? cell.toHistories() : List.of();
+    }
+
+    public long pointOf(long userId) {
+        BalanceCell cell = cells.get(userId);
+        return cell != null ? cell.point : 0L;
+    }
+
+    public void updatePoint(long userId, long point, long updateMillis) {
+        BalanceCell cell = cells.getOrCreate(userId, updateMillis);
+        cell.point = point;
+        cell.updateMillis = updateMillis;
+    }
+
+    public void appendHistory(long historyId, long userId, long amount, TransactionType type, long updateMillis) {
+        BalanceCell cell = cells.getOrCreate(userId, updateMillis);
+        //새 행이 오래된 청크에 섞이지 않도록 추가하기 전에 압축한다
+        if (sealAfterMillis != Long.MAX_VALUE) {
+            long cutoffMillis = updateMillis - sealAfterMillis;
+            sealedBytes += cell.sealColdChunks(cutoffMillis);
+            BalanceCell other = cells.cellAt(sweepSlot++);
+            if (other != null) {
+                sealedBytes += other.sealColdChunks(cutoffMillis);
+            }
+        }
+        cell.appendHistory(historyId, amount, type, updateMillis);
+    }
+
+    //압축된 블록 크기 합
+    public long sealedBytes() {
+        return sealedBytes;
+    }
+
+    //압축된 행 수 (셀을 모두 훑으므로 통계용으로만 쓴다)
+    public long sealedRows() {
+        long rows = 0L;
+        for (int slot = 0; slot < cells.capacity(); slot++) {
+            BalanceCell cell = cells.cellAt(slot);
+            if (cell != null) {
+                rows += cell.sealedRows();
+            }
+        }
+        return rows;
+    }
+
+    //잔액 검증 후 포인트와 내역을 함께 반영한다
+    public UserPoint apply(long userId, long amount, TransactionType type, LongSupplier historyIds) {
+        long current = pointOf(userId);
+        long updated = current + type.signed(amount);
+        if (updated < 0) {
+            throw new IllegalStateException("Insufficient points: current=" + current + ", required=" + amount);
+        }
+        long now = System.currentTimeMillis();
+        appendHistory(historyIds.getAsLong(), userId, amount, type, now);
+        updatePoint(userId, updated, now);
+        return new UserPoint(userId, updated, now);
+    }
+}
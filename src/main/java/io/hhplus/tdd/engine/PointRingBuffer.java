@@ -0,0 +1,343 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.exception.PointTimeoutException;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.util.Deadline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 미리 할당한 슬롯을 재사용하는 포인트 명령 링 버퍼 (Disruptor 방식)
+ * - 생산자는 다음 시퀀스의 슬롯이 비었을 때만 CAS 로 시퀀스를 발급받아 슬롯에 명령을 쓰고 공개한다.
+ *   슬롯이 비기를 기다리는 시간과 결과를 기다리는 시간은 요청 기한을 넘지 않는다.
+ * - 소비자 스레드 하나가 공개된 시퀀스를 모아 배치로 잔액 반영 -> 내역 추가 -> 완료 통지 순으로 처리한다.
+ *   명령 하나를 처리하다 예외가 나면 그 명령만 실패로 돌려주고 소비자는 계속 돈다.
+ * - 소비자가 멈추면(shutdown) 기다리던 생산자와 이후 요청은 PointTimeoutException 으로 끝난다.
+ * - 요청마다 명령 객체, 락, Future 를 만들지 않는다.
+ */
+public class PointRingBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(PointRingBuffer.class);
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final long PARK_NANOS = 50_000L;
+
+    private final PointEvent[] slots;
+    private final int size;
+    private final int mask;
+    private final AtomicLong claimCursor = new AtomicLong();
+    private final PointLedger ledger;
+    private final Thread consumer;
+    private volatile boolean running = true;
+    private volatile boolean stopped;
+    private volatile boolean consumerParked;
+
+    //소비자 스레드만 접근한다
+    private long historyCursor = 1;
+
+    public PointRingBuffer(int size) {
+        this(size, Long.MAX_VALUE);
+    }
+
+    //sealAfterMillis : 이보다 오래된 내역은 압축 블록으로 옮긴다
+    public PointRingBuffer(int size, long sealAfterMillis) {
+        if (size <= 0 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Ring size must be a power of 2");
+        }
+        this.size = size;
+        this.mask = size - 1;
+        this.slots = new PointEvent[size];
+        this.ledger = new PointLedger(sealAfterMillis);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new PointEvent(i - size);
+        }
+        this.consumer = new Thread(this::consume, "point-ring-consumer");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    public UserPoint apply(long userId, long amount, TransactionType type, Deadline deadline) {
+        PointEvent.Kind kind = type == TransactionType.CHARGE ? PointEvent.Kind.CHARGE : PointEvent.Kind.USE;
+        long sequence = publish(kind, userId, amount, deadline);
+        PointEvent event = await(sequence, deadline);
+        PointEvent.Outcome outcome = event.outcome;
+        long resultPoint = event.resultPoint;
+        long resultMillis = event.resultMillis;
+        long previousPoint = event.previousPoint;
+        RuntimeException error = event.error;
+        release(event, sequence);
+
+        if (outcome == PointEvent.Outcome.INSUFFICIENT) {
+            throw new IllegalStateException("Insufficient points: current=" + previousPoint + ", required=" + amount);
+        }
+        if (outcome == PointEvent.Outcome.TIMEOUT) {
+            throw new PointTimeoutException("ring");
+        }
+        if (outcome == PointEvent.Outcome.FAILED) {
+            throw error;
+        }
+        return new UserPoint(userId, resultPoint, resultMillis);
+    }
+
+    public UserPoint selectPoint(long userId, Deadline deadline) {
+        return (UserPoint) query(PointEvent.Kind.SELECT_POINT, userId, deadline);
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<PointHistory> selectHistories(long userId, Deadline deadline) {
+        return (List<PointHistory>) query(PointEvent.Kind.SELECT_HISTORY, userId, deadline);
+    }
+
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(consumer);
+    }
+
+    private Object query(PointEvent.Kind kind, long userId, Deadline deadline) {
+        long sequence = publish(kind, userId, 0L, deadline);
+        PointEvent event = await(sequence, deadline);
+        Object result = event.resultObject;
+        RuntimeException error = event.error;
+        boolean failed = event.outcome == PointEvent.Outcome.FAILED;
+        release(event, sequence);
+        if (failed) {
+            throw error;
+        }
+        return result;
+    }
+
+    /*
+     * 한 바퀴 전 명령의 슬롯이 풀렸을 때만 시퀀스를 가져간다.
+     * 시퀀스를 가져간 뒤에는 반드시 공개해야 소비자가 멈추지 않으므로, 기한 초과는 가져가기 전에만 판단한다.
+     */
+    private long publish(PointEvent.Kind kind, long userId, long amount, Deadline deadline) {
+        long sequence;
+        int tries = 0;
+        while (true) {
+            sequence = claimCursor.get();
+            if (slots[(int) (sequence & mask)].releasedSequence == sequence - size) {
+                if (claimCursor.compareAndSet(sequence, sequence + 1)) {
+                    break;
+                }
+                continue;
+            }
+            if (stopped || deadline.isExpired()) {
+                throw new PointTimeoutException("ring");
+            }
+            tries = idle(tries);
+        }
+        PointEvent event = slots[(int) (sequence & mask)];
+        event.kind = kind;
+        event.userId = userId;
+        event.amount = amount;
+        event.deadlineNanos = deadline.deadlineNanos();
+        event.outcome = null;
+        event.resultObject = null;
+        event.error = null;
+        event.publishedSequence = sequence;
+        if (consumerParked) {
+            LockSupport.unpark(consumer);
+        }
+        return sequence;
+    }
+
+    /*
+     * 기한이 지나거나 소비자가 멈추면 명령을 취소하고 PointTimeoutException 을 던진다.
+     * 소비자가 이미 가져간 명령은 취소할 수 없으므로 완료될 때까지 기다린다 (한 배치 처리 시간을 넘지 않는다).
+     */
+    private PointEvent await(long sequence, Deadline deadline) {
+        PointEvent event = slots[(int) (sequence & mask)];
+        int spins = 0;
+        boolean claimed = false;
+        while (event.completedSequence != sequence) {
+            if (spins++ < SPIN_TRIES) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (!claimed && (stopped || deadline.isExpired())) {
+                if (event.cancel(sequence)) {
+                    event.waiter = null;
+                    throw new PointTimeoutException("ring");
+                }
+                claimed = true;
+                continue;
+            }
+            event.waiter = Thread.currentThread();
+            if (event.completedSequence != sequence) {
+                if (claimed) {
+                    LockSupport.park(this);
+                } else if (!stopped) {
+                    LockSupport.parkNanos(this, deadline.remainingNanos());
+                }
+            }
+        }
+        event.waiter = null;
+        return event;
+    }
+
+    private void release(PointEvent event, long sequence) {
+        event.resultObject = null;
+        event.releasedSequence = sequence;
+    }
+
+    private void consume() {
+        long next = 0;
+        int tries = 0;
+        try {
+            while (running) {
+                long available = next - 1;
+                while (available + 1 - next < size
+                        && slots[(int) ((available + 1) & mask)].publishedSequence == available + 1) {
+                    available++;
+                }
+                if (available < next) {
+                    tries = awaitPublish(next, tries);
+                    continue;
+                }
+                tries = 0;
+                processBatch(next, available);
+                next = available + 1;
+            }
+        } finally {
+            //stopped 를 본 생산자는 취소하고, 그 전에 잠든 생산자는 여기서 깨운다
+            stopped = true;
+            for (PointEvent event : slots) {
+                Thread waiter = event.waiter;
+                if (waiter != null) {
+                    LockSupport.unpark(waiter);
+                }
+            }
+        }
+    }
+
+    private void processBatch(long from, long to) {
+        long nowNanos = System.nanoTime();
+        long nowMillis = System.currentTimeMillis();
+
+        try {
+            //1단계: 잔액 반영
+            for (long sequence = from; sequence <= to; sequence++) {
+                PointEvent event = slots[(int) (sequence & mask)];
+                if (!event.claim(sequence)) {
+                    event.outcome = PointEvent.Outcome.CANCELLED;
+                    continue;
+                }
+                try {
+                    switch (event.kind) {
+                        case CHARGE, USE -> applyBalance(event, nowNanos, nowMillis);
+                        case SELECT_POINT -> {
+                            event.resultObject = ledger.selectPoint(event.userId);
+                            event.outcome = PointEvent.Outcome.OK;
+                        }
+                        default -> {
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    fail(event, e);
+                }
+            }
+
+            //2단계: 반영된 명령의 내역 추가
+            for (long sequence = from; sequence <= to; sequence++) {
+                PointEvent event = slots[(int) (sequence & mask)];
+                try {
+                    if (event.outcome == PointEvent.Outcome.CANCELLED) {
+                        continue;
+                    }
+                    if (event.kind == PointEvent.Kind.SELECT_HISTORY) {
+                        event.resultObject = ledger.selectHistories(event.userId);
+                        event.outcome = PointEvent.Outcome.OK;
+                    } else if (event.kind != PointEvent.Kind.SELECT_POINT && event.outcome == PointEvent.Outcome.OK) {
+                        ledger.appendHistory(historyCursor++, event.userId, event.amount, event.transactionType(), nowMillis);
+                    }
+                } catch (RuntimeException e) {
+                    undoBalance(event, nowMillis);
+                    fail(event, e);
+                }
+            }
+        } finally {
+            //3단계: 완료 통지, 취소된 슬롯은 생산자 대신 푼다
+            for (long sequence = from; sequence <= to; sequence++) {
+                PointEvent event = slots[(int) (sequence & mask)];
+                if (event.outcome == PointEvent.Outcome.CANCELLED || !event.claim(sequence)) {
+                    release(event, sequence);
+                    continue;
+                }
+                if (event.outcome == null) {
+                    //앞 단계가 중간에 멈춰 처리되지 못한 명령
+                    event.outcome = PointEvent.Outcome.FAILED;
+                    event.error = new IllegalStateException("Ring consumer failed");
+                }
+                event.completedSequence = sequence;
+                Thread waiter = event.waiter;
+                if (waiter != null) {
+                    LockSupport.unpark(waiter);
+                }
+            }
+        }
+    }
+
+    private void fail(PointEvent event, RuntimeException error) {
+        log.error("Ring event failed: kind={}, userId={}", event.kind, event.userId, error);
+        event.outcome = PointEvent.Outcome.FAILED;
+        event.error = error;
+    }
+
+    //내역을 남기지 못한 충전/사용은 반영한 만큼 되돌린다 (같은 배치의 뒤 명령은 이미 반영된 잔액을 본 상태다)
+    private void undoBalance(PointEvent event, long nowMillis) {
+        if (event.kind == PointEvent.Kind.SELECT_POINT || event.outcome != PointEvent.Outcome.OK) {
+            return;
+        }
+        long delta = event.kind == PointEvent.Kind.CHARGE ? event.amount : -event.amount;
+        ledger.updatePoint(event.userId, ledger.pointOf(event.userId) - delta, nowMillis);
+    }
+
+    private void applyBalance(PointEvent event, long nowNanos, long nowMillis) {
+        if (nowNanos - event.deadlineNanos > 0) {
+            event.outcome = PointEvent.Outcome.TIMEOUT;
+            return;
+        }
+        long current = ledger.pointOf(event.userId);
+        long updated = event.kind == PointEvent.Kind.CHARGE ? current + event.amount : current - event.amount;
+        if (updated < 0) {
+            event.outcome = PointEvent.Outcome.INSUFFICIENT;
+            event.previousPoint = current;
+            return;
+        }
+        ledger.updatePoint(event.userId, updated, nowMillis);
+        event.resultPoint = updated;
+        event.resultMillis = nowMillis;
+        event.outcome = PointEvent.Outcome.OK;
+    }
+
+    //오래 비어 있으면 잠들고, 생산자가 공개하면서 깨운다
+    private int awaitPublish(long next, int tries) {
+        if (tries < YIELD_TRIES) {
+            return idle(tries);
+        }
+        consumerParked = true;
+        if (slots[(int) (next & mask)].publishedSequence != next && running) {
+            LockSupport.parkNanos(this, PARK_NANOS);
+        }
+        consumerParked = false;
+        return tries;
+    }
+
+    private static int idle(int tries) {
+        if (tries < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (tries < YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        return Math.min(tries + 1, YIELD_TRIES);
+    }
+}
@@ -0,0 +1,35 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.util.Deadline;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * 전용 스레드 하나가 자기 몫의 포인트/내역을 순서대로 처리하는 샤드
+ */
+class PointShard {
+
+    private final PointLedger ledger;
+    private final ExecutorService executor;
+
+    PointShard(int index, long sealAfterMillis) {
+        this.ledger = new PointLedger(sealAfterMillis);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-shard-" + index);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    <T> T execute(Function<PointLedger, T> operation, Deadline deadline) {
+        ShardCommand<T> command = new ShardCommand<>(ledger, operation);
+        executor.execute(command);
+        return command.await(deadline);
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,131 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 오래된 내역 청크를 압축해 담는 불변 블록
+ * - 형식: [행 수 varint][TransactionType 비트 묶음][행마다 id 증분, updateMillis 증분, 금액]
+ * - id/updateMillis 는 직전 행과의 차이를, 금액은 값 그대로를 zig-zag varint 로 쓴다.
+ * - 내역 조회 때만 풀고, 푼 결과는 들고 있지 않는다.
+ */
+public final class SealedHistoryBlock {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final int TYPE_BITS = Math.max(1, 32 - Integer.numberOfLeadingZeros(TYPES.length - 1));
+    private static final int TYPE_MASK = (1 << TYPE_BITS) - 1;
+
+    static {
+        //한 값이 최대 두 바이트에 걸치도록 쓴다
+        if (TYPE_BITS > 8) {
+            throw new IllegalStateException("Too many transaction types to pack: " + TYPES.length);
+        }
+    }
+    //압축 전 컬럼 배열 기준 한 행의 크기 (id, amount, millis, type)
+    public static final int RAW_ROW_BYTES = 8 + 8 + 8 + 1;
+
+    private final byte[] data;
+    private final int size;
+
+    private SealedHistoryBlock(byte[] data, int size) {
+        this.data = data;
+        this.size = size;
+    }
+
+    public static SealedHistoryBlock encode(long[] ids, long[] amounts, long[] millis, byte[] types, int count) {
+        int typeBytes = (count * TYPE_BITS + 7) >>> 3;
+        byte[] buffer = new byte[5 + typeBytes + count * 30];
+        int position = writeVarLong(buffer, 0, count);
+        for (int i = 0; i < count; i++) {
+            writeBits(buffer, position, i * TYPE_BITS, types[i] & TYPE_MASK);
+        }
+        position += typeBytes;
+        long previousId = 0L;
+        long previousMillis = 0L;
+        for (int i = 0; i < count; i++) {
+            position = writeVarLong(buffer, position, zigZag(ids[i] - previousId));
+            position = writeVarLong(buffer, position, zigZag(millis[i] - previousMillis));
+            position = writeVarLong(buffer, position, zigZag(amounts[i]));
+            previousId = ids[i];
+            previousMillis = millis[i];
+        }
+        return new SealedHistoryBlock(Arrays.copyOf(buffer, position), count);
+    }
+
+    public void decodeInto(long userId, List<PointHistory> out) {
+        int[] position = {0};
+        int count = (int) readVarLong(data, position);
+        int typeOffset = position[0];
+        position[0] += (count * TYPE_BITS + 7) >>> 3;
+        long id = 0L;
+        long millis = 0L;
+        for (int i = 0; i < count; i++) {
+            id += unZigZag(readVarLong(data, position));
+            millis += unZigZag(readVarLong(data, position));
+            long amount = unZigZag(readVarLong(data, position));
+            int type = readBits(data, typeOffset, i * TYPE_BITS);
+            out.add(new PointHistory(id, userId, amount, TYPES[type], millis));
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int encodedBytes() {
+        return data.length;
+    }
+
+    //TYPE_BITS 가 8 의 약수가 아니면 값이 두 바이트에 걸칠 수 있다 (TYPE_BITS <= 8)
+    private static void writeBits(byte[] buffer, int offset, int bit, int value) {
+        int index = offset + (bit >>> 3);
+        int shifted = value << (bit & 7);
+        buffer[index] |= (byte) shifted;
+        if ((bit & 7) + TYPE_BITS > 8) {
+            buffer[index + 1] |= (byte) (shifted >>> 8);
+        }
+    }
+
+    private static int readBits(byte[] buffer, int offset, int bit) {
+        int index = offset + (bit >>> 3);
+        int word = buffer[index] & 0xFF;
+        if ((bit & 7) + TYPE_BITS > 8) {
+            word |= (buffer[index + 1] & 0xFF) << 8;
+        }
+        return (word >>> (bit & 7)) & TYPE_MASK;
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int writeVarLong(byte[] buffer, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    private static long readVarLong(byte[] buffer, int[] position) {
+        long value = 0L;
+        int shift = 0;
+        int p = position[0];
+        byte b;
+        do {
+            b = buffer[p++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        position[0] = p;
+        return value;
+    }
+}
@@ -0,0 +1,69 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.exception.PointTimeoutException;
+import io.hhplus.tdd.util.Deadline;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 샤드 큐에 들어가는 명령
+ * - 호출자가 기한 초과로 먼저 취소하면 샤드 스레드는 명령을 실행하지 않는다.
+ * - 샤드 스레드가 먼저 실행을 시작했다면 호출자는 결과를 끝까지 기다린다.
+ */
+class ShardCommand<T> implements Runnable {
+
+    private static final int PENDING = 0;
+    private static final int RUNNING = 1;
+    private static final int CANCELLED = 2;
+
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+    private final Function<PointLedger, T> operation;
+    private final PointLedger ledger;
+
+    ShardCommand(PointLedger ledger, Function<PointLedger, T> operation) {
+        this.ledger = ledger;
+        this.operation = operation;
+    }
+
+    @Override
+    public void run() {
+        if (!state.compareAndSet(PENDING, RUNNING)) {
+            return;
+        }
+        try {
+            result.complete(operation.apply(ledger));
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    T await(Deadline deadline) {
+        try {
+            result.get(Math.max(0L, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            if (state.compareAndSet(PENDING, CANCELLED)) {
+                throw new PointTimeoutException("shard");
+            }
+        } catch (ExecutionException ignored) {
+            //아래 join 에서 원래 예외로 다시 던진다
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
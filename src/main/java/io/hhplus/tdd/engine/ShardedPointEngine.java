@@ -0,0 +1,63 @@
+package io.hhplus.tdd.engine;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.util.Deadline;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * userId 해시로 나눈 N개의 샤드에 포인트 명령을 보내는 엔진
+ * - 같은 유저의 명령은 항상 같은 샤드 스레드에서 순서대로 실행되므로 유저별 락이 필요 없다.
+ */
+public class ShardedPointEngine {
+
+    private final PointShard[] shards;
+    private final AtomicLong historyCursor = new AtomicLong(1);
+
+    public ShardedPointEngine(int shardCount) {
+        this(shardCount, Long.MAX_VALUE);
+    }
+
+    //sealAfterMillis : 이보다 오래된 내역은 압축 블록으로 옮긴다
+    public ShardedPointEngine(int shardCount, long sealAfterMillis) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be greater than 0");
+        }
+        this.shards = new PointShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new PointShard(i, sealAfterMillis);
+        }
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    public int shardOf(long userId) {
+        //연속된 userId가 한 샤드에 몰리지 않도록 비트를 섞는다
+        long h = userId * 0x9E3779B97F4A7C15L;
+        return (int) ((h ^ (h >>> 32)) & 0x7fffffffL) % shards.length;
+    }
+
+    public UserPoint selectPoint(long userId, Deadline deadline) {
+        return shards[shardOf(userId)].execute(ledger -> ledger.selectPoint(userId), deadline);
+    }
+
+    public List<PointHistory> selectHistories(long userId, Deadline deadline) {
+        return shards[shardOf(userId)].execute(ledger -> ledger.selectHistories(userId), deadline);
+    }
+
+    public UserPoint apply(long userId, long amount, TransactionType type, Deadline deadline) {
+        return shards[shardOf(userId)].execute(
+                ledger -> ledger.apply(userId, amount, type, historyCursor::getAndIncrement), deadline);
+    }
+
+    public void shutdown() {
+        for (PointShard shard : shards) {
+            shard.shutdown();
+        }
+    }
+}
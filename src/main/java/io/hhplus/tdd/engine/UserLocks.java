@@ -0,0 +1,37 @@
+package io.hhplus.tdd.engine;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저별 락 저장소
+ * - stripeCount 가 0 이면 유저마다 락을 하나씩 만든다. (기본값)
+ * - stripeCount 가 0 보다 크면 고정 개수의 락을 userId 해시로 나눠 쓴다.
+ *   조회 시 Long 박싱/맵 조회가 없고 락 개수가 유저 수와 무관하지만, 서로 다른 유저가 락을 공유할 수 있다.
+ */
+public class UserLocks {
+
+    private final ConcurrentHashMap<Long, Lock> locks = new ConcurrentHashMap<>();
+    private final Lock[] stripes;
+
+    public UserLocks(int stripeCount) {
+        if (stripeCount > 0) {
+            int size = Integer.highestOneBit(stripeCount - 1) << 1;
+            stripes = new Lock[Math.max(1, size)];
+            for (int i = 0; i < stripes.length; i++) {
+                stripes[i] = new ReentrantLock();
+            }
+        } else {
+            stripes = null;
+        }
+    }
+
+    public Lock lockFor(long userId) {
+        if (stripes != null) {
+            long h = userId * 0x9E3779B97F4A7C15L;
+            return stripes[(int) (h ^ (h >>> 32)) & (stripes.length - 1)];
+        }
+        return locks.computeIfAbsent(userId, id -> new ReentrantLock());
+    }
+}
@@ -0,0 +1,144 @@
+package io.hhplus.tdd.engine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 유저별 직렬 실행 레인 (락을 기다리며 스레드를 세워 두지 않는 UserLocks 대체)
+ * - 같은 유저의 작업은 제출 순서대로 하나씩 실행되고, 서로 다른 유저의 레인은 executor 에서 동시에 실행된다.
+ * - 레인은 유저마다 따로 두므로 느린 유저의 작업이 다른 유저 작업의 앞을 막지 않는다.
+ *   작업이 있는 유저만 레인을 가지며, 쌓인 작업을 다 처리하면 레인을 지운다.
+ * - 레인의 대기 작업 수는 ConcurrentHashMap.compute 안에서만 바꾸므로 유저 단위로만 직렬화된다.
+ * - 빈 레인에 작업을 넣은 쪽이 executor 에 드레인을 맡기고 바로 돌아간다.
+ *   드레인은 maxBatch 건마다 executor 에 다시 맡겨 한 레인이 스레드를 오래 붙잡지 않게 한다.
+ */
+public class UserSerialLanes {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSerialLanes.class);
+
+    public interface Task {
+        void run();
+
+        //executor 가 작업을 받지 않을 때
+        void reject(RuntimeException error);
+    }
+
+    private final ConcurrentHashMap<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final Executor executor;
+    private final int maxBatch;
+
+    public UserSerialLanes(Executor executor, int maxBatch) {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("maxBatch must be greater than 0");
+        }
+        this.executor = executor;
+        this.maxBatch = maxBatch;
+    }
+
+    public void execute(long userId, Task task) {
+        Lane[] started = new Lane[1];
+        lanes.compute(userId, (id, lane) -> {
+            if (lane == null) {
+                lane = new Lane(id);
+            }
+            lane.queue.offer(task);
+            if (lane.pending++ == 0) {
+                started[0] = lane;
+            }
+            return lane;
+        });
+        //빈 레인에 넣은 쪽이 드레인을 맡긴다 (compute 밖에서)
+        if (started[0] != null) {
+            started[0].schedule();
+        }
+    }
+
+    //아직 실행되지 않은 작업 수
+    public long pending() {
+        long pending = 0L;
+        for (Lane lane : lanes.values()) {
+            pending += lane.pending;
+        }
+        return pending;
+    }
+
+    //작업이 남아 있는 유저 수
+    public int activeLanes() {
+        return lanes.size();
+    }
+
+    private final class Lane implements Runnable {
+
+        private final long userId;
+        //queue 와 pending 은 compute 안에서 넣고, 꺼내는 것은 드레인 하나만 한다
+        private final Queue<Task> queue = new ArrayDeque<>();
+        //넣은 작업 수 - 끝낸 작업 수, 0 에서 1 로 올린 쪽이 드레인을 맡긴다
+        private volatile int pending;
+
+        Lane(long userId) {
+            this.userId = userId;
+        }
+
+        private void schedule() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                rejectAll(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            for (int done = 1; ; done++) {
+                Task task = poll();
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.warn("User lane task failed", e);
+                }
+                if (!finish()) {
+                    return;
+                }
+                if (done == maxBatch) {
+                    schedule();
+                    return;
+                }
+            }
+        }
+
+        //pending 을 올리기 전에 큐에 넣으므로 pending 이 남아 있는 동안 null 이 아니다
+        private Task poll() {
+            Task[] polled = new Task[1];
+            lanes.computeIfPresent(userId, (id, lane) -> {
+                polled[0] = lane.queue.poll();
+                return lane;
+            });
+            return polled[0];
+        }
+
+        //작업 하나를 끝낸다, 남은 작업이 있으면 true 이고 없으면 레인을 지운다
+        private boolean finish() {
+            boolean[] more = new boolean[1];
+            lanes.computeIfPresent(userId, (id, lane) -> {
+                if (--lane.pending == 0) {
+                    return null;
+                }
+                more[0] = true;
+                return lane;
+            });
+            return more[0];
+        }
+
+        private void rejectAll(RejectedExecutionException error) {
+            do {
+                poll().reject(error);
+            } while (finish());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package io.hhplus.tdd.exception;
+
+/**
+ * 요청 처리 기한 안에 락을 얻지 못했거나 저장소 호출을 마치지 못한 경우 발생한다.
+ * 이 예외가 발생한 요청은 포인트/내역을 하나도 기록하지 않은 상태로 취소된다.
+ */
+public class PointTimeoutException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String stage;
+
+    public PointTimeoutException(String stage) {
+        super("Point operation timed out before " + stage);
+        this.stage = stage;
+    }
+
+    public String getStage() {
+        return stage;
+    }
+}
@@ -0,0 +1,129 @@
+package io.hhplus.tdd.expire;
+
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 충전된 포인트의 만료 시각을 추적한다.
+ * - 충전 한 건이 만료 단위(lot) 하나가 되고, 사용/만료는 오래된 lot 부터 차감한다.
+ * - lot 마다 타이밍 휠에 타이머를 걸고, 사용으로 다 쓴 lot 의 타이머는 바로 취소한다.
+ * - onCharge/onUse/expiredAmount/onExpire 는 해당 유저의 락 안에서만 호출한다.
+ */
+public class PointExpiryTracker {
+
+    private static final class Lot {
+        final long userId;
+        final long expiresAtMillis;
+        long remaining;
+        TimingWheel.Timeout<Lot> timeout;
+
+        Lot(long userId, long remaining, long expiresAtMillis) {
+            this.userId = userId;
+            this.remaining = remaining;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    private final long expireAfterMillis;
+    private final TimingWheel<Lot> wheel;
+    private final ConcurrentHashMap<Long, ArrayDeque<Lot>> lots = new ConcurrentHashMap<>();
+    private final AtomicLong expiredPoints = new AtomicLong();
+
+    //expireAfterMillis 가 0 이하이면 만료를 추적하지 않는다
+    public PointExpiryTracker(long expireAfterMillis, long tickMillis, long startMillis) {
+        this.expireAfterMillis = expireAfterMillis;
+        this.wheel = new TimingWheel<>(tickMillis, startMillis);
+    }
+
+    public static PointExpiryTracker disabled() {
+        return new PointExpiryTracker(0L, 1_000L, 0L);
+    }
+
+    public boolean isEnabled() {
+        return expireAfterMillis > 0;
+    }
+
+    public void onCharge(long userId, long amount, long chargedMillis) {
+        if (!isEnabled()) {
+            return;
+        }
+        Lot lot = new Lot(userId, amount, chargedMillis + expireAfterMillis);
+        lot.timeout = wheel.schedule(lot, lot.expiresAtMillis);
+        lots.computeIfAbsent(userId, id -> new ArrayDeque<>()).addLast(lot);
+    }
+
+    //오래된 lot 부터 차감한다
+    public void onUse(long userId, long amount) {
+        ArrayDeque<Lot> userLots = lots.get(userId);
+        if (userLots == null) {
+            return;
+        }
+        long left = amount;
+        while (left > 0 && !userLots.isEmpty()) {
+            Lot lot = userLots.peekFirst();
+            long taken = Math.min(left, lot.remaining);
+            lot.remaining -= taken;
+            left -= taken;
+            if (lot.remaining == 0) {
+                userLots.pollFirst();
+                wheel.cancel(lot.timeout);
+            }
+        }
+        removeIfEmpty(userId, userLots);
+    }
+
+    //nowMillis 기준으로 만료된 lot 의 남은 포인트 합
+    public long expiredAmount(long userId, long nowMillis) {
+        ArrayDeque<Lot> userLots = lots.get(userId);
+        if (userLots == null) {
+            return 0L;
+        }
+        long amount = 0L;
+        for (Lot lot : userLots) {
+            if (lot.expiresAtMillis > nowMillis) {
+                break;
+            }
+            amount += lot.remaining;
+        }
+        return amount;
+    }
+
+    //만료 차감이 기록된 뒤 nowMillis 기준으로 만료된 lot 을 모두 버린다
+    public void onExpire(long userId, long nowMillis, long expiredAmount) {
+        ArrayDeque<Lot> userLots = lots.get(userId);
+        if (userLots == null) {
+            return;
+        }
+        while (!userLots.isEmpty() && userLots.peekFirst().expiresAtMillis <= nowMillis) {
+            wheel.cancel(userLots.pollFirst().timeout);
+        }
+        expiredPoints.addAndGet(expiredAmount);
+        removeIfEmpty(userId, userLots);
+    }
+
+    //만료 차감에 실패한 유저를 atMillis 에 다시 모으도록 빈 타이머를 건다
+    public void retry(long userId, long atMillis) {
+        wheel.schedule(new Lot(userId, 0L, atMillis), atMillis);
+    }
+
+    //nowMillis 까지 휠을 돌려 만료 차감이 필요한 유저를 모은다
+    public void advance(long nowMillis, Set<Long> expiredUsers) {
+        wheel.advance(nowMillis, lot -> expiredUsers.add(lot.userId));
+    }
+
+    public int pendingLots() {
+        return wheel.size();
+    }
+
+    public long expiredPoints() {
+        return expiredPoints.get();
+    }
+
+    private void removeIfEmpty(long userId, ArrayDeque<Lot> userLots) {
+        if (userLots.isEmpty()) {
+            lots.remove(userId, userLots);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package io.hhplus.tdd.expire;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 계층형 타이밍 휠
+ * - 레벨마다 64칸이고, 레벨 k 의 한 칸은 64^k 틱을 덮는다. 5 레벨이면 64^5 틱(MAX_TICKS)까지 담는다.
+ *   그보다 먼 타이머도 최상위 레벨에 두었다가 칸이 돌아올 때마다 다시 나눠 담으므로 잃어버리지 않는다.
+ * - 등록/취소는 칸의 이중 연결 리스트에 붙이고 떼는 것이라 타이머 수와 무관하게 O(1) 이다.
+ * - 한 틱 진행할 때 상위 레벨 칸이 바뀌는 순간에만 그 칸의 타이머를 아래 레벨로 다시 나눠 담는다.
+ */
+public class TimingWheel<T> {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 5;
+
+    //한 번에 정확히 담을 수 있는 최대 틱 수 (64^5)
+    public static final long MAX_TICKS = 1L << (LEVELS * WHEEL_BITS);
+
+    public static final class Timeout<T> {
+        private final T payload;
+        private final long expiryTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private boolean linked;
+
+        private Timeout(T payload, long expiryTick) {
+            this.payload = payload;
+            this.expiryTick = expiryTick;
+        }
+
+        public T payload() {
+            return payload;
+        }
+    }
+
+    private final long tickMillis;
+    private final long startMillis;
+    //칸마다 빈 머리 노드를 둔 원형 리스트
+    private final Timeout<T>[] buckets;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be greater than 0");
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.buckets = (Timeout<T>[]) new Timeout<?>[LEVELS * WHEEL_SIZE];
+        for (int i = 0; i < buckets.length; i++) {
+            Timeout<T> head = new Timeout<>(null, 0L);
+            head.prev = head;
+            head.next = head;
+            buckets[i] = head;
+        }
+    }
+
+    //expireAtMillis 이후 처음 오는 틱에 만료된다
+    public synchronized Timeout<T> schedule(T payload, long expireAtMillis) {
+        //이미 지난 시각은 다음 틱에 만료시킨다
+        long expiryTick = Math.max(currentTick + 1,
+                Math.floorDiv(expireAtMillis - startMillis + tickMillis - 1, tickMillis));
+        Timeout<T> timeout = new Timeout<>(payload, expiryTick);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    //이미 만료되었거나 취소된 타이머면 false
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (!timeout.linked) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    //nowMillis 까지 틱을 진행하며 만료된 타이머를 expired 에 넘긴다
+    public synchronized void advance(long nowMillis, Consumer<T> expired) {
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = LEVELS - 1; level >= 1; level--) {
+                int shift = level * WHEEL_BITS;
+                if ((currentTick & ((1L << shift) - 1)) == 0) {
+                    cascade(level, (int) ((currentTick >>> shift) & WHEEL_MASK));
+                }
+            }
+            Timeout<T> head = buckets[(int) (currentTick & WHEEL_MASK)];
+            while (head.next != head) {
+                Timeout<T> timeout = head.next;
+                unlink(timeout);
+                size--;
+                expired.accept(timeout.payload);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    //범위를 넘는 타이머는 같은 칸에 다시 담기므로, 칸을 먼저 비운 뒤 나눠 담는다
+    private void cascade(int level, int slot) {
+        Timeout<T> head = buckets[level * WHEEL_SIZE + slot];
+        List<Timeout<T>> drained = new ArrayList<>();
+        while (head.next != head) {
+            Timeout<T> timeout = head.next;
+            unlink(timeout);
+            drained.add(timeout);
+        }
+        for (Timeout<T> timeout : drained) {
+            place(timeout);
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        //상위 레벨에서 내려온 타이머는 delta 가 0 일 수 있고, 이번 틱의 0 레벨 칸에 들어가 바로 만료된다
+        long delta = timeout.expiryTick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && (delta >>> ((level + 1) * WHEEL_BITS)) != 0) {
+            level++;
+        }
+        //가장 먼 범위를 넘는 타이머는 최상위 레벨에 두고 내려올 때 다시 나눈다
+        int index = level * WHEEL_SIZE + (int) ((timeout.expiryTick >>> (level * WHEEL_BITS)) & WHEEL_MASK);
+        Timeout<T> head = buckets[index];
+        timeout.prev = head.prev;
+        timeout.next = head;
+        head.prev.next = timeout;
+        head.prev = timeout;
+        timeout.linked = true;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.linked = false;
+    }
+}
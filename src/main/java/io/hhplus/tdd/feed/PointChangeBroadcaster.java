@@ -0,0 +1,170 @@
+package io.hhplus.tdd.feed;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 피드를 SSE 구독자에게 전달한다.
+ * - 전용 스레드 하나가 주기적으로 구독자마다 읽을 이벤트가 있는지만 확인하고, 실제 전송은 sender 스레드에 맡긴다.
+ *   구독자 하나에는 전송 작업이 한 번에 하나만 돌고, 한 번에 maxBatchesPerPass 배치까지만 보낸 뒤 다른 구독자에게 차례를 넘긴다.
+ * - 구독자마다 피드 버퍼가 곧 크기가 정해진 대기열이다. 전송이 막힌 구독자는 cursor 가 멈춰 뒤처지고,
+ *   최대 지연(maxLag)보다 뒤처지거나 읽을 이벤트가 덮어써지면 그 구독자만 "overrun" 이벤트를 보내고 끊는다.
+ *   클라이언트는 받은 마지막 id 로 다시 연결하거나 포인트를 새로 조회해 맞춘다.
+ * - 응답하지 않는 클라이언트는 컨테이너 쓰기 타임아웃까지 sender 스레드 하나를 잡고 있으므로,
+ *   sender 스레드 수만큼의 클라이언트가 동시에 멈추기 전까지 다른 구독자는 영향을 받지 않는다.
+ */
+public class PointChangeBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(PointChangeBroadcaster.class);
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final Long userId;
+        //전송 작업이 하나만 돌도록 한다, cursor/buffer 는 그 작업만 쓴다
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        final List<PointChangeEvent> buffer = new ArrayList<>();
+        volatile long cursor;
+        volatile boolean overrun;
+
+        Subscriber(SseEmitter emitter, Long userId, long cursor) {
+            this.emitter = emitter;
+            this.userId = userId;
+            this.cursor = cursor;
+        }
+    }
+
+    private final PointChangeFeed feed;
+    private final ScheduledExecutorService dispatcher;
+    private final ExecutorService sender;
+    private final int batchSize;
+    private final int maxBatchesPerPass;
+    private final long maxLag;
+    private final long emitterTimeoutMillis;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    public PointChangeBroadcaster(PointChangeFeed feed, ScheduledExecutorService dispatcher, ExecutorService sender,
+                                  int batchSize, int maxBatchesPerPass, long maxLag, long pollMillis,
+                                  long emitterTimeoutMillis) {
+        if (batchSize <= 0 || maxBatchesPerPass <= 0) {
+            throw new IllegalArgumentException("batchSize and maxBatchesPerPass must be greater than 0");
+        }
+        this.feed = feed;
+        this.dispatcher = dispatcher;
+        this.sender = sender;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPass = maxBatchesPerPass;
+        this.maxLag = maxLag > 0 ? Math.min(maxLag, feed.capacity()) : feed.capacity();
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        dispatcher.scheduleWithFixedDelay(this::dispatch, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * from 이 없으면 지금 이후의 이벤트부터 받는다.
+     * userId 를 주면 해당 유저의 이벤트만 받는다.
+     */
+    public SseEmitter subscribe(Long from, Long userId) {
+        return subscribe(new SseEmitter(emitterTimeoutMillis), from, userId);
+    }
+
+    //이미 만든 emitter 로 구독한다
+    public SseEmitter subscribe(SseEmitter emitter, Long from, Long userId) {
+        Subscriber subscriber = new Subscriber(emitter, userId, from != null ? from : feed.nextOffset());
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    //emitter 는 건드리지 않으므로 전송이 막힌 구독자가 있어도 멈추지 않는다
+    void dispatch() {
+        long next = feed.nextOffset();
+        for (Subscriber subscriber : subscribers) {
+            //끊는 것도 전송 작업이 한다 (전송 중인 작업이 끝나면 다음 dispatch 가 맡긴다)
+            if (next - subscriber.cursor > maxLag) {
+                subscriber.overrun = true;
+            }
+            if ((subscriber.overrun || subscriber.cursor < next) && subscriber.scheduled.compareAndSet(false, true)) {
+                try {
+                    sender.execute(() -> send(subscriber));
+                } catch (RejectedExecutionException e) {
+                    subscriber.scheduled.set(false);
+                }
+            }
+        }
+    }
+
+    private void send(Subscriber subscriber) {
+        try {
+            if (subscriber.overrun) {
+                drop(subscriber);
+                return;
+            }
+            deliver(subscriber);
+        } catch (IOException | IllegalStateException e) {
+            //연결이 끊긴 구독자
+            subscribers.remove(subscriber);
+        } catch (RuntimeException e) {
+            log.warn("Failed to deliver point changes", e);
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+    }
+
+    private void deliver(Subscriber subscriber) throws IOException {
+        List<PointChangeEvent> events = subscriber.buffer;
+        for (int batch = 0; batch < maxBatchesPerPass; batch++) {
+            events.clear();
+            int count = feed.drain(subscriber.cursor, batchSize, events);
+            if (count == PointChangeFeed.OVERRUN) {
+                drop(subscriber);
+                return;
+            }
+            if (count == 0) {
+                return;
+            }
+            for (PointChangeEvent event : events) {
+                if (subscriber.userId == null || subscriber.userId == event.userId()) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(Long.toString(event.offset()))
+                            .name("point-change")
+                            .data(event));
+                }
+            }
+            subscriber.cursor += count;
+        }
+    }
+
+    private void drop(Subscriber subscriber) throws IOException {
+        subscribers.remove(subscriber);
+        subscriber.emitter.send(SseEmitter.event()
+                .name("overrun")
+                .data(Map.of("cursor", subscriber.cursor, "oldestOffset", feed.oldestOffset())));
+        subscriber.emitter.complete();
+    }
+}
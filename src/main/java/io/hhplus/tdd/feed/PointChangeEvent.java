@@ -0,0 +1,16 @@
+package io.hhplus.tdd.feed;
+
+/**
+ * 포인트 변경 이벤트
+ * - offset : 피드 안에서의 순번 (SSE 이벤트 id)
+ * - delta  : 충전은 양수, 사용은 음수
+ */
+public record PointChangeEvent(
+        long offset,
+        long userId,
+        long delta,
+        long newBalance,
+        long historyId,
+        long updateMillis
+) {
+}
@@ -0,0 +1,70 @@
+package io.hhplus.tdd.feed;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 포인트 변경 이벤트를 담는 고정 크기 브로드캐스트 버퍼
+ * - 쓰기는 순번을 하나 받아 자리에 이벤트를 넣고 끝나므로 구독자가 느려도 기다리지 않는다.
+ * - 버퍼가 한 바퀴 돌면 가장 오래된 이벤트부터 덮어쓴다.
+ * - 구독자는 각자 읽을 위치(cursor)를 들고 읽으며, 읽으려던 자리가 덮어써졌으면 뒤처진 것으로 본다.
+ */
+public class PointChangeFeed {
+
+    //drain 결과: 읽으려던 이벤트가 이미 덮어써졌음
+    public static final int OVERRUN = -1;
+
+    private final AtomicReferenceArray<PointChangeEvent> slots;
+    private final int mask;
+    private final AtomicLong nextOffset = new AtomicLong();
+
+    public PointChangeFeed(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Feed capacity must be a power of 2: " + capacity);
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    public long publish(long userId, long delta, long newBalance, long historyId, long updateMillis) {
+        long offset = nextOffset.getAndIncrement();
+        slots.set((int) (offset & mask), new PointChangeEvent(offset, userId, delta, newBalance, historyId, updateMillis));
+        return offset;
+    }
+
+    /**
+     * cursor 부터 최대 max 개의 이벤트를 out 에 담는다.
+     * 아직 쓰는 중인 자리를 만나면 거기서 멈추고, 덮어써진 자리를 만나면 OVERRUN 을 돌려준다.
+     */
+    public int drain(long cursor, int max, List<PointChangeEvent> out) {
+        int count = 0;
+        long end = Math.min(nextOffset.get(), cursor + max);
+        for (long offset = cursor; offset < end; offset++) {
+            PointChangeEvent event = slots.get((int) (offset & mask));
+            if (event == null || event.offset() < offset) {
+                break;
+            }
+            if (event.offset() > offset) {
+                return OVERRUN;
+            }
+            out.add(event);
+            count++;
+        }
+        return count;
+    }
+
+    //다음에 발행될 이벤트의 순번
+    public long nextOffset() {
+        return nextOffset.get();
+    }
+
+    //아직 버퍼에 남아 있는 가장 오래된 순번
+    public long oldestOffset() {
+        return Math.max(0L, nextOffset.get() - capacity());
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
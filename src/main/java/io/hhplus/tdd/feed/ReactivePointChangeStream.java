@@ -0,0 +1,83 @@
+package io.hhplus.tdd.feed;
+
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 포인트 변경 피드의 reactive 구독 (PointChangeBroadcaster 의 WebFlux 버전)
+ * - 구독자마다 pollMillis 마다 cursor 부터 batchSize 건씩 읽는다.
+ *   이전 배치를 클라이언트가 다 받기 전에는 다음 배치를 읽지 않으므로, 느린 구독자를 위해 따로 쌓아 두는 버퍼가 없다.
+ * - 최대 지연(maxLag)보다 뒤처졌거나 읽을 이벤트가 덮어써진 구독자는 "overrun" 이벤트를 보내고 끝낸다.
+ */
+public class ReactivePointChangeStream {
+
+    private final PointChangeFeed feed;
+    private final int batchSize;
+    private final long maxLag;
+    private final Duration pollInterval;
+
+    public ReactivePointChangeStream(PointChangeFeed feed, int batchSize, long maxLag, long pollMillis) {
+        this.feed = feed;
+        this.batchSize = batchSize;
+        this.maxLag = maxLag > 0 ? Math.min(maxLag, feed.capacity()) : feed.capacity();
+        this.pollInterval = Duration.ofMillis(pollMillis);
+    }
+
+    private static final class Cursor {
+        long offset;
+        boolean overrun;
+
+        Cursor(long offset) {
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * from 이 없으면 지금 이후의 이벤트부터 받는다.
+     * userId 를 주면 해당 유저의 이벤트만 받는다.
+     */
+    public Flux<ServerSentEvent<Object>> subscribe(Long from, Long userId) {
+        return Flux.defer(() -> {
+            Cursor cursor = new Cursor(from != null ? from : feed.nextOffset());
+            return Flux.interval(Duration.ZERO, pollInterval)
+                    //앞 배치를 보내는 중에 온 tick 은 버린다 (다음 tick 에 이어서 읽는다)
+                    .onBackpressureDrop()
+                    .concatMap(tick -> poll(cursor, userId), 1)
+                    .takeUntil(event -> cursor.overrun);
+        });
+    }
+
+    private Flux<ServerSentEvent<Object>> poll(Cursor cursor, Long userId) {
+        if (feed.nextOffset() - cursor.offset > maxLag) {
+            return Flux.just(overrun(cursor));
+        }
+        List<PointChangeEvent> events = new ArrayList<>(batchSize);
+        int count = feed.drain(cursor.offset, batchSize, events);
+        if (count == PointChangeFeed.OVERRUN) {
+            return Flux.just(overrun(cursor));
+        }
+        cursor.offset += count;
+        List<ServerSentEvent<Object>> out = new ArrayList<>(events.size());
+        for (PointChangeEvent event : events) {
+            if (userId == null || userId == event.userId()) {
+                out.add(ServerSentEvent.builder((Object) event)
+                        .id(Long.toString(event.offset()))
+                        .event("point-change")
+                        .build());
+            }
+        }
+        return Flux.fromIterable(out);
+    }
+
+    private ServerSentEvent<Object> overrun(Cursor cursor) {
+        cursor.overrun = true;
+        return ServerSentEvent.builder((Object) Map.of("cursor", cursor.offset, "oldestOffset", feed.oldestOffset()))
+                .event("overrun")
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package io.hhplus.tdd.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /actuator/jfr
+ * - GET           : 녹화 목록
+ * - POST          : 포인트/Table 이벤트 녹화 시작 (thresholdMillis 이상 걸린 건만, jdkSettings 로 JDK 기본 이벤트 함께)
+ * - POST /{id}    : 녹화 중지 (데이터는 남는다)
+ * - GET /{id}     : 지금까지 녹화된 내용을 .jfr 파일로 내려받기
+ * - DELETE /{id}  : 녹화 삭제
+ * 기본 노출에서는 빠져 있고, ops 프로필(application-ops.yml)로 관리 포트에만 연다.
+ */
+@Endpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+
+    @ReadOperation
+    public List<Map<String, Object>> recordings() {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream().map(FlightRecorderEndpoint::describe).toList();
+    }
+
+    @WriteOperation
+    public Map<String, Object> start(@Nullable String name, @Nullable Long thresholdMillis,
+                                     @Nullable Long maxAgeSeconds, @Nullable String jdkSettings) {
+        Recording recording = jdkSettings != null ? new Recording(configuration(jdkSettings)) : new Recording();
+        recording.setName(name != null ? name : "point");
+        Duration threshold = Duration.ofMillis(thresholdMillis != null ? thresholdMillis : 0L);
+        recording.enable(PointOperationEvent.class).withThreshold(threshold);
+        recording.enable(TableCallEvent.class).withThreshold(threshold);
+        recording.setMaxAge(Duration.ofSeconds(maxAgeSeconds != null ? maxAgeSeconds : 600L));
+        recording.setToDisk(true);
+        recording.start();
+        return describe(recording);
+    }
+
+    @WriteOperation
+    public Map<String, Object> stop(@Selector long id) {
+        Recording recording = find(id);
+        recording.stop();
+        return describe(recording);
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Selector long id) {
+        try {
+            Path file = Files.createTempFile("point-" + id + "-", ".jfr");
+            find(id).dump(file);
+            file.toFile().deleteOnExit();
+            return new WebEndpointResponse<>(new FileSystemResource(file), 200);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DeleteOperation
+    public void close(@Selector long id) {
+        find(id).close();
+    }
+
+    private static Recording find(long id) {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(recording -> recording.getId() == id)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No recording: " + id));
+    }
+
+    private static Configuration configuration(String name) {
+        try {
+            return Configuration.getConfiguration(name);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR configuration: " + name, e);
+        }
+    }
+
+    private static Map<String, Object> describe(Recording recording) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("id", recording.getId());
+        description.put("name", recording.getName());
+        description.put("state", recording.getState().name());
+        description.put("size", recording.getSize());
+        description.put("startTime", recording.getStartTime() != null ? recording.getStartTime().toString() : null);
+        return description;
+    }
+}
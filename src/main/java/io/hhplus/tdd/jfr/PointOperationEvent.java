@@ -0,0 +1,80 @@
+package io.hhplus.tdd.jfr;
+
+import io.hhplus.tdd.point.TransactionType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 포인트 충전/사용/만료 한 건 (락 대기 + 락 보유 구간)
+ * 녹화 중이 아니면 isEnabled() 가 false 라 시각을 재지 않고, 객체도 JIT 가 스칼라로 치환한다.
+ */
+@Name("io.hhplus.tdd.PointOperation")
+@Label("Point Operation")
+@Category({"hhplus", "Point"})
+@Description("processUserPoint 한 건의 락 대기/보유 시간과 결과")
+@StackTrace(false)
+public class PointOperationEvent extends Event {
+
+    @Label("User Id")
+    long userId;
+
+    @Label("Type")
+    String type;
+
+    @Label("Amount")
+    long amount;
+
+    @Label("Lock Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    long lockWaitNanos;
+
+    @Label("Lock Hold")
+    @Timespan(Timespan.NANOSECONDS)
+    long holdNanos;
+
+    //OK, INSUFFICIENT, TIMEOUT, ERROR
+    @Label("Outcome")
+    String outcome;
+
+    private transient long startNanos;
+    private transient long acquiredNanos;
+
+    public static PointOperationEvent start(long userId, TransactionType type, long amount) {
+        PointOperationEvent event = new PointOperationEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            event.userId = userId;
+            event.type = type.name();
+            event.amount = amount;
+            event.startNanos = System.nanoTime();
+        }
+        return event;
+    }
+
+    public void lockAcquired() {
+        if (isEnabled()) {
+            acquiredNanos = System.nanoTime();
+        }
+    }
+
+    public void finish(String outcome) {
+        if (!isEnabled()) {
+            return;
+        }
+        end();
+        if (shouldCommit()) {
+            long now = System.nanoTime();
+            //락을 얻지 못했으면 전체가 대기 시간이다
+            long acquired = acquiredNanos != 0L ? acquiredNanos : now;
+            this.lockWaitNanos = acquired - startNanos;
+            this.holdNanos = now - acquired;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
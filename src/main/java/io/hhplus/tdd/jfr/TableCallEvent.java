@@ -0,0 +1,54 @@
+package io.hhplus.tdd.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * UserPointTable / PointHistoryTable 호출 한 건
+ * selectAllByUserId 는 돌려준 내역 수를 rows 에 담는다 (나머지는 -1).
+ */
+@Name("io.hhplus.tdd.TableCall")
+@Label("Table Call")
+@Category({"hhplus", "Table"})
+@Description("Table 호출 한 건의 소요 시간과 조회 크기")
+@StackTrace(false)
+public class TableCallEvent extends Event {
+
+    @Label("Table")
+    String table;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("User Id")
+    long userId;
+
+    @Label("Rows")
+    int rows;
+
+    public static TableCallEvent start(String table, String operation, long userId) {
+        TableCallEvent event = new TableCallEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            event.table = table;
+            event.operation = operation;
+            event.userId = userId;
+        }
+        return event;
+    }
+
+    public void finish(int rows) {
+        if (!isEnabled()) {
+            return;
+        }
+        end();
+        if (shouldCommit()) {
+            this.rows = rows;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 순위 (1위부터)
+ */
+public record LeaderboardEntry(
+        long rank,
+        long userId,
+        long point
+) {
+}
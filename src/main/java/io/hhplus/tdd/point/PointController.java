@@ -1,34 +1,125 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.feed.PointChangeBroadcaster;
+import io.hhplus.tdd.service.PointHistoryAuditService;
 import io.hhplus.tdd.service.PointHistoryService;
+import io.hhplus.tdd.service.UserPointRankService;
 import io.hhplus.tdd.service.UserPointService;
+import io.hhplus.tdd.service.UserPointVersionService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Optional;
 
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/point")
+@Profile("!reactive")
 public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
     private final PointHistoryService pointHistoryService;
     private final UserPointService userPointService;
+    private final PointChangeBroadcaster pointChangeBroadcaster;
+    //lock 엔진에서만 있다
+    private final Optional<UserPointVersionService> userPointVersionService;
+    private final Optional<UserPointRankService> userPointRankService;
+    private final Optional<PointHistoryAuditService> pointHistoryAuditService;
 
     /**
      * TODO - 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
+     * asOf(epoch millis)를 주면 그 시점의 포인트를 조회한다. (보관 기간보다 오래된 시점이면 400, lock 엔진이 아니면 501)
      */
     @GetMapping("{id}")
     public UserPoint point(
-            @PathVariable long id
+            @PathVariable long id,
+            @RequestParam(required = false) Long asOf
     ) {
+        if (asOf != null) {
+            UserPointVersionService versionService = userPointVersionService.orElseThrow(() -> notSupported("asOf"));
+            try {
+                return versionService.selectDetailUserPointAsOf(id, asOf);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+            }
+        }
         UserPoint userPointDetail = userPointService.selectDetailUserPoint(id);
         return userPointDetail ;
     }
 
+    /**
+     * 여러 유저의 포인트를 한 번에 조회한다. (중복 id 는 한 번만, 요청 순서대로)
+     */
+    @PostMapping("balances")
+    public List<UserPoint> balances(
+            @RequestBody List<Long> ids
+    ) {
+        try {
+            return userPointService.selectDetailUserPoints(ids);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 포인트 상위 limit 명 (기본 100명, 범위를 벗어난 limit 은 400, lock 엔진이 아니면 501)
+     */
+    @GetMapping("leaderboard")
+    public List<LeaderboardEntry> leaderboard(
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        UserPointRankService rankService = userPointRankService.orElseThrow(() -> notSupported("Leaderboard"));
+        try {
+            return rankService.selectTopUserPoints(limit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 특정 유저의 포인트 순위 (포인트가 기록된 적 없으면 rank 0, lock 엔진이 아니면 501)
+     */
+    @GetMapping("{id}/rank")
+    public LeaderboardEntry rank(
+            @PathVariable long id
+    ) {
+        return userPointRankService.orElseThrow(() -> notSupported("Leaderboard")).selectUserPointRank(id);
+    }
+
+    /**
+     * 이 노드의 순위표에서 (point, userId) 보다 앞서는 유저 수
+     * 클러스터에서 노드별 값을 더해 전체 순위를 구할 때 쓴다.
+     */
+    @GetMapping("leaderboard/ahead")
+    public long leaderboardAhead(
+            @RequestParam long point,
+            @RequestParam long userId
+    ) {
+        return userPointRankService.orElseThrow(() -> notSupported("Leaderboard")).countUserPointsAhead(point, userId);
+    }
+
+    /**
+     * 포인트 변경 피드 (SSE)
+     * from 또는 Last-Event-ID 다음 순번부터 이어 받고, 둘 다 없으면 지금 이후의 변경부터 받는다.
+     */
+    @GetMapping(value = "changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        Long cursor = from != null ? from : lastEventId != null ? lastEventId + 1 : null;
+        return pointChangeBroadcaster.subscribe(cursor, userId);
+    }
+
     /**
      * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
      */
@@ -40,6 +131,27 @@ public class PointController {
         return listPointHisotryDetail;
     }
 
+    /**
+     * 기록 시각 [from, to) 구간의 전체 유저 내역 (epoch millis, 기록 시각 순)
+     * type 으로 거래 종류를 거르고, 응답의 nextCursor 를 cursor 로 넘기면 다음 페이지를 받는다.
+     * 최근 point.audit.settle-millis 안의 구간은 다음 페이지로 미룬다. (잘못된 cursor/limit 은 400, lock 엔진이 아니면 501)
+     */
+    @GetMapping("audit/histories")
+    public PointHistoryPage auditHistories(
+            @RequestParam long from,
+            @RequestParam long to,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "1000") int limit
+    ) {
+        PointHistoryAuditService auditService = pointHistoryAuditService.orElseThrow(() -> notSupported("Audit query"));
+        try {
+            return auditService.selectPointHistoriesBetween(from, to, type, cursor, limit);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
      */
@@ -63,6 +175,8 @@ public class PointController {
 
     }
 
-
-
+    //설정된 엔진(point.engine.mode)이 지원하지 않는 기능
+    private static ResponseStatusException notSupported(String feature) {
+        return new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED, feature + " is not supported by this point engine");
+    }
 }
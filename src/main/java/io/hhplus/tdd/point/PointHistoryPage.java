@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 기록 시각 순 내역 한 페이지
+ * nextCursor 를 다음 요청의 cursor 로 넘기면 이어서 읽고, null 이면 마지막 페이지다.
+ */
+public record PointHistoryPage(
+        List<PointHistory> histories,
+        String nextCursor
+) {
+}
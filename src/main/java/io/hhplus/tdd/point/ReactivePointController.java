@@ -0,0 +1,157 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.feed.ReactivePointChangeStream;
+import io.hhplus.tdd.service.ReactivePointHistoryService;
+import io.hhplus.tdd.service.ReactiveUserPointService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * PointController 의 WebFlux 버전 (reactive 프로필)
+ * 요청/응답 형식은 PointController 와 같다.
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/point")
+@Profile("reactive")
+public class ReactivePointController {
+
+    private final ReactivePointHistoryService reactivePointHistoryService;
+    private final ReactiveUserPointService reactiveUserPointService;
+    private final ReactivePointChangeStream reactivePointChangeStream;
+
+    /**
+     * 특정 유저의 포인트를 조회한다.
+     * asOf(epoch millis)를 주면 그 시점의 포인트를 조회한다. (보관 기간보다 오래된 시점이면 400, lock 엔진이 아니면 501)
+     */
+    @GetMapping("{id}")
+    public Mono<UserPoint> point(
+            @PathVariable long id,
+            @RequestParam(required = false) Long asOf
+    ) {
+        if (asOf != null) {
+            return reactiveUserPointService.selectDetailUserPointAsOf(id, asOf)
+                    .onErrorMap(IllegalArgumentException.class,
+                            e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e));
+        }
+        return reactiveUserPointService.selectDetailUserPoint(id);
+    }
+
+    /**
+     * 여러 유저의 포인트를 한 번에 조회한다. (중복 id 는 한 번만, 요청 순서대로)
+     */
+    @PostMapping("balances")
+    public Flux<UserPoint> balances(
+            @RequestBody List<Long> ids
+    ) {
+        return reactiveUserPointService.selectDetailUserPoints(ids)
+                .onErrorMap(IllegalArgumentException.class,
+                        e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e));
+    }
+
+    /**
+     * 포인트 상위 limit 명 (기본 100명, 범위를 벗어난 limit 은 400, lock 엔진이 아니면 501)
+     */
+    @GetMapping("leaderboard")
+    public Flux<LeaderboardEntry> leaderboard(
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        return reactiveUserPointService.selectTopUserPoints(limit)
+                .onErrorMap(IllegalArgumentException.class,
+                        e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e));
+    }
+
+    /**
+     * 특정 유저의 포인트 순위 (포인트가 기록된 적 없으면 rank 0, lock 엔진이 아니면 501)
+     */
+    @GetMapping("{id}/rank")
+    public Mono<LeaderboardEntry> rank(
+            @PathVariable long id
+    ) {
+        return reactiveUserPointService.selectUserPointRank(id);
+    }
+
+    /**
+     * 이 노드의 순위표에서 (point, userId) 보다 앞서는 유저 수
+     */
+    @GetMapping("leaderboard/ahead")
+    public Mono<Long> leaderboardAhead(
+            @RequestParam long point,
+            @RequestParam long userId
+    ) {
+        return reactiveUserPointService.countUserPointsAhead(point, userId);
+    }
+
+    /**
+     * 포인트 변경 피드 (SSE)
+     * from 또는 Last-Event-ID 다음 순번부터 이어 받고, 둘 다 없으면 지금 이후의 변경부터 받는다.
+     */
+    @GetMapping(value = "changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> changes(
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long userId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+    ) {
+        Long cursor = from != null ? from : lastEventId != null ? lastEventId + 1 : null;
+        return reactivePointChangeStream.subscribe(cursor, userId);
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역
+     * Accept: application/x-ndjson 이면 한 줄에 한 건씩 흘려보내며, 느린 클라이언트는 받는 만큼만 보낸다.
+     */
+    @GetMapping(value = "{id}/histories", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<PointHistory> history(
+            @PathVariable long id
+    ) {
+        return reactivePointHistoryService.selectDetailPointHistory(id);
+    }
+
+    /**
+     * 기록 시각 [from, to) 구간의 전체 유저 내역 (epoch millis, 기록 시각 순)
+     * 응답의 nextCursor 를 cursor 로 넘기면 다음 페이지를 받는다. (잘못된 cursor/limit 은 400, lock 엔진이 아니면 501)
+     */
+    @GetMapping("audit/histories")
+    public Mono<PointHistoryPage> auditHistories(
+            @RequestParam long from,
+            @RequestParam long to,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "1000") int limit
+    ) {
+        return reactivePointHistoryService.selectPointHistoriesBetween(from, to, type, cursor, limit)
+                .onErrorMap(IllegalArgumentException.class,
+                        e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e));
+    }
+
+    /**
+     * 특정 유저의 포인트를 충전한다.
+     */
+    @PatchMapping("{id}/charge")
+    public Mono<UserPoint> charge(
+            @PathVariable long id,
+            @RequestBody long amount
+    ) {
+        return reactiveUserPointService.chargeUserPoint(id, amount);
+    }
+
+    /**
+     * 특정 유저의 포인트를 사용한다.
+     */
+    @PatchMapping("{id}/use")
+    public Mono<UserPoint> use(
+            @PathVariable long id,
+            @RequestBody long amount
+    ) {
+        return reactiveUserPointService.useUserPoint(id, amount);
+    }
+}
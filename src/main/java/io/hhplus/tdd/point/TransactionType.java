@@ -5,7 +5,13 @@ package io.hhplus.tdd.point;
  * 포인트 트랜잭션 종류
  * - CHARGE : 충전
  * - USE : 사용
+ * - EXPIRE : 유효기간이 지난 충전 포인트 차감 (사용과 같이 포인트가 줄어든다)
  */
 public enum TransactionType {
-    CHARGE, USE
-}
\ No newline at end of file
+    CHARGE, USE, EXPIRE;
+
+    //포인트에 더해지는 방향을 반영한 금액 (충전은 +, 사용/만료는 -)
+    public long signed(long amount) {
+        return this == CHARGE ? amount : -amount;
+    }
+}
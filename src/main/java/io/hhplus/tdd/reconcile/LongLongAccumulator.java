@@ -0,0 +1,95 @@
+package io.hhplus.tdd.reconcile;
+
+/**
+ * long userId -> long 합계 오픈 어드레싱 맵
+ * - 포크/조인 작업 하나가 자기 구간을 집계할 때 쓰고, 합칠 때만 다른 맵을 읽는다.
+ */
+final class LongLongAccumulator {
+
+    private long[] keys;
+    private long[] values;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    LongLongAccumulator(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(4, initialCapacity - 1)) << 1;
+        this.keys = new long[capacity];
+        this.values = new long[capacity];
+        this.used = new boolean[capacity];
+        this.mask = capacity - 1;
+    }
+
+    void add(long key, long delta) {
+        int i = index(key);
+        for (; used[i]; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                values[i] += delta;
+                return;
+            }
+        }
+        keys[i] = key;
+        values[i] = delta;
+        used[i] = true;
+        if (++size > (keys.length >> 1)) {
+            resize();
+        }
+    }
+
+    //작은 쪽을 큰 쪽에 합친다
+    LongLongAccumulator merge(LongLongAccumulator other) {
+        LongLongAccumulator target = size >= other.size ? this : other;
+        LongLongAccumulator source = target == this ? other : this;
+        for (int i = 0; i < source.keys.length; i++) {
+            if (source.used[i]) {
+                target.add(source.keys[i], source.values[i]);
+            }
+        }
+        return target;
+    }
+
+    int size() {
+        return size;
+    }
+
+    //keys/values 를 조밀한 배열로 꺼낸다
+    long[][] toArrays() {
+        long[] outKeys = new long[size];
+        long[] outValues = new long[size];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                outKeys[n] = keys[i];
+                outValues[n] = values[i];
+                n++;
+            }
+        }
+        return new long[][]{outKeys, outValues};
+    }
+
+    private int index(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        boolean[] oldUsed = used;
+        keys = new long[oldKeys.length << 1];
+        values = new long[oldKeys.length << 1];
+        used = new boolean[oldKeys.length << 1];
+        mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldUsed[j]) {
+                int i = index(oldKeys[j]);
+                while (used[i]) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+                used[i] = true;
+            }
+        }
+    }
+}
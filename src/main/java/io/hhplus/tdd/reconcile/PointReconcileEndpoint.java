@@ -0,0 +1,40 @@
+package io.hhplus.tdd.reconcile;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+
+import java.util.Map;
+
+/**
+ * /actuator/reconcile
+ * - GET  : 마지막 검사 결과
+ * - POST : 지금 검사를 실행하고 결과를 돌려준다, 이미 실행 중이면 진행 상황과 함께 409
+ * 기본 노출에서는 빠져 있고, ops 프로필(application-ops.yml)로 관리 포트에만 연다.
+ */
+@Endpoint(id = "reconcile")
+@RequiredArgsConstructor
+public class PointReconcileEndpoint {
+
+    private final PointReconciler pointReconciler;
+
+    @ReadOperation
+    public ReconciliationReport lastReport() {
+        return pointReconciler.lastReport();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> reconcile() {
+        ReconciliationReport report = pointReconciler.tryReconcile();
+        if (report == null) {
+            return new WebEndpointResponse<>(Map.of(
+                    "running", true,
+                    "rowsTotal", pointReconciler.rowsTotal(),
+                    "rowsScanned", pointReconciler.rowsScanned(),
+                    "usersChecked", pointReconciler.usersChecked()), 409);
+        }
+        return new WebEndpointResponse<>(report, 200);
+    }
+}
@@ -0,0 +1,263 @@
+package io.hhplus.tdd.reconcile;
+
+import io.hhplus.tdd.engine.UserLocks;
+import io.hhplus.tdd.exception.PointTimeoutException;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.repository.PointHistoryRepository;
+import io.hhplus.tdd.repository.UserPointRepository;
+import io.hhplus.tdd.store.BalanceVersionStore;
+import io.hhplus.tdd.store.HistoryJournal;
+import io.hhplus.tdd.util.Deadline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 유저 포인트가 내역의 부호 있는 합계와 같은지 검사한다.
+ * 1. 내역 저널을 한 번 훑으며 구간별로 유저별 합계를 포크/조인으로 집계하고 합친다.
+ * 2. 집계된 유저와 포인트 버전이 있는 유저(BalanceVersionStore, 메모리)를 합쳐, 최신 포인트 버전과 합계를 병렬로 비교한다.
+ *    내역이 한 건도 없는데 포인트가 있는 유저도 합계 0 으로 비교된다. 저장소는 호출하지 않는다.
+ * 3. 검사 도중 진행 중이던 요청 때문에 달라 보일 수 있으므로, 다른 유저만 락을 잡고 저장소의 포인트와 내역을 다시 읽어 확인한다.
+ *    락은 lockTimeoutMillis 까지만 기다리고, 못 잡은 유저는 한 번 더 시도한 뒤에도 못 잡으면 skippedUsers 로 보고한다.
+ *    그래서 요청이 몰린 유저의 요청이 검사 뒤에 오래 줄 서지 않는다.
+ * maxRowsPerSecond 를 주면 저널을 약 0.1초 분량씩 나눠 집계하고, 나눈 구간 사이에 호출 스레드에서 쉬어
+ * 백그라운드 실행이 요청 처리와 CPU 를 다투지 않게 한다 (포크/조인 워커는 쉬지 않는다).
+ */
+public class PointReconciler {
+
+    private static final int COMPARE_LEAF_SIZE = 4096;
+
+    private final HistoryJournal historyJournal;
+    private final BalanceVersionStore balanceVersionStore;
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserLocks userLocks;
+    private final ForkJoinPool pool;
+    private final int leafSize;
+    private final long maxRowsPerSecond;
+    private final long lockTimeoutMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong rowsTotal = new AtomicLong();
+    private final AtomicLong rowsScanned = new AtomicLong();
+    private final AtomicLong usersChecked = new AtomicLong();
+    private final AtomicLong runs = new AtomicLong();
+    private volatile long scanStartNanos;
+    private volatile ReconciliationReport lastReport;
+
+    public PointReconciler(HistoryJournal historyJournal, BalanceVersionStore balanceVersionStore,
+                           UserPointRepository userPointRepository, PointHistoryRepository pointHistoryRepository,
+                           UserLocks userLocks, ForkJoinPool pool, int leafSize, long maxRowsPerSecond,
+                           long lockTimeoutMillis) {
+        this.historyJournal = historyJournal;
+        this.balanceVersionStore = balanceVersionStore;
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.userLocks = userLocks;
+        this.pool = pool;
+        this.leafSize = leafSize;
+        this.maxRowsPerSecond = maxRowsPerSecond;
+        this.lockTimeoutMillis = lockTimeoutMillis;
+    }
+
+    //한 번에 하나만 실행된다
+    public ReconciliationReport reconcile() {
+        ReconciliationReport report = tryReconcile();
+        if (report == null) {
+            throw new IllegalStateException("Reconciliation is already running");
+        }
+        return report;
+    }
+
+    //이미 실행 중이면 기다리지 않고 null
+    public ReconciliationReport tryReconcile() {
+        if (!running.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            long startedMillis = System.currentTimeMillis();
+            long startNanos = System.nanoTime();
+            long total = historyJournal.size();
+            rowsTotal.set(total);
+            rowsScanned.set(0L);
+            usersChecked.set(0L);
+            scanStartNanos = startNanos;
+
+            LongLongAccumulator sums = new LongLongAccumulator(64);
+            long slice = maxRowsPerSecond > 0 ? Math.max(leafSize, maxRowsPerSecond / 10) : Math.max(1L, total);
+            for (long from = 0; from < total; from += slice) {
+                long to = Math.min(total, from + slice);
+                sums = sums.merge(pool.invoke(new ScanTask(from, to)));
+                throttle(to);
+            }
+            LongLongAccumulator merged = sums;
+            balanceVersionStore.forEachUser(userId -> merged.add(userId, 0L));
+            long[][] arrays = sums.toArrays();
+            Queue<Integer> candidates = new ConcurrentLinkedQueue<>();
+            pool.invoke(new CompareTask(arrays[0], arrays[1], 0, arrays[0].length, candidates));
+
+            List<ReconciliationReport.Mismatch> mismatches = new ArrayList<>();
+            List<Long> busy = new ArrayList<>();
+            for (int index : candidates) {
+                recheck(arrays[0][index], mismatches, busy);
+            }
+            //락을 못 잡은 유저는 한 번 더 시도한다
+            List<Long> skipped = new ArrayList<>();
+            for (long userId : busy) {
+                recheck(userId, mismatches, skipped);
+            }
+
+            ReconciliationReport report = new ReconciliationReport(startedMillis,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+                    total, arrays[0].length, List.copyOf(mismatches), List.copyOf(skipped));
+            lastReport = report;
+            runs.incrementAndGet();
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public ReconciliationReport lastReport() {
+        return lastReport;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public long rowsTotal() {
+        return rowsTotal.get();
+    }
+
+    public long rowsScanned() {
+        return rowsScanned.get();
+    }
+
+    public long usersChecked() {
+        return usersChecked.get();
+    }
+
+    public long runs() {
+        return runs.get();
+    }
+
+    public long lastMismatches() {
+        ReconciliationReport report = lastReport;
+        return report == null ? 0L : report.mismatches().size();
+    }
+
+    //유저 락 안에서는 진행 중인 요청이 없으므로 저장소 값끼리 비교한다, 기한 안에 락을 못 잡으면 busy 에 넣는다
+    private void recheck(long userId, List<ReconciliationReport.Mismatch> mismatches, List<Long> busy) {
+        Lock lock = userLocks.lockFor(userId);
+        try {
+            Deadline.after(lockTimeoutMillis).lock(lock);
+        } catch (PointTimeoutException e) {
+            busy.add(userId);
+            return;
+        }
+        try {
+            long point = userPointRepository.selectDetailUserPoint(userId).point();
+            long historySum = 0L;
+            for (PointHistory pointHistory : pointHistoryRepository.selectDetailPointHistory(userId)) {
+                historySum += pointHistory.type().signed(pointHistory.amount());
+            }
+            if (point != historySum) {
+                mismatches.add(new ReconciliationReport.Mismatch(userId, point, historySum));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    //호출 스레드에서 쉰다
+    private void throttle(long scanned) {
+        if (maxRowsPerSecond <= 0) {
+            return;
+        }
+        long expectedNanos = scanned * 1_000_000_000L / maxRowsPerSecond;
+        long aheadNanos = expectedNanos - (System.nanoTime() - scanStartNanos);
+        if (aheadNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(aheadNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private final class ScanTask extends RecursiveTask<LongLongAccumulator> {
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+
+        ScanTask(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected LongLongAccumulator compute() {
+            if (to - from <= leafSize) {
+                LongLongAccumulator sums = new LongLongAccumulator(64);
+                for (long i = from; i < to; i++) {
+                    sums.add(historyJournal.userIdAt(i), historyJournal.signedAmountAt(i));
+                }
+                rowsScanned.addAndGet(to - from);
+                return sums;
+            }
+            long mid = (from + to) >>> 1;
+            ScanTask left = new ScanTask(from, mid);
+            left.fork();
+            LongLongAccumulator right = new ScanTask(mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    private final class CompareTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] userIds;
+        private final long[] sums;
+        private final int from;
+        private final int to;
+        private final Queue<Integer> candidates;
+
+        CompareTask(long[] userIds, long[] sums, int from, int to, Queue<Integer> candidates) {
+            this.userIds = userIds;
+            this.sums = sums;
+            this.from = from;
+            this.to = to;
+            this.candidates = candidates;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= COMPARE_LEAF_SIZE) {
+                for (int i = from; i < to; i++) {
+                    //버전이 없는 유저는 저장소와 직접 비교한다
+                    UserPoint latest = balanceVersionStore.latest(userIds[i]);
+                    if (latest == null || latest.point() != sums[i]) {
+                        candidates.add(i);
+                    }
+                }
+                usersChecked.addAndGet(to - from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new CompareTask(userIds, sums, from, mid, candidates),
+                    new CompareTask(userIds, sums, mid, to, candidates));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package io.hhplus.tdd.reconcile;
+
+import java.util.List;
+
+/**
+ * 포인트 정합성 검사 결과
+ * - mismatches   : 유저 락을 잡고 다시 확인해도 포인트와 내역 합계가 다른 유저
+ * - skippedUsers : 비교에서 달라 보였지만 요청이 몰려 기한 안에 유저 락을 잡지 못해 다시 확인하지 못한 유저
+ */
+public record ReconciliationReport(
+        long startedMillis,
+        long elapsedMillis,
+        long rowsScanned,
+        long usersChecked,
+        List<Mismatch> mismatches,
+        List<Long> skippedUsers
+) {
+
+    public record Mismatch(long userId, long point, long historySum) {
+    }
+}
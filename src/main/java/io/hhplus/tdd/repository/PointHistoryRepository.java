@@ -2,8 +2,13 @@ package io.hhplus.tdd.repository;
 
 
 import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.jfr.TableCallEvent;
 import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
 import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.store.HistoryJournal;
+import io.hhplus.tdd.store.HistoryTimeIndex;
+import io.hhplus.tdd.store.KnownUserFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
@@ -14,13 +19,60 @@ import java.util.List;
 public class PointHistoryRepository {
 
     private final PointHistoryTable pointHistoryTable;
+    private final KnownUserFilter knownUserFilter;
+    private final HistoryJournal historyJournal;
+
+    private static final String TABLE = "PointHistoryTable";
 
     public List<PointHistory> selectDetailPointHistory(long userId){
-        return pointHistoryTable.selectAllByUserId(userId);
+        //한 번도 기록된 적 없는 유저는 전체 스캔을 하지 않는다
+        if (!knownUserFilter.mightContain(userId)) {
+            return List.of();
+        }
+        //전체 스캔이므로 돌려준 내역 수를 함께 남긴다
+        TableCallEvent event = TableCallEvent.start(TABLE, "selectAllByUserId", userId);
+        List<PointHistory> histories = null;
+        try {
+            histories = pointHistoryTable.selectAllByUserId(userId);
+        } finally {
+            event.finish(histories != null ? histories.size() : -1);
+        }
+        if (histories.isEmpty()) {
+            knownUserFilter.recordFalsePositive();
+        }
+        return histories;
+    }
+
+    //기록 시각 [fromMillis, toMillis) 구간의 전체 유저 내역, 테이블을 훑지 않고 시각 인덱스로 찾는다
+    public PointHistoryPage selectPointHistoriesBetween(long fromMillis, long toMillis, TransactionType type,
+                                                        String cursor, int limit) {
+        return historyJournal.timeIndex().range(fromMillis, toMillis, type,
+                cursor != null ? HistoryTimeIndex.Cursor.parse(cursor) : null, limit);
     }
 
+    //이 시각 이전에 기록된 내역은 모두 시각 인덱스로 조회된다
+    public long selectIndexedMillis() {
+        return historyJournal.timeIndex().caughtUpMillis();
+    }
+
+    //충전 내역 기록
     public PointHistory insertDetailPointHistory(long userId, long amount){
-        return pointHistoryTable.insert(userId, amount, TransactionType.CHARGE,System.currentTimeMillis());
+        return insertDetailPointHistory(userId, amount, TransactionType.CHARGE);
+    }
+
+    public PointHistory insertDetailPointHistory(long userId, long amount, TransactionType type){
+        knownUserFilter.put(userId);
+        TableCallEvent event = TableCallEvent.start(TABLE, "insert", userId);
+        PointHistory pointHistory;
+        try {
+            pointHistory = pointHistoryTable.insert(userId, amount, type, System.currentTimeMillis());
+        } finally {
+            event.finish(-1);
+        }
+        if (pointHistory != null) {
+            historyJournal.append(pointHistory);
+        }
+        return pointHistory;
     }
 
 
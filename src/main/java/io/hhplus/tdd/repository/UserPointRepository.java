@@ -1,23 +1,81 @@
 package io.hhplus.tdd.repository;
 
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.jfr.TableCallEvent;
+import io.hhplus.tdd.point.LeaderboardEntry;
 import io.hhplus.tdd.point.UserPoint;
-import io.hhplus.tdd.service.PointHistoryService;
+import io.hhplus.tdd.store.BalanceLeaderboard;
+import io.hhplus.tdd.store.KnownUserFilter;
+import io.hhplus.tdd.util.Deadline;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 @RequiredArgsConstructor
 public class UserPointRepository {
 
     private final UserPointTable userPointTable;
+    private final KnownUserFilter knownUserFilter;
+    private final BalanceLeaderboard balanceLeaderboard;
+
+    private static final String TABLE = "UserPointTable";
 
     public UserPoint selectDetailUserPoint(long id){
-        return userPointTable.selectById(id);
+        //한 번도 기록된 적 없는 유저는 조회하지 않는다
+        if (!knownUserFilter.mightContain(id)) {
+            return UserPoint.empty(id);
+        }
+        return selectById(id);
+    }
+
+    //처리 기한이 남아 있을 때만 조회한다
+    public UserPoint selectDetailUserPoint(long id, Deadline deadline){
+        if (!knownUserFilter.mightContain(id)) {
+            return UserPoint.empty(id);
+        }
+        deadline.check("selectDetailUserPoint");
+        return selectById(id);
     }
 
     public UserPoint insertDetailUserPoint(long id, long amount) {
-        return userPointTable.insertOrUpdate(id, amount);
+        knownUserFilter.put(id);
+        TableCallEvent event = TableCallEvent.start(TABLE, "insertOrUpdate", id);
+        UserPoint userPoint;
+        try {
+            userPoint = userPointTable.insertOrUpdate(id, amount);
+        } finally {
+            event.finish(-1);
+        }
+        if (userPoint != null) {
+            balanceLeaderboard.update(id, userPoint.point());
+        }
+        return userPoint;
+    }
+
+    private UserPoint selectById(long id) {
+        TableCallEvent event = TableCallEvent.start(TABLE, "selectById", id);
+        try {
+            return userPointTable.selectById(id);
+        } finally {
+            event.finish(-1);
+        }
+    }
+
+    //포인트 상위 limit 명
+    public List<LeaderboardEntry> selectTopUserPoints(int limit) {
+        return balanceLeaderboard.top(limit);
+    }
+
+    //포인트 순위, 기록된 적 없는 유저는 null
+    public LeaderboardEntry selectUserPointRank(long id) {
+        return balanceLeaderboard.rankOf(id);
+    }
+
+    //(point, userId) 보다 포인트 순위가 앞서는 유저 수
+    public long countUserPointsAhead(long point, long userId) {
+        return balanceLeaderboard.countAhead(point, userId);
     }
 
 
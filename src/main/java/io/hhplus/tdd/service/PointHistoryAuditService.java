@@ -0,0 +1,19 @@
+package io.hhplus.tdd.service;
+
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 기록 시각 구간 내역 조회 (감사용)
+ * 내역 저널과 시각 인덱스를 쓰는 lock 엔진만 구현하고, 다른 엔진에서는 이 빈이 없어 API 가 501 을 돌려준다.
+ */
+public interface PointHistoryAuditService {
+
+    /**
+     * 기록 시각 [fromMillis, toMillis) 구간의 전체 유저 내역 (type 이 null 이면 모든 종류, cursor 다음부터)
+     * 아직 자리 잡지 않았을 수 있는 최근 구간은 읽지 않고, 그 앞까지 읽었다는 nextCursor 를 돌려준다.
+     * 잘못된 cursor/limit 이면 IllegalArgumentException
+     */
+    public PointHistoryPage selectPointHistoriesBetween(long fromMillis, long toMillis, TransactionType type,
+                                                        String cursor, int limit);
+}
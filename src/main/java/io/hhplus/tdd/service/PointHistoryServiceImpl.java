@@ -1,18 +1,25 @@
 package io.hhplus.tdd.service;
 
 
+import io.hhplus.tdd.config.PointAuditProperties;
 import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.TransactionType;
 import io.hhplus.tdd.repository.PointHistoryRepository;
+import io.hhplus.tdd.store.HistoryTimeIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
-public class PointHistoryServiceImpl implements PointHistoryService {
+@ConditionalOnProperty(prefix = "point.engine", name = "mode", havingValue = "lock", matchIfMissing = true)
+public class PointHistoryServiceImpl implements PointHistoryService, PointHistoryAuditService {
 
     private final PointHistoryRepository pointHistoryRepository;
+    private final PointAuditProperties pointAuditProperties;
 
     //포인트 조회 상세
     @Override
@@ -20,5 +27,26 @@ public class PointHistoryServiceImpl implements PointHistoryService {
         return pointHistoryRepository.selectDetailPointHistory(userId);
     }
 
+    /*
+     * 기록 시각 구간 조회, 페이지 크기는 설정한 최대값을 넘지 않는다.
+     * 내역 시각은 테이블에 쓸 때 정해지고 저널에는 조금 뒤에, 시각 인덱스에는 인덱서가 따라잡을 때 들어간다.
+     * 그래서 인덱서가 마지막으로 따라잡은 시각에서 settleMillis 를 뺀 시각 이후의 구간은 앞선 시각의 내역이 늦게 나타날 수 있다.
+     * to 를 그 앞까지로 줄여 이미 읽은 페이지에 내역이 끼어들지 않게 하고, 줄인 구간은 nextCursor 로 나중에 이어 읽게 한다.
+     */
+    @Override
+    public PointHistoryPage selectPointHistoriesBetween(long fromMillis, long toMillis, TransactionType type,
+                                                        String cursor, int limit) {
+        long settledMillis = pointHistoryRepository.selectIndexedMillis() - pointAuditProperties.getSettleMillis();
+        long cappedToMillis = Math.min(toMillis, settledMillis);
+        PointHistoryPage page = pointHistoryRepository.selectPointHistoriesBetween(fromMillis, cappedToMillis, type, cursor,
+                Math.min(limit, pointAuditProperties.getMaxPageSize()));
+        if (page.nextCursor() == null && cappedToMillis < toMillis) {
+            //cappedToMillis 이전은 모두 읽었다
+            String settledCursor = new HistoryTimeIndex.Cursor(Math.max(cappedToMillis, fromMillis) - 1, Long.MAX_VALUE).toString();
+            return new PointHistoryPage(page.histories(), settledCursor);
+        }
+        return page;
+    }
+
 
 }
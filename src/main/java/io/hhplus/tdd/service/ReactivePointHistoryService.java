@@ -0,0 +1,20 @@
+package io.hhplus.tdd.service;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.TransactionType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * PointHistoryService 의 reactive 버전 (reactive 프로필)
+ */
+public interface ReactivePointHistoryService {
+
+    //포인트 상세조회, 구독자가 요청한 만큼씩 흘려보낸다
+    public Flux<PointHistory> selectDetailPointHistory(long userId);
+
+    //기록 시각 구간 내역 조회 (PointHistoryAuditService 가 없는 엔진은 501)
+    public Mono<PointHistoryPage> selectPointHistoriesBetween(long fromMillis, long toMillis, TransactionType type,
+                                                              String cursor, int limit);
+}
@@ -0,0 +1,50 @@
+package io.hhplus.tdd.service;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Optional;
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactivePointHistoryServiceImpl implements ReactivePointHistoryService {
+
+    private final PointHistoryService pointHistoryService;
+    @Qualifier("pointBlockingScheduler")
+    private final Scheduler pointBlockingScheduler;
+    //lock 엔진에서만 있다
+    private final Optional<PointHistoryAuditService> pointHistoryAuditService;
+
+    //Table 조회는 한 번에 끝나므로 결과 목록을 구독자의 요청량만큼씩 내보낸다
+    @Override
+    public Flux<PointHistory> selectDetailPointHistory(long userId) {
+        return Mono.fromCallable(() -> pointHistoryService.selectDetailPointHistory(userId))
+                .subscribeOn(pointBlockingScheduler)
+                .flatMapIterable(histories -> histories);
+    }
+
+    @Override
+    public Mono<PointHistoryPage> selectPointHistoriesBetween(long fromMillis, long toMillis, TransactionType type,
+                                                              String cursor, int limit) {
+        return pointHistoryAuditService
+                .map(svc -> Mono.fromCallable(() -> svc.selectPointHistoriesBetween(fromMillis, toMillis, type, cursor, limit))
+                        .subscribeOn(pointBlockingScheduler))
+                .orElseGet(() -> Mono.error(notSupported("Audit query")));
+    }
+
+    //설정된 엔진(point.engine.mode)이 지원하지 않는 기능
+    private static ResponseStatusException notSupported(String feature) {
+        return new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED, feature + " is not supported by this point engine");
+    }
+}
@@ -0,0 +1,37 @@
+package io.hhplus.tdd.service;
+
+import io.hhplus.tdd.point.LeaderboardEntry;
+import io.hhplus.tdd.point.UserPoint;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * UserPointService 의 reactive 버전 (reactive 프로필)
+ */
+public interface ReactiveUserPointService {
+
+    public Mono<UserPoint> selectDetailUserPoint(long id);
+
+    //여러 유저 포인트 일괄 조회 (중복 id 는 한 번만, 요청 순서대로)
+    public Flux<UserPoint> selectDetailUserPoints(List<Long> ids);
+
+    //asOfMillis 시점의 포인트
+    public Mono<UserPoint> selectDetailUserPointAsOf(long id, long asOfMillis);
+
+    //포인트 상위 limit 명
+    public Flux<LeaderboardEntry> selectTopUserPoints(int limit);
+
+    //포인트 순위, 순위표에 없으면 rank 0
+    public Mono<LeaderboardEntry> selectUserPointRank(long id);
+
+    //(point, userId) 보다 앞서는 유저 수
+    public Mono<Long> countUserPointsAhead(long point, long userId);
+
+    //포인트 충전
+    public Mono<UserPoint> chargeUserPoint(long userId, long amount);
+
+    //포인트 사용
+    public Mono<UserPoint> useUserPoint(long userId, long amount);
+}
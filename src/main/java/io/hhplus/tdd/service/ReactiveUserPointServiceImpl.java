@@ -0,0 +1,124 @@
+package io.hhplus.tdd.service;
+
+import io.hhplus.tdd.engine.UserSerialLanes;
+import io.hhplus.tdd.point.LeaderboardEntry;
+import io.hhplus.tdd.point.UserPoint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 엔진(lock/sharded/ring)별 UserPointService 를 그대로 감싼다.
+ * - 엔진이 지원하지 않는 기능(시점 조회, 순위표 등)은 501 로 끝난다.
+ * - 조회는 pointBlockingScheduler 에서 실행한다.
+ * - 충전/사용은 유저 레인에서 제출 순서대로 하나씩 실행하므로, 같은 유저 요청끼리는 유저 락을 기다리며 스레드를 세워 두지 않는다.
+ *   (유저 락은 만료/정합성 검사 같은 백그라운드 작업과의 순서만 맞춘다)
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveUserPointServiceImpl implements ReactiveUserPointService {
+
+    private final UserPointService userPointService;
+    private final UserSerialLanes userSerialLanes;
+    @Qualifier("pointBlockingScheduler")
+    private final Scheduler pointBlockingScheduler;
+    //lock 엔진에서만 있다
+    private final Optional<UserPointVersionService> userPointVersionService;
+    private final Optional<UserPointRankService> userPointRankService;
+
+    @Override
+    public Mono<UserPoint> selectDetailUserPoint(long id) {
+        return blocking(() -> userPointService.selectDetailUserPoint(id));
+    }
+
+    @Override
+    public Flux<UserPoint> selectDetailUserPoints(List<Long> ids) {
+        return blocking(() -> userPointService.selectDetailUserPoints(ids)).flatMapIterable(userPoints -> userPoints);
+    }
+
+    @Override
+    public Mono<UserPoint> selectDetailUserPointAsOf(long id, long asOfMillis) {
+        return userPointVersionService
+                .map(versionService -> blocking(() -> versionService.selectDetailUserPointAsOf(id, asOfMillis)))
+                .orElseGet(() -> Mono.error(notSupported("asOf")));
+    }
+
+    @Override
+    public Flux<LeaderboardEntry> selectTopUserPoints(int limit) {
+        return userPointRankService
+                .map(rankService -> blocking(() -> rankService.selectTopUserPoints(limit)))
+                .orElseGet(() -> Mono.error(notSupported("Leaderboard")))
+                .flatMapIterable(entries -> entries);
+    }
+
+    @Override
+    public Mono<LeaderboardEntry> selectUserPointRank(long id) {
+        return userPointRankService
+                .map(rankService -> blocking(() -> rankService.selectUserPointRank(id)))
+                .orElseGet(() -> Mono.error(notSupported("Leaderboard")));
+    }
+
+    @Override
+    public Mono<Long> countUserPointsAhead(long point, long userId) {
+        return userPointRankService
+                .map(rankService -> blocking(() -> rankService.countUserPointsAhead(point, userId)))
+                .orElseGet(() -> Mono.error(notSupported("Leaderboard")));
+    }
+
+    @Override
+    public Mono<UserPoint> chargeUserPoint(long userId, long amount) {
+        return serial(userId, () -> userPointService.chargeUserPoint(userId, amount));
+    }
+
+    @Override
+    public Mono<UserPoint> useUserPoint(long userId, long amount) {
+        return serial(userId, () -> userPointService.useUserPoint(userId, amount));
+    }
+
+    //설정된 엔진(point.engine.mode)이 지원하지 않는 기능
+    private static ResponseStatusException notSupported(String feature) {
+        return new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED, feature + " is not supported by this point engine");
+    }
+
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(pointBlockingScheduler);
+    }
+
+    //구독 시점에 유저 레인에 넣는다, 실행 전에 취소된 요청은 실행하지 않는다
+    private <T> Mono<T> serial(long userId, Callable<T> call) {
+        return Mono.create(sink -> {
+            AtomicBoolean cancelled = new AtomicBoolean();
+            sink.onCancel(() -> cancelled.set(true));
+            userSerialLanes.execute(userId, new UserSerialLanes.Task() {
+                @Override
+                public void run() {
+                    if (cancelled.get()) {
+                        return;
+                    }
+                    try {
+                        sink.success(call.call());
+                    } catch (Exception e) {
+                        sink.error(e);
+                    }
+                }
+
+                @Override
+                public void reject(RuntimeException error) {
+                    sink.error(error);
+                }
+            });
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.service;
+
+
+import io.hhplus.tdd.config.PointTimeoutProperties;
+import io.hhplus.tdd.engine.PointRingBuffer;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.util.Deadline;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "point.engine", name = "mode", havingValue = "ring")
+public class RingPointHistoryServiceImpl implements PointHistoryService {
+
+    private final PointRingBuffer pointRingBuffer;
+    private final PointTimeoutProperties pointTimeoutProperties;
+
+    //포인트 조회 상세
+    @Override
+    public List<PointHistory> selectDetailPointHistory(long userId) {
+        return pointRingBuffer.selectHistories(userId, Deadline.after(pointTimeoutProperties.getUseMillis()));
+    }
+
+
+}
@@ -0,0 +1,56 @@
+package io.hhplus.tdd.service;
+
+
+import io.hhplus.tdd.config.PointBatchProperties;
+import io.hhplus.tdd.config.PointTimeoutProperties;
+import io.hhplus.tdd.engine.PointRingBuffer;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.util.Deadline;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "point.engine", name = "mode", havingValue = "ring")
+public class RingUserPointServiceImpl implements UserPointService {
+
+    private final PointRingBuffer pointRingBuffer;
+    private final PointTimeoutProperties pointTimeoutProperties;
+    private final PointBatchProperties pointBatchProperties;
+
+    @Override
+    public UserPoint selectDetailUserPoint(long id) {
+        return pointRingBuffer.selectPoint(id, Deadline.after(pointTimeoutProperties.getUseMillis()));
+    }
+
+    @Override
+    public List<UserPoint> selectDetailUserPoints(List<Long> ids) {
+        UserPointService.checkIds(ids, pointBatchProperties.getMaxIds());
+        return ids.stream().distinct().map(this::selectDetailUserPoint).toList();
+    }
+
+    //포인트 충전
+    @Override
+    public UserPoint chargeUserPoint(long userId, long amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Amount must be greater than 0");
+        }
+        return pointRingBuffer.apply(userId, amount, TransactionType.CHARGE,
+                Deadline.after(pointTimeoutProperties.getChargeMillis()));
+    }
+
+    //포인트 사용
+    @Override
+    public UserPoint useUserPoint(long userId, long amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Amount must be greater than 0");
+        }
+        return pointRingBuffer.apply(userId, amount, TransactionType.USE,
+                Deadline.after(pointTimeoutProperties.getUseMillis()));
+    }
+
+}
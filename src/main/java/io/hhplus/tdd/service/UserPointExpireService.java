@@ -0,0 +1,13 @@
+package io.hhplus.tdd.service;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 충전 포인트 만료
+ * 유저 락으로 기록하는 lock 엔진만 구현하고, 만료 틱(PointExpirationConfig)도 lock 엔진에서만 돈다.
+ */
+public interface UserPointExpireService {
+
+    //만료된 포인트 차감
+    public UserPoint expireUserPoint(long userId);
+}
@@ -0,0 +1,21 @@
+package io.hhplus.tdd.service;
+
+import io.hhplus.tdd.point.LeaderboardEntry;
+
+import java.util.List;
+
+/**
+ * 포인트 순위표 조회
+ * 순위표를 저장소 기록과 함께 갱신하는 lock 엔진만 구현하고, 다른 엔진에서는 이 빈이 없어 API 가 501 을 돌려준다.
+ */
+public interface UserPointRankService {
+
+    //포인트 상위 limit 명, limit 이 범위를 벗어나면 IllegalArgumentException
+    public List<LeaderboardEntry> selectTopUserPoints(int limit);
+
+    //포인트 순위, 순위표에 없으면 rank 0
+    public LeaderboardEntry selectUserPointRank(long id);
+
+    //(point, userId) 보다 앞서는 유저 수, 클러스터에서 노드별 값을 더해 전체 순위를 구한다
+    public long countUserPointsAhead(long point, long userId);
+}
@@ -2,10 +2,30 @@ package io.hhplus.tdd.service;
 
 import io.hhplus.tdd.point.UserPoint;
 
+import java.util.List;
+
 public interface UserPointService {
 
     public UserPoint selectDetailUserPoint(long id);
 
+    //여러 유저 포인트 일괄 조회 (중복 id 는 한 번만, 요청 순서대로), 최대 point.batch.max-ids 개
+    public List<UserPoint> selectDetailUserPoints(List<Long> ids);
+
+    //일괄 조회 id 목록 검사, maxIds 를 넘거나 null 이 있으면 IllegalArgumentException
+    public static void checkIds(List<Long> ids, int maxIds) {
+        if (ids == null) {
+            throw new IllegalArgumentException("Ids must not be null");
+        }
+        if (ids.size() > maxIds) {
+            throw new IllegalArgumentException("Too many ids: max=" + maxIds);
+        }
+        for (Long id : ids) {
+            if (id == null) {
+                throw new IllegalArgumentException("Ids must not contain null");
+            }
+        }
+    }
+
     //포인트 충전
     public UserPoint chargeUserPoint(long userId, long amount);
 
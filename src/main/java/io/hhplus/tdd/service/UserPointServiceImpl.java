@@ -1,30 +1,143 @@
 package io.hhplus.tdd.service;
 
 
+import io.hhplus.tdd.config.PointBatchProperties;
+import io.hhplus.tdd.config.PointTimeoutProperties;
+import io.hhplus.tdd.engine.HotKeyLanes;
+import io.hhplus.tdd.engine.HotPointCommand;
+import io.hhplus.tdd.engine.UserLocks;
+import io.hhplus.tdd.exception.PointTimeoutException;
+import io.hhplus.tdd.expire.PointExpiryTracker;
+import io.hhplus.tdd.jfr.PointOperationEvent;
+import io.hhplus.tdd.point.LeaderboardEntry;
 import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
 import io.hhplus.tdd.point.UserPoint;
 import io.hhplus.tdd.repository.PointHistoryRepository;
 import io.hhplus.tdd.repository.UserPointRepository;
+import io.hhplus.tdd.feed.PointChangeFeed;
+import io.hhplus.tdd.store.BalanceVersionStore;
 import io.hhplus.tdd.util.CommUtil;
+import io.hhplus.tdd.util.Deadline;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 @RequiredArgsConstructor
-public class UserPointServiceImpl implements UserPointService{
+@ConditionalOnProperty(prefix = "point.engine", name = "mode", havingValue = "lock", matchIfMissing = true)
+public class UserPointServiceImpl implements UserPointService, UserPointVersionService, UserPointExpireService, UserPointRankService {
+
+    private static final int MAX_LEADERBOARD_LIMIT = 1000;
+
+    //PointOperationEvent 결과
+    private static final String OUTCOME_OK = "OK";
+    private static final String OUTCOME_INSUFFICIENT = "INSUFFICIENT";
+    private static final String OUTCOME_TIMEOUT = "TIMEOUT";
+    private static final String OUTCOME_ERROR = "ERROR";
 
     private final UserPointRepository userPointRepository;
     private final PointHistoryRepository pointHistoryRepository;
-    private final ConcurrentHashMap<Long, Lock> locks = new ConcurrentHashMap<>();
+    private final PointTimeoutProperties pointTimeoutProperties;
+    private final UserLocks userLocks;
+    @Qualifier("pointIoExecutor")
+    private final ExecutorService pointIoExecutor;
+    private final BalanceVersionStore balanceVersionStore;
+    private final PointBatchProperties pointBatchProperties;
+    @Qualifier("pointReadExecutor")
+    private final ExecutorService pointReadExecutor;
+    private final PointChangeFeed pointChangeFeed;
+    private final PointExpiryTracker pointExpiryTracker;
+    private final HotKeyLanes hotKeyLanes;
+    @Qualifier("pointHotIoExecutor")
+    private final ExecutorService pointHotIoExecutor;
 
 
+    //포인트가 기록된 유저는 최신 버전을 락 없이 바로 돌려준다
     @Override
     public UserPoint selectDetailUserPoint(long id) {
-        return userPointRepository.selectDetailUserPoint(id);
+        UserPoint latest = balanceVersionStore.latest(id);
+        return latest != null ? latest : userPointRepository.selectDetailUserPoint(id);
+    }
+
+    @Override
+    public UserPoint selectDetailUserPointAsOf(long id, long asOfMillis) {
+        return balanceVersionStore.asOf(id, asOfMillis);
+    }
+
+    //최신 버전이 없는 유저만 저장소를 병렬로 조회하므로 전체 시간이 조회 한 번과 비슷하다
+    @Override
+    public List<UserPoint> selectDetailUserPoints(List<Long> ids) {
+        UserPointService.checkIds(ids, pointBatchProperties.getMaxIds());
+        Deadline deadline = Deadline.after(pointBatchProperties.getTimeoutMillis());
+        Map<Long, UserPoint> found = new LinkedHashMap<>();
+        List<CompletableFuture<UserPoint>> loading = new ArrayList<>();
+        for (Long id : ids) {
+            if (found.containsKey(id)) {
+                continue;
+            }
+            UserPoint latest = balanceVersionStore.latest(id);
+            found.put(id, latest);
+            if (latest == null) {
+                loading.add(CompletableFuture.supplyAsync(
+                        () -> userPointRepository.selectDetailUserPoint(id, deadline), pointReadExecutor));
+            }
+        }
+
+        if (!loading.isEmpty()) {
+            try {
+                CompletableFuture.allOf(loading.toArray(CompletableFuture[]::new))
+                        .get(Math.max(0L, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                loading.forEach(future -> future.cancel(false));
+                throw new PointTimeoutException("selectDetailUserPoints");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PointTimeoutException("selectDetailUserPoints");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+            for (CompletableFuture<UserPoint> future : loading) {
+                UserPoint userPoint = future.join();
+                found.put(userPoint.id(), userPoint);
+            }
+        }
+        return List.copyOf(found.values());
+    }
+
+    @Override
+    public List<LeaderboardEntry> selectTopUserPoints(int limit) {
+        if (limit <= 0 || limit > MAX_LEADERBOARD_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LEADERBOARD_LIMIT);
+        }
+        return userPointRepository.selectTopUserPoints(limit);
+    }
+
+    @Override
+    public LeaderboardEntry selectUserPointRank(long id) {
+        LeaderboardEntry entry = userPointRepository.selectUserPointRank(id);
+        return entry != null ? entry : new LeaderboardEntry(0L, id, 0L);
+    }
+
+    @Override
+    public long countUserPointsAhead(long point, long userId) {
+        return userPointRepository.countUserPointsAhead(point, userId);
     }
 
     @Override
@@ -32,7 +145,7 @@ public class UserPointServiceImpl implements UserPointService{
         if (amount <= 0) {
             throw new IllegalArgumentException("Amount must be greater than 0");
         }
-        return processUserPoint(userId, amount, true);
+        return processUserPoint(userId, amount, TransactionType.CHARGE);
     }
 
     @Override
@@ -41,29 +154,302 @@ public class UserPointServiceImpl implements UserPointService{
             throw new IllegalArgumentException("Amount must be greater than 0");
         }
 
-        return processUserPoint(userId, amount, false);
+        return processUserPoint(userId, amount, TransactionType.USE);
     }
 
-    private UserPoint processUserPoint(long userId, long amount, boolean isCharge) {
-        final Lock lock = locks.computeIfAbsent(userId, id -> new ReentrantLock());
-        lock.lock();
+    //만료된 포인트 차감, 사용과 같은 유저 락/기한/기록 순서를 따른다
+    @Override
+    public UserPoint expireUserPoint(long userId) {
+        final Deadline deadline = Deadline.after(pointTimeoutProperties.getUseMillis());
+        final Lock lock = userLocks.lockFor(userId);
+        final PointOperationEvent event = PointOperationEvent.start(userId, TransactionType.EXPIRE, 0L);
+        lockOrRecord(deadline, lock, event);
+        String outcome = OUTCOME_ERROR;
         try {
-            PointHistory pointHistory = pointHistoryRepository.insertDetailPointHistory(userId, amount);
-            if (CommUtil.isNullOrEmpty(pointHistory)) {
-                throw new IllegalStateException("PointHistory가 null이거나 비어 있습니다.");
+            UserPoint currentUserPoint = userPointRepository.selectDetailUserPoint(userId, deadline);
+            long nowMillis = System.currentTimeMillis();
+            //만료 추적 이전부터 있던 포인트가 먼저 쓰였을 수 있으므로 잔액을 넘지 않게 한다
+            long expiredAmount = Math.min(pointExpiryTracker.expiredAmount(userId, nowMillis), currentUserPoint.point());
+            if (expiredAmount <= 0) {
+                pointExpiryTracker.onExpire(userId, nowMillis, 0L);
+                outcome = OUTCOME_OK;
+                return currentUserPoint;
+            }
+            UserPoint updatedUserPoint = writeUserPoint(userId, currentUserPoint.point(), expiredAmount, TransactionType.EXPIRE, deadline);
+            pointExpiryTracker.onExpire(userId, nowMillis, expiredAmount);
+            outcome = OUTCOME_OK;
+            return updatedUserPoint;
+        } catch (PointTimeoutException e) {
+            outcome = OUTCOME_TIMEOUT;
+            throw e;
+        } finally {
+            lock.unlock();
+            event.finish(outcome);
+        }
+    }
+
+    private UserPoint processUserPoint(long userId, long amount, TransactionType type) {
+        final Deadline deadline = Deadline.after(type == TransactionType.CHARGE
+                ? pointTimeoutProperties.getChargeMillis()
+                : pointTimeoutProperties.getUseMillis());
+        final PointOperationEvent event = PointOperationEvent.start(userId, type, amount);
+        //핫 유저는 락을 기다리지 않고 전용 레인에서 묶어서 기록한다
+        if (hotKeyLanes.record(userId)) {
+            HotPointCommand command = new HotPointCommand(type, amount, deadline, event);
+            //레인이 없거나 큐가 가득 차면 같은 기한으로 아래 락 경로에서 처리한다
+            if (hotKeyLanes.offer(userId, command, this::writeHotBatch)) {
+                return awaitHot(command);
             }
-            UserPoint currentUserPoint = userPointRepository.selectDetailUserPoint(pointHistory.userId());
+        }
+        final Lock lock = userLocks.lockFor(userId);
+        lockOrRecord(deadline, lock, event);
+        String outcome = OUTCOME_ERROR;
+        try {
+            UserPoint currentUserPoint = userPointRepository.selectDetailUserPoint(userId, deadline);
             long currentUserPointAmount = currentUserPoint.point();
-            long updatedAmount = isCharge ? currentUserPointAmount + amount : currentUserPointAmount - amount;
 
-            if (!isCharge && updatedAmount < 0) {
+            if (currentUserPointAmount + type.signed(amount) < 0) {
+                outcome = OUTCOME_INSUFFICIENT;
                 throw new IllegalStateException("Insufficient points: current=" + currentUserPointAmount + ", required=" + amount);
             }
 
-            return userPointRepository.insertDetailUserPoint(pointHistory.userId(), updatedAmount);
+            UserPoint updatedUserPoint = writeUserPoint(userId, currentUserPointAmount, amount, type, deadline);
+            if (type == TransactionType.CHARGE) {
+                pointExpiryTracker.onCharge(userId, amount, updatedUserPoint.updateMillis());
+            } else {
+                pointExpiryTracker.onUse(userId, amount);
+            }
+            outcome = OUTCOME_OK;
+            return updatedUserPoint;
+        } catch (PointTimeoutException e) {
+            outcome = OUTCOME_TIMEOUT;
+            throw e;
+        } finally {
+            lock.unlock();
+            event.finish(outcome);
+        }
+    }
+
+    //레인이 배치에 넣기 전에 기한이 지나 취소한 경우만 여기서 결과를 남긴다
+    private static UserPoint awaitHot(HotPointCommand command) {
+        try {
+            return command.await();
+        } catch (PointTimeoutException e) {
+            if (command.isCancelled()) {
+                command.event().finish(OUTCOME_TIMEOUT);
+            }
+            throw e;
+        }
+    }
+
+    /*
+     * 핫 유저 레인 워커에서 호출한다. 유저 락을 한 번 잡고 요청 묶음을 라운드 단위로 기록한다.
+     * - 라운드마다 포인트 조회/기록은 한 번씩만 하고, 내역은 요청마다 핫 유저 전용 I/O 스레드에서 동시에 기록한다.
+     * - 같은 라운드의 충전이 모두 실패해도 잔액이 음수가 되지 않는 사용만 라운드에 넣는다.
+     *   라운드 안의 충전이 있어야만 가능한 사용은 다음 라운드로 미뤄, 하나씩 처리할 때와 같은 결과를 낸다.
+     * - 내역 기록에 실패한 요청은 빼고 포인트를 다시 기록한다 (processUserPoint 의 복구와 같다).
+     */
+    private void writeHotBatch(long userId, List<HotPointCommand> batch) {
+        Deadline lockDeadline = null;
+        for (HotPointCommand command : batch) {
+            if (lockDeadline == null || command.deadline().deadlineNanos() - lockDeadline.deadlineNanos() > 0) {
+                lockDeadline = command.deadline();
+            }
+        }
+        Lock lock = userLocks.lockFor(userId);
+        try {
+            lockDeadline.lock(lock);
+        } catch (PointTimeoutException e) {
+            for (HotPointCommand command : batch) {
+                if (command.claim()) {
+                    command.event().finish(OUTCOME_TIMEOUT);
+                    command.fail(e);
+                }
+            }
+            return;
+        }
+        try {
+            long committed = userPointRepository.selectDetailUserPoint(userId, lockDeadline).point();
+            int next = 0;
+            while (next < batch.size()) {
+                List<HotPointCommand> round = new ArrayList<>();
+                next = buildHotRound(batch, next, committed, round);
+                if (!round.isEmpty()) {
+                    committed = writeHotRound(userId, committed, round);
+                }
+            }
+        } catch (RuntimeException e) {
+            //아직 결과가 없는 요청은 모두 실패로 끝낸다 (호출자가 취소한 요청은 제외)
+            String outcome = e instanceof PointTimeoutException ? OUTCOME_TIMEOUT : OUTCOME_ERROR;
+            for (HotPointCommand command : batch) {
+                if (command.claim() || (!command.isCancelled() && !command.isDone())) {
+                    command.event().finish(outcome);
+                    command.fail(e);
+                }
+            }
         } finally {
             lock.unlock();
         }
     }
 
+    //from 부터 라운드에 넣을 요청을 고르고, 다음 라운드가 시작할 위치를 돌려준다
+    private int buildHotRound(List<HotPointCommand> batch, int from, long committed, List<HotPointCommand> round) {
+        //라운드 안의 충전이 모두 실패한 경우 / 모두 성공한 경우의 잔액
+        long floor = committed;
+        long running = committed;
+        int index = from;
+        for (; index < batch.size(); index++) {
+            HotPointCommand command = batch.get(index);
+            if (command.isCancelled()) {
+                continue;
+            }
+            long amount = command.amount();
+            boolean debit = command.type() != TransactionType.CHARGE;
+            if (debit && running - amount >= 0 && floor - amount < 0) {
+                break;
+            }
+            if (!command.claim()) {
+                continue;
+            }
+            command.event().lockAcquired();
+            if (command.deadline().isExpired()) {
+                command.event().finish(OUTCOME_TIMEOUT);
+                command.fail(new PointTimeoutException("hotLane"));
+            } else if (debit && running - amount < 0) {
+                command.event().finish(OUTCOME_INSUFFICIENT);
+                command.fail(new IllegalStateException("Insufficient points: current=" + running + ", required=" + amount));
+            } else {
+                floor += debit ? -amount : 0L;
+                running += command.type().signed(amount);
+                round.add(command);
+            }
+        }
+        //첫 요청부터 미뤄지는 일은 없다 (floor == running 이면 미룰 조건이 성립하지 않는다)
+        return index;
+    }
+
+    //라운드를 기록하고 반영된 잔액을 돌려준다
+    private long writeHotRound(long userId, long committed, List<HotPointCommand> round) {
+        List<CompletableFuture<PointHistory>> histories = new ArrayList<>(round.size());
+        long updatedAmount = committed;
+        for (HotPointCommand command : round) {
+            histories.add(CompletableFuture.supplyAsync(
+                    () -> pointHistoryRepository.insertDetailPointHistory(userId, command.amount(), command.type()),
+                    pointHotIoExecutor));
+            updatedAmount += command.type().signed(command.amount());
+        }
+
+        UserPoint updatedUserPoint;
+        try {
+            updatedUserPoint = userPointRepository.insertDetailUserPoint(userId, updatedAmount);
+        } catch (RuntimeException e) {
+            CompletableFuture.allOf(histories.toArray(CompletableFuture[]::new)).exceptionally(error -> null).join();
+            for (HotPointCommand command : round) {
+                command.event().finish(OUTCOME_ERROR);
+                command.fail(e);
+            }
+            return committed;
+        }
+
+        long appliedAmount = committed;
+        List<PointHistory> written = new ArrayList<>(round.size());
+        for (int i = 0; i < round.size(); i++) {
+            HotPointCommand command = round.get(i);
+            PointHistory pointHistory;
+            try {
+                pointHistory = histories.get(i).join();
+            } catch (CompletionException e) {
+                command.event().finish(OUTCOME_ERROR);
+                command.fail(new IllegalStateException("PointHistory 기록에 실패했습니다.", e.getCause()));
+                written.add(null);
+                continue;
+            }
+            if (CommUtil.isNullOrEmpty(pointHistory)) {
+                command.event().finish(OUTCOME_ERROR);
+                command.fail(new IllegalStateException("PointHistory가 null이거나 비어 있습니다."));
+                written.add(null);
+                continue;
+            }
+            appliedAmount += command.type().signed(command.amount());
+            written.add(pointHistory);
+        }
+        //내역이 남지 않은 요청을 뺀 잔액으로 다시 기록한다
+        if (appliedAmount != updatedAmount) {
+            updatedUserPoint = userPointRepository.insertDetailUserPoint(userId, appliedAmount);
+        }
+
+        long point = committed;
+        for (int i = 0; i < round.size(); i++) {
+            PointHistory pointHistory = written.get(i);
+            if (pointHistory == null) {
+                continue;
+            }
+            HotPointCommand command = round.get(i);
+            long signedAmount = command.type().signed(command.amount());
+            point += signedAmount;
+            balanceVersionStore.publish(userId, point, updatedUserPoint.updateMillis(), pointHistory.id());
+            pointChangeFeed.publish(userId, signedAmount, point, pointHistory.id(), updatedUserPoint.updateMillis());
+            if (command.type() == TransactionType.CHARGE) {
+                pointExpiryTracker.onCharge(userId, command.amount(), updatedUserPoint.updateMillis());
+            } else {
+                pointExpiryTracker.onUse(userId, command.amount());
+            }
+            command.event().finish(OUTCOME_OK);
+            command.complete(new UserPoint(userId, point, updatedUserPoint.updateMillis()));
+        }
+        return appliedAmount;
+    }
+
+    //락 획득 기한을 넘기면 대기 시간만 남기고 그대로 던진다
+    private static void lockOrRecord(Deadline deadline, Lock lock, PointOperationEvent event) {
+        try {
+            deadline.lock(lock);
+        } catch (PointTimeoutException e) {
+            event.finish(OUTCOME_TIMEOUT);
+            throw e;
+        }
+        event.lockAcquired();
+    }
+
+    /*
+     * 유저 락 안에서 호출한다.
+     * 조회/검증 단계까지만 처리 기한을 확인하고, 기록 단계에 들어가기 직전이 마지막 취소 지점이다.
+     * 기록 단계에서는 내역 기록(I/O 스레드)과 포인트 기록(현재 스레드)을 동시에 수행하므로
+     * 락을 잡고 있는 시간은 두 기록 시간의 합이 아니라 더 긴 쪽에 가깝다.
+     */
+    private UserPoint writeUserPoint(long userId, long currentUserPointAmount, long amount, TransactionType type, Deadline deadline) {
+        long updatedAmount = currentUserPointAmount + type.signed(amount);
+
+        deadline.check("insertDetailPointHistory");
+        CompletableFuture<PointHistory> historyFuture = CompletableFuture.supplyAsync(
+                () -> pointHistoryRepository.insertDetailPointHistory(userId, amount, type), pointIoExecutor);
+
+        UserPoint updatedUserPoint;
+        try {
+            updatedUserPoint = userPointRepository.insertDetailUserPoint(userId, updatedAmount);
+        } catch (RuntimeException e) {
+            //락을 풀기 전에 내역 기록이 끝나야 다음 요청과 순서가 섞이지 않는다
+            historyFuture.exceptionally(error -> null).join();
+            throw e;
+        }
+
+        //내역이 남지 않았으면 포인트를 원래 값으로 되돌린다
+        PointHistory pointHistory;
+        try {
+            pointHistory = historyFuture.join();
+        } catch (CompletionException e) {
+            userPointRepository.insertDetailUserPoint(userId, currentUserPointAmount);
+            throw new IllegalStateException("PointHistory 기록에 실패했습니다.", e.getCause());
+        }
+        if (CommUtil.isNullOrEmpty(pointHistory)) {
+            userPointRepository.insertDetailUserPoint(userId, currentUserPointAmount);
+            throw new IllegalStateException("PointHistory가 null이거나 비어 있습니다.");
+        }
+        balanceVersionStore.publish(userId, updatedUserPoint.point(), updatedUserPoint.updateMillis(), pointHistory.id());
+        //락 안에서 발행해 같은 유저의 이벤트는 기록 순서대로 나간다
+        pointChangeFeed.publish(userId, type.signed(amount),
+                updatedUserPoint.point(), pointHistory.id(), updatedUserPoint.updateMillis());
+        return updatedUserPoint;
+    }
+
 }
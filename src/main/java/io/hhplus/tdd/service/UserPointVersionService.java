@@ -0,0 +1,13 @@
+package io.hhplus.tdd.service;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 포인트 시점 조회
+ * 버전 저장소를 쓰는 lock 엔진만 구현하고, 다른 엔진에서는 이 빈이 없어 API 가 501 을 돌려준다.
+ */
+public interface UserPointVersionService {
+
+    //asOfMillis 시점의 포인트, 보관 중인 버전보다 오래된 시점이면 IllegalArgumentException
+    public UserPoint selectDetailUserPointAsOf(long id, long asOfMillis);
+}
@@ -0,0 +1,250 @@
+package io.hhplus.tdd.store;
+
+import io.hhplus.tdd.point.LeaderboardEntry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 포인트 순위표 (order-statistic treap)
+ * - (포인트 내림차순, userId 오름차순) 으로 정렬하고 노드마다 서브트리 크기를 들고 있어
+ *   갱신/순위 조회는 O(log n), 상위 N 명 조회는 O(log n + N) 이다.
+ * - 포인트 기록은 유저의 최신 포인트를 적고 유저를 반영 대기(dirty)에 넣기만 하므로 락을 기다리지 않는다.
+ *   쓰기 락이 비어 있으면 기록한 스레드가, 아니면 다음 기록이나 조회가 대기 중인 유저를 모아 트리에 반영한다.
+ *   같은 유저가 반영 전에 여러 번 바뀌면 마지막 값만 한 번 반영한다.
+ * - 조회는 대기 중인 유저를 먼저 반영한 뒤 읽기 락으로 읽으므로, 기록이 끝난 포인트는 바로 조회된다.
+ */
+public class BalanceLeaderboard {
+
+    private static final class Node {
+        final long point;
+        final long userId;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(long point, long userId, int priority) {
+            this.point = point;
+            this.userId = userId;
+            this.priority = priority;
+        }
+    }
+
+    //유저별 최신 포인트
+    private final ConcurrentHashMap<Long, Long> points = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    //트리에 반영된 포인트, 쓰기 락 안에서만 바꾼다
+    private final Map<Long, Long> indexed = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    public void update(long userId, long point) {
+        points.put(userId, point);
+        dirty.add(userId);
+        //다른 스레드가 반영하거나 조회 중이면 기다리지 않는다
+        if (lock.writeLock().tryLock()) {
+            try {
+                applyPending();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    //상위 limit 명, 1위부터
+    public List<LeaderboardEntry> top(int limit) {
+        catchUp();
+        lock.readLock().lock();
+        try {
+            List<LeaderboardEntry> entries = new ArrayList<>(Math.min(limit, size(root)));
+            collect(root, limit, entries);
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //순위표에 없는 유저는 null
+    public LeaderboardEntry rankOf(long userId) {
+        catchUp();
+        lock.readLock().lock();
+        try {
+            Long point = indexed.get(userId);
+            if (point == null) {
+                return null;
+            }
+            return new LeaderboardEntry(countAhead(point, userId) + 1, userId, point);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //(point, userId) 보다 앞서는 유저 수, 순위표에 없는 유저 기준으로도 셀 수 있다
+    public long countAhead(long point, long userId) {
+        catchUp();
+        lock.readLock().lock();
+        try {
+            return countAhead(root, point, userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        catchUp();
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void catchUp() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            applyPending();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //쓰기 락 안에서 호출한다, 대기에서 뺀 뒤 최신 값을 읽으므로 그 사이 바뀐 유저는 다시 대기에 들어간다
+    private void applyPending() {
+        for (Iterator<Long> iterator = dirty.iterator(); iterator.hasNext(); ) {
+            Long userId = iterator.next();
+            iterator.remove();
+            long point = points.get(userId);
+            Long previous = indexed.put(userId, point);
+            if (previous != null) {
+                if (previous == point) {
+                    continue;
+                }
+                root = remove(root, previous, userId);
+            }
+            root = insert(root, new Node(point, userId, random.nextInt()));
+        }
+    }
+
+    private static long countAhead(Node node, long point, long userId) {
+        long ahead = 0;
+        while (node != null) {
+            int cmp = compare(point, userId, node);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                ahead += size(node.left) + 1;
+                node = node.right;
+            } else {
+                ahead += size(node.left);
+                break;
+            }
+        }
+        return ahead;
+    }
+
+    private void collect(Node node, int limit, List<LeaderboardEntry> out) {
+        if (node == null || out.size() >= limit) {
+            return;
+        }
+        collect(node.left, limit, out);
+        if (out.size() < limit) {
+            out.add(new LeaderboardEntry(out.size() + 1, node.userId, node.point));
+            collect(node.right, limit, out);
+        }
+    }
+
+    //포인트가 클수록, 같으면 userId 가 작을수록 앞선다
+    private static int compare(long point, long userId, Node node) {
+        if (point != node.point) {
+            return point > node.point ? -1 : 1;
+        }
+        return Long.compare(userId, node.userId);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.point, added.userId, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node remove(Node node, long point, long userId) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(point, userId, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, point, userId);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, point, userId);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            if (node.left.priority > node.right.priority) {
+                node = rotateRight(node);
+                node.right = remove(node.right, point, userId);
+            } else {
+                node = rotateLeft(node);
+                node.left = remove(node.left, point, userId);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
@@ -0,0 +1,238 @@
+package io.hhplus.tdd.store;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * 유저별 포인트 버전 저장소 (청크 단위 append-only)
+ * - 포인트가 바뀔 때마다 불변 버전(포인트, updateMillis, 내역 id)을 유저의 마지막 청크 빈 칸에 쓴다. 기존 버전은 복사하지 않는다.
+ * - 쓰기는 유저 락 안에서만 일어나고, 칸을 채운 뒤 청크의 count(volatile)를 늘리므로 읽기는 락 없이 count 까지의 버전만 본다.
+ * - 정리는 앞 청크를 통째로 떼어 내는 것으로 끝난다 (청크 참조 배열만 새로 만든다). 새 청크를 붙일 때와 주기적인 sweep 에서 한다.
+ *   보관 기간 시작 시점의 잔액을 알 수 있도록 그 시점 버전이 든 청크는 남기고, 유저당 청크 수는 maxChunks 를 넘지 않는다.
+ * - sweep 은 보관 기간 동안 쓰기가 없던 유저의 버전을 최신 버전 하나로 줄인다.
+ *   최신 버전은 일괄 조회와 정합성 검사가 쓰므로 유저 항목 자체는 남긴다.
+ * - 청크 배열을 바꾸는 쓰기와 sweep 은 유저 항목의 모니터로 서로를 막는다 (쓰기는 유저 락 안이라 평소에는 경합이 없다).
+ * - asOf 조회는 청크와 청크 안을 차례로 이진 탐색하므로 O(log 버전 수) 이다.
+ */
+public class BalanceVersionStore {
+
+    //청크 하나에 담는 버전 수
+    public static final int CHUNK_SIZE = 64;
+
+    public record BalanceVersion(long point, long updateMillis, long historyId) {
+    }
+
+    private static final class Chunk {
+        final BalanceVersion[] versions;
+        volatile int count;
+
+        Chunk(int capacity) {
+            this.versions = new BalanceVersion[capacity];
+        }
+    }
+
+    private static final class VersionChain {
+        //오래된 청크부터, 마지막 청크에만 쓴다
+        volatile Chunk[] chunks = new Chunk[0];
+        volatile BalanceVersion latest;
+        //보관 기간이나 청크 수 상한으로 앞쪽 버전을 버린 적이 있는지
+        volatile boolean truncated;
+    }
+
+    private final ConcurrentHashMap<Long, VersionChain> chains = new ConcurrentHashMap<>();
+    private final long retentionMillis;
+    private final int maxChunks;
+    private final LongSupplier clock;
+
+    public BalanceVersionStore(long retentionMillis, int maxVersionsPerUser) {
+        this(retentionMillis, maxVersionsPerUser, System::currentTimeMillis);
+    }
+
+    //maxVersionsPerUser 는 청크 단위로 올림한다
+    public BalanceVersionStore(long retentionMillis, int maxVersionsPerUser, LongSupplier clock) {
+        if (maxVersionsPerUser <= 0) {
+            throw new IllegalArgumentException("maxVersionsPerUser must be greater than 0");
+        }
+        this.retentionMillis = retentionMillis;
+        this.maxChunks = Math.max(2, (maxVersionsPerUser + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        this.clock = clock;
+    }
+
+    //포인트 기록 후 유저 락 안에서 호출한다
+    public void publish(long userId, long point, long updateMillis, long historyId) {
+        VersionChain chain = chains.computeIfAbsent(userId, id -> new VersionChain());
+        synchronized (chain) {
+            append(chain, point, updateMillis, historyId);
+        }
+    }
+
+    private void append(VersionChain chain, long point, long updateMillis, long historyId) {
+        BalanceVersion previous = chain.latest;
+        //시계가 뒤로 가더라도 버전 순서는 유지한다
+        long millis = previous == null ? updateMillis : Math.max(updateMillis, previous.updateMillis());
+        BalanceVersion version = new BalanceVersion(point, millis, historyId);
+
+        Chunk[] chunks = chain.chunks;
+        Chunk tail = chunks.length == 0 ? null : chunks[chunks.length - 1];
+        if (tail != null && tail.count < tail.versions.length) {
+            tail.versions[tail.count] = version;
+            tail.count = tail.count + 1;
+        } else {
+            Chunk chunk = new Chunk(CHUNK_SIZE);
+            chunk.versions[0] = version;
+            chunk.count = 1;
+            int from = firstRetained(chunks, clock.getAsLong() - retentionMillis);
+            Chunk[] next = Arrays.copyOfRange(chunks, from, chunks.length + 1);
+            next[next.length - 1] = chunk;
+            if (from > 0) {
+                chain.truncated = true;
+            }
+            chain.chunks = next;
+        }
+        chain.latest = version;
+    }
+
+    //가장 최근 버전, 기록된 적 없으면 null
+    public UserPoint latest(long userId) {
+        VersionChain chain = chains.get(userId);
+        BalanceVersion version = chain != null ? chain.latest : null;
+        if (version == null) {
+            return null;
+        }
+        return new UserPoint(userId, version.point(), version.updateMillis());
+    }
+
+    /**
+     * asOfMillis 시점의 포인트
+     * - 그 시점 이전에 기록이 없으면 0 포인트
+     * - 보관 중인 버전보다 오래된 시점이면 IllegalArgumentException
+     */
+    public UserPoint asOf(long userId, long asOfMillis) {
+        VersionChain chain = chains.get(userId);
+        if (chain == null) {
+            return new UserPoint(userId, 0L, asOfMillis);
+        }
+        Chunk[] chunks = chain.chunks;
+        int chunkIndex = lastChunkAtOrBefore(chunks, asOfMillis);
+        //truncated 는 청크를 떼어 내기 전에 쓰이므로 청크 배열을 읽은 뒤에 확인한다
+        if (chunkIndex < 0) {
+            if (chain.truncated) {
+                throw new IllegalArgumentException("asOf is older than the retained versions: " + asOfMillis);
+            }
+            return new UserPoint(userId, 0L, asOfMillis);
+        }
+        Chunk chunk = chunks[chunkIndex];
+        BalanceVersion version = chunk.versions[lastAtOrBefore(chunk, asOfMillis)];
+        return new UserPoint(userId, version.point(), version.updateMillis());
+    }
+
+    /**
+     * 보관 기간이 지난 버전을 정리한다 (주기적으로 호출)
+     * - 쓰기가 계속되는 유저는 새 청크를 붙일 때와 같은 기준으로 앞 청크를 떼어 낸다.
+     * - 보관 기간 동안 쓰기가 없던 유저는 최신 버전 하나만 남긴다.
+     * 정리한 유저 수를 돌려준다.
+     */
+    public int sweep() {
+        long cutoffMillis = clock.getAsLong() - retentionMillis;
+        int swept = 0;
+        for (VersionChain chain : chains.values()) {
+            synchronized (chain) {
+                if (prune(chain, cutoffMillis)) {
+                    swept++;
+                }
+            }
+        }
+        return swept;
+    }
+
+    private boolean prune(VersionChain chain, long cutoffMillis) {
+        Chunk[] chunks = chain.chunks;
+        BalanceVersion latest = chain.latest;
+        if (latest == null || chunks.length == 0) {
+            return false;
+        }
+        if (latest.updateMillis() <= cutoffMillis) {
+            if (chunks.length == 1 && chunks[0].count == 1) {
+                return false;
+            }
+            Chunk compacted = new Chunk(1);
+            compacted.versions[0] = latest;
+            compacted.count = 1;
+            //truncated 를 먼저 쓰고 청크를 바꾼다 (asOf 는 청크 배열을 읽은 뒤 truncated 를 본다)
+            chain.truncated = true;
+            chain.chunks = new Chunk[]{compacted};
+            return true;
+        }
+        int from = Math.max(0, lastChunkAtOrBefore(chunks, cutoffMillis));
+        if (from == 0) {
+            return false;
+        }
+        chain.truncated = true;
+        chain.chunks = Arrays.copyOfRange(chunks, from, chunks.length);
+        return true;
+    }
+
+    //포인트가 기록된 적 있는 모든 유저
+    public void forEachUser(LongConsumer action) {
+        chains.keySet().forEach(action::accept);
+    }
+
+    public int versionCount(long userId) {
+        VersionChain chain = chains.get(userId);
+        if (chain == null) {
+            return 0;
+        }
+        int count = 0;
+        for (Chunk chunk : chain.chunks) {
+            count += chunk.count;
+        }
+        return count;
+    }
+
+    /*
+     * 남길 첫 청크: cutoff 시점의 잔액을 나타내는 버전이 든 청크부터 남기고,
+     * 새 청크를 붙였을 때 maxChunks 를 넘으면 그만큼 더 버린다.
+     */
+    private int firstRetained(Chunk[] chunks, long cutoffMillis) {
+        int from = Math.max(0, lastChunkAtOrBefore(chunks, cutoffMillis));
+        return Math.max(from, chunks.length + 1 - maxChunks);
+    }
+
+    //첫 버전이 millis 이하인 마지막 청크
+    private static int lastChunkAtOrBefore(Chunk[] chunks, long millis) {
+        int low = 0;
+        int high = chunks.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (chunks[mid].versions[0].updateMillis() <= millis) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    //청크 안에서 updateMillis 가 millis 이하인 마지막 버전 (첫 버전은 millis 이하여야 한다)
+    private static int lastAtOrBefore(Chunk chunk, long millis) {
+        int low = 0;
+        int high = chunk.count - 1;
+        int found = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (chunk.versions[mid].updateMillis() <= millis) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+}
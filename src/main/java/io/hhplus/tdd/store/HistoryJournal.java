@@ -0,0 +1,173 @@
+package io.hhplus.tdd.store;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 기록된 PointHistory 를 기록 순서대로 모아 두는 추가 전용 저널
+ * - PointHistoryTable 은 유저별 조회만 공개하므로, 전체를 한 번에 훑는 작업(정합성 검사 등)은 이 저널을 읽는다.
+ * - 4096 행 단위 청크에 컬럼별 primitive 배열로 담아 PointHistory 객체를 따로 보관하지 않는다.
+ * - 쓰기는 자리를 먼저 받고(claim) 행을 채운 뒤 그 행의 공개 표시를 켠다(publish). 그다음 size 부터 공개된 행이
+ *   이어지는 만큼 CAS 로 size 를 늘린다. 앞 행이 아직 공개되지 않았으면 기다리지 않고 돌아가며, 앞 행을 쓰는 스레드가
+ *   공개한 뒤 뒤따라 공개된 행까지 size 를 늘린다. 그래서 멈춘 쓰기 스레드가 있어도 다른 쓰기는 막히지 않는다 (lock-free).
+ * - 청크는 두 단계 디렉터리(1024 x 1024 청크)에 CAS 로 붙이므로 청크를 만들 때도 락을 잡지 않는다.
+ * - 읽기는 size 를 먼저 읽은 뒤 그 안쪽만 읽으므로 락이 필요 없다. 멈춘 쓰기가 있으면 그 뒤의 행은 공개될 때까지 보이지 않는다.
+ * - 기록 시각 구간 조회는 HistoryTimeIndex 로 하며, 인덱스는 백그라운드 인덱서가 공개된 행까지 따라잡으므로 쓰기 경로에 없다.
+ */
+public class HistoryJournal {
+
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int DIRECTORY_SHIFT = 10;
+    private static final int DIRECTORY_SIZE = 1 << DIRECTORY_SHIFT;
+    private static final int DIRECTORY_MASK = DIRECTORY_SIZE - 1;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private static final class Chunk {
+        final long[] ids = new long[CHUNK_SIZE];
+        final long[] userIds = new long[CHUNK_SIZE];
+        final long[] amounts = new long[CHUNK_SIZE];
+        final long[] updateMillis = new long[CHUNK_SIZE];
+        final byte[] types = new byte[CHUNK_SIZE];
+        //행을 다 채운 뒤 1 로 바꾼다
+        final AtomicIntegerArray published = new AtomicIntegerArray(CHUNK_SIZE);
+    }
+
+    //시각 인덱스 버킷 기본 크기 (1분)
+    public static final long DEFAULT_BUCKET_MILLIS = 60_000;
+
+    //청크 디렉터리, 원소는 처음 쓰는 스레드가 CAS 로 붙인다
+    private final AtomicReferenceArray<AtomicReferenceArray<Chunk>> directory = new AtomicReferenceArray<>(DIRECTORY_SIZE);
+    private final AtomicLong claimed = new AtomicLong();
+    //이 앞의 행은 모두 공개됐다
+    private final AtomicLong size = new AtomicLong();
+    private final HistoryTimeIndex timeIndex;
+
+    public HistoryJournal() {
+        this(DEFAULT_BUCKET_MILLIS);
+    }
+
+    public HistoryJournal(long bucketMillis) {
+        this.timeIndex = new HistoryTimeIndex(this, bucketMillis);
+    }
+
+    public void append(PointHistory pointHistory) {
+        long index = claimed.getAndIncrement();
+        Chunk chunk = chunkFor(index);
+        int row = (int) (index & CHUNK_MASK);
+        chunk.ids[row] = pointHistory.id();
+        chunk.userIds[row] = pointHistory.userId();
+        chunk.amounts[row] = pointHistory.amount();
+        chunk.updateMillis[row] = pointHistory.updateMillis();
+        chunk.types[row] = (byte) pointHistory.type().ordinal();
+        chunk.published.set(row, 1);
+        advance();
+    }
+
+    /*
+     * size 부터 공개된 행이 이어지는 만큼 size 를 늘린다.
+     * 공개 표시를 켠 뒤 size 를 읽으므로, 앞 행의 스레드가 size 를 이 행까지 늘린 뒤 이 행의 표시를 읽거나
+     * 이 스레드가 늘어난 size 를 읽는다. 어느 쪽이든 공개된 행은 빠짐없이 size 안으로 들어온다.
+     */
+    private void advance() {
+        long current = size.get();
+        while (isPublished(current)) {
+            if (size.compareAndSet(current, current + 1)) {
+                current++;
+            } else {
+                current = size.get();
+            }
+        }
+    }
+
+    private boolean isPublished(long index) {
+        Chunk chunk = chunkAt(index);
+        return chunk != null && chunk.published.get((int) (index & CHUNK_MASK)) == 1;
+    }
+
+    //없으면 null
+    private Chunk chunkAt(long index) {
+        long chunkIndex = index >>> CHUNK_SHIFT;
+        long directoryIndex = chunkIndex >>> DIRECTORY_SHIFT;
+        if (directoryIndex >= DIRECTORY_SIZE) {
+            return null;
+        }
+        AtomicReferenceArray<Chunk> chunks = directory.get((int) directoryIndex);
+        return chunks == null ? null : chunks.get((int) (chunkIndex & DIRECTORY_MASK));
+    }
+
+    private Chunk chunkFor(long index) {
+        long chunkIndex = index >>> CHUNK_SHIFT;
+        int directoryIndex = (int) (chunkIndex >>> DIRECTORY_SHIFT);
+        if (directoryIndex >= DIRECTORY_SIZE) {
+            throw new IllegalStateException("History journal is full: index=" + index);
+        }
+        AtomicReferenceArray<Chunk> chunks = directory.get(directoryIndex);
+        if (chunks == null) {
+            directory.compareAndSet(directoryIndex, null, new AtomicReferenceArray<>(DIRECTORY_SIZE));
+            chunks = directory.get(directoryIndex);
+        }
+        int at = (int) (chunkIndex & DIRECTORY_MASK);
+        Chunk chunk = chunks.get(at);
+        if (chunk == null) {
+            chunks.compareAndSet(at, null, new Chunk());
+            chunk = chunks.get(at);
+        }
+        return chunk;
+    }
+
+    public HistoryTimeIndex timeIndex() {
+        return timeIndex;
+    }
+
+    public long size() {
+        return size.get();
+    }
+
+    public long idAt(long index) {
+        return chunk(index).ids[(int) (index & CHUNK_MASK)];
+    }
+
+    public long userIdAt(long index) {
+        return chunk(index).userIds[(int) (index & CHUNK_MASK)];
+    }
+
+    public long amountAt(long index) {
+        return chunk(index).amounts[(int) (index & CHUNK_MASK)];
+    }
+
+    public long updateMillisAt(long index) {
+        return chunk(index).updateMillis[(int) (index & CHUNK_MASK)];
+    }
+
+    public TransactionType typeAt(long index) {
+        return TYPES[chunk(index).types[(int) (index & CHUNK_MASK)]];
+    }
+
+    //포인트에 더해지는 방향을 반영한 금액
+    public long signedAmountAt(long index) {
+        Chunk chunk = chunk(index);
+        int row = (int) (index & CHUNK_MASK);
+        return TYPES[chunk.types[row]].signed(chunk.amounts[row]);
+    }
+
+    public PointHistory get(long index) {
+        Chunk chunk = chunk(index);
+        int row = (int) (index & CHUNK_MASK);
+        return new PointHistory(chunk.ids[row], chunk.userIds[row], chunk.amounts[row],
+                TYPES[chunk.types[row]], chunk.updateMillis[row]);
+    }
+
+    private Chunk chunk(long index) {
+        long current = size.get();
+        if (index < 0 || index >= current) {
+            throw new IndexOutOfBoundsException("index=" + index + ", size=" + current);
+        }
+        return chunkAt(index);
+    }
+}
@@ -0,0 +1,290 @@
+package io.hhplus.tdd.store;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * HistoryJournal 의 updateMillis 순 보조 인덱스
+ * - updateMillis 를 bucketMillis 단위 버킷으로 나누고, 버킷 안에는 거래 종류별로 (updateMillis, id) 순으로 정렬된 Run 들을 둔다.
+ * - 저널 쓰기 경로에서는 인덱스를 건드리지 않는다. 인덱서 스레드 하나가 catchUp 으로 공개된 행을 maxRows 개씩 정렬해
+ *   새 Run 으로 붙이고, 크기가 비슷한 Run 끼리 합쳐 거래 종류별 Run 수를 O(log n) 으로 유지한다.
+ * - Run 은 만든 뒤 바꾸지 않고 버킷의 Run 목록은 새 배열로 바꿔 공개하므로, 조회는 락 없이 공개된 스냅샷을 읽는다.
+ *   구간 조회는 O(log 버킷 수 + Run 수 x log Run 크기 + 결과 수 x Run 수) 이다.
+ * - 인덱스에 들어가기 전의 행은 조회되지 않는다. caughtUpMillis 이전에 저널에 공개된 행은 모두 들어가 있다.
+ */
+public class HistoryTimeIndex {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final Run[] EMPTY = new Run[0];
+
+    //(updateMillis, id) 다음부터 이어 읽는 위치
+    public record Cursor(long updateMillis, long id) {
+
+        public static Cursor parse(String value) {
+            int separator = value.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor: " + value);
+            }
+            try {
+                return new Cursor(Long.parseLong(value.substring(0, separator)), Long.parseLong(value.substring(separator + 1)));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Malformed cursor: " + value, e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return updateMillis + ":" + id;
+        }
+    }
+
+    //거래 종류 하나의 정렬된 행 묶음, 만든 뒤에는 바꾸지 않는다
+    private static final class Run {
+        final long[] millis;
+        final long[] ids;
+        final long[] positions;
+
+        Run(long[] millis, long[] ids, long[] positions) {
+            this.millis = millis;
+            this.ids = ids;
+            this.positions = positions;
+        }
+
+        int size() {
+            return millis.length;
+        }
+
+        //(updateMillis, id) 보다 뒤에 있는 첫 행
+        int after(long updateMillis, long id) {
+            int low = 0;
+            int high = millis.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(millis[mid], ids[mid], updateMillis, id) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        static Run merge(Run left, Run right) {
+            int size = left.size() + right.size();
+            long[] millis = new long[size];
+            long[] ids = new long[size];
+            long[] positions = new long[size];
+            int l = 0;
+            int r = 0;
+            for (int i = 0; i < size; i++) {
+                boolean takeLeft = r == right.size() || (l < left.size()
+                        && compare(left.millis[l], left.ids[l], right.millis[r], right.ids[r]) <= 0);
+                Run from = takeLeft ? left : right;
+                int at = takeLeft ? l++ : r++;
+                millis[i] = from.millis[at];
+                ids[i] = from.ids[at];
+                positions[i] = from.positions[at];
+            }
+            return new Run(millis, ids, positions);
+        }
+    }
+
+    private static final class Bucket {
+        //거래 종류별 Run 목록 (큰 것부터), 인덱서가 새 배열로 바꿔 공개한다
+        volatile Run[][] runs;
+
+        Bucket() {
+            Run[][] empty = new Run[TYPES.length][];
+            Arrays.fill(empty, EMPTY);
+            this.runs = empty;
+        }
+    }
+
+    private final ConcurrentSkipListMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+    private final HistoryJournal historyJournal;
+    private final long bucketMillis;
+    //인덱서만 쓴다 (catchUp 은 this 모니터 안에서 실행된다)
+    private volatile long indexedSize;
+    private volatile long caughtUpMillis;
+
+    HistoryTimeIndex(HistoryJournal historyJournal, long bucketMillis) {
+        if (bucketMillis <= 0) {
+            throw new IllegalArgumentException("Bucket millis must be greater than 0");
+        }
+        this.historyJournal = historyJournal;
+        this.bucketMillis = bucketMillis;
+    }
+
+    //저널에 공개된 행을 한 번에 모두 인덱스에 넣는다
+    public void catchUp() {
+        catchUp(Integer.MAX_VALUE);
+    }
+
+    /**
+     * 저널에 공개된 행을 최대 maxRows 개 인덱스에 넣고, 시작할 때 공개돼 있던 행까지 다 넣었으면 true
+     * 인덱서(백그라운드 스케줄러)가 부르며, 조회는 이 모니터를 잡지 않는다.
+     */
+    public synchronized boolean catchUp(int maxRows) {
+        if (maxRows <= 0) {
+            throw new IllegalArgumentException("Max rows must be greater than 0");
+        }
+        long startedMillis = System.currentTimeMillis();
+        long size = historyJournal.size();
+        long end = Math.min(size, indexedSize + maxRows);
+        if (end > indexedSize) {
+            index(indexedSize, end);
+            indexedSize = end;
+        }
+        if (end < size) {
+            return false;
+        }
+        caughtUpMillis = startedMillis;
+        return true;
+    }
+
+    //이 시각 이전에 저널에 공개된 행은 모두 조회된다
+    public long caughtUpMillis() {
+        return caughtUpMillis;
+    }
+
+    public long indexedSize() {
+        return indexedSize;
+    }
+
+    //[from, to) 행을 (거래 종류, updateMillis, id) 순으로 정렬해 버킷/거래 종류별 Run 으로 붙인다
+    private void index(long from, long to) {
+        int count = (int) (to - from);
+        long[] millis = new long[count];
+        long[] ids = new long[count];
+        int[] types = new int[count];
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            millis[i] = historyJournal.updateMillisAt(from + i);
+            ids[i] = historyJournal.idAt(from + i);
+            types[i] = historyJournal.typeAt(from + i).ordinal();
+            order[i] = i;
+        }
+        //저널 순서는 시각 순서와 거의 같으므로 정렬은 거의 선형이다
+        Arrays.sort(order, (left, right) -> {
+            int byType = Integer.compare(types[left], types[right]);
+            return byType != 0 ? byType : compare(millis[left], ids[left], millis[right], ids[right]);
+        });
+        int groupStart = 0;
+        for (int i = 1; i <= count; i++) {
+            if (i < count && types[order[i]] == types[order[groupStart]]
+                    && bucketOf(millis[order[i]]) == bucketOf(millis[order[groupStart]])) {
+                continue;
+            }
+            int size = i - groupStart;
+            long[] runMillis = new long[size];
+            long[] runIds = new long[size];
+            long[] runPositions = new long[size];
+            for (int j = 0; j < size; j++) {
+                int row = order[groupStart + j];
+                runMillis[j] = millis[row];
+                runIds[j] = ids[row];
+                runPositions[j] = from + row;
+            }
+            int first = order[groupStart];
+            add(buckets.computeIfAbsent(bucketOf(millis[first]), key -> new Bucket()), types[first],
+                    new Run(runMillis, runIds, runPositions));
+            groupStart = i;
+        }
+    }
+
+    //앞의 Run 이 새 Run 의 두 배를 넘지 않으면 합친다, Run 크기가 두 배씩 줄어들어 Run 수는 O(log n) 이다
+    private static void add(Bucket bucket, int type, Run added) {
+        Run[] current = bucket.runs[type];
+        int keep = current.length;
+        while (keep > 0 && current[keep - 1].size() <= 2 * added.size()) {
+            added = Run.merge(current[--keep], added);
+        }
+        Run[] next = Arrays.copyOf(current, keep + 1);
+        next[keep] = added;
+        Run[][] runs = bucket.runs.clone();
+        runs[type] = next;
+        bucket.runs = runs;
+    }
+
+    private long bucketOf(long updateMillis) {
+        return Math.floorDiv(updateMillis, bucketMillis);
+    }
+
+    /**
+     * [fromMillis, toMillis) 구간의 내역을 (updateMillis, id) 순으로 최대 limit 개 돌려준다.
+     * type 이 null 이면 모든 거래 종류, cursor 가 있으면 그 다음부터 읽는다.
+     */
+    public PointHistoryPage range(long fromMillis, long toMillis, TransactionType type, Cursor cursor, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be greater than 0");
+        }
+        //from 이전은 (from - 1, MAX) 다음부터 읽는 것과 같다
+        long afterMillis = fromMillis - 1;
+        long afterId = Long.MAX_VALUE;
+        if (cursor != null && compare(cursor.updateMillis(), cursor.id(), afterMillis, afterId) > 0) {
+            afterMillis = cursor.updateMillis();
+            afterId = cursor.id();
+        }
+        List<PointHistory> histories = new ArrayList<>(Math.min(limit, 1024));
+        if (fromMillis >= toMillis || afterMillis >= toMillis) {
+            return new PointHistoryPage(histories, null);
+        }
+        NavigableMap<Long, Bucket> window = buckets.subMap(
+                bucketOf(Math.max(afterMillis, fromMillis)), true, bucketOf(toMillis - 1), true);
+        for (Bucket bucket : window.values()) {
+            if (collect(bucket, type, afterMillis, afterId, toMillis, limit, histories)) {
+                PointHistory last = histories.get(histories.size() - 1);
+                return new PointHistoryPage(histories, new Cursor(last.updateMillis(), last.id()).toString());
+            }
+        }
+        return new PointHistoryPage(histories, null);
+    }
+
+    //버킷의 정렬된 Run 들을 합쳐 읽는다, limit 에 닿으면 true
+    private boolean collect(Bucket bucket, TransactionType type, long afterMillis, long afterId, long toMillis,
+                            int limit, List<PointHistory> histories) {
+        Run[][] snapshot = bucket.runs;
+        List<Run> runs = new ArrayList<>();
+        for (int t = 0; t < snapshot.length; t++) {
+            if (type == null || type.ordinal() == t) {
+                runs.addAll(Arrays.asList(snapshot[t]));
+            }
+        }
+        int[] next = new int[runs.size()];
+        for (int i = 0; i < next.length; i++) {
+            next[i] = runs.get(i).after(afterMillis, afterId);
+        }
+        while (true) {
+            int pick = -1;
+            for (int i = 0; i < next.length; i++) {
+                Run run = runs.get(i);
+                if (next[i] >= run.size()) {
+                    continue;
+                }
+                if (pick < 0 || compare(run.millis[next[i]], run.ids[next[i]],
+                        runs.get(pick).millis[next[pick]], runs.get(pick).ids[next[pick]]) < 0) {
+                    pick = i;
+                }
+            }
+            if (pick < 0 || runs.get(pick).millis[next[pick]] >= toMillis) {
+                return false;
+            }
+            if (histories.size() == limit) {
+                return true;
+            }
+            histories.add(historyJournal.get(runs.get(pick).positions[next[pick]++]));
+        }
+    }
+
+    private static int compare(long leftMillis, long leftId, long rightMillis, long rightId) {
+        int byMillis = Long.compare(leftMillis, rightMillis);
+        return byMillis != 0 ? byMillis : Long.compare(leftId, rightId);
+    }
+}
@@ -0,0 +1,172 @@
+package io.hhplus.tdd.store;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.LongStream;
+
+/**
+ * 포인트/내역을 한 번이라도 기록한 유저를 담는 블룸 필터
+ * - mightContain 이 false 면 그 유저는 기록이 전혀 없으므로 저장소를 조회하지 않아도 된다.
+ * - 기록 전에 put 하므로 동시에 들어온 조회가 방금 기록된 유저를 놓치지 않는다.
+ * - 비트 배열은 AtomicLongArray 라 락 없이 여러 스레드가 동시에 쓸 수 있다.
+ * - rebuild 는 새 비트 배열을 따로 채운 뒤 한 번에 바꿔 끼우므로, 그동안의 조회는 이전 배열을 그대로 본다.
+ *   rebuild 중의 put 은 두 배열 모두에 쓰므로 바꿔 끼운 뒤에도 사라지지 않는다.
+ */
+public class KnownUserFilter {
+
+    private static final KnownUserFilter DISABLED = new KnownUserFilter();
+
+    private final long bitSize;
+    private final int hashCount;
+    //조회/기록에 쓰는 비트 배열, rebuild 가 끝나면 새 배열로 바뀐다
+    private volatile Bits bits;
+    //rebuild 중에 채우고 있는 새 비트 배열
+    private volatile Bits rebuilding;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder negatives = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public KnownUserFilter(long expectedUsers, double falsePositiveRate) {
+        if (expectedUsers <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Expected users must be > 0 and false positive rate in (0, 1)");
+        }
+        long optimalBits = (long) Math.ceil(-expectedUsers * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) >>> 6);
+        this.bits = new Bits(words);
+        this.bitSize = (long) words << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedUsers * Math.log(2)));
+    }
+
+    //항상 "있을 수 있음" 으로 답하는 필터 (필터를 끈 경우)
+    private KnownUserFilter() {
+        this.bits = null;
+        this.bitSize = 0;
+        this.hashCount = 0;
+    }
+
+    public static KnownUserFilter disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return bits != null;
+    }
+
+    public void put(long userId) {
+        Bits current = bits;
+        if (current == null) {
+            return;
+        }
+        long h1 = mix(userId);
+        long h2 = mix(h1) | 1L;
+        put(current, h1, h2);
+        //rebuild 중이면 새 배열에도, 그 사이 새 배열로 바뀌었으면 바뀐 배열에도 쓴다
+        Bits next = rebuilding;
+        if (next != null) {
+            put(next, h1, h2);
+        }
+        Bits swapped = bits;
+        if (swapped != current && swapped != next) {
+            put(swapped, h1, h2);
+        }
+    }
+
+    private void put(Bits target, long h1, long h2) {
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitSize);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long previous = target.words.getAndAccumulate(word, mask, (current, bit) -> current | bit);
+            if ((previous & mask) == 0) {
+                target.setBits.incrementAndGet();
+            }
+        }
+    }
+
+    public boolean mightContain(long userId) {
+        Bits current = bits;
+        if (current == null) {
+            return true;
+        }
+        lookups.increment();
+        long h1 = mix(userId);
+        long h2 = mix(h1) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitSize);
+            if ((current.words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                negatives.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //필터는 통과했지만 저장소에 기록이 없었던 경우
+    public void recordFalsePositive() {
+        if (bits != null) {
+            falsePositives.increment();
+        }
+    }
+
+    //주어진 유저로 새 비트 배열을 채운 뒤 바꿔 끼운다, 그동안 put 된 유저도 새 배열에 남는다
+    public synchronized void rebuild(LongStream userIds) {
+        Bits current = bits;
+        if (current == null) {
+            return;
+        }
+        Bits next = new Bits(current.words.length());
+        rebuilding = next;
+        userIds.forEach(userId -> {
+            long h1 = mix(userId);
+            put(next, h1, mix(h1) | 1L);
+        });
+        bits = next;
+        rebuilding = null;
+    }
+
+    public long lookups() {
+        return lookups.sum();
+    }
+
+    public long negatives() {
+        return negatives.sum();
+    }
+
+    public long falsePositives() {
+        return falsePositives.sum();
+    }
+
+    //실제로 관측된 오탐률 = 오탐 / (오탐 + 걸러낸 조회)
+    public double observedFalsePositiveRate() {
+        long fp = falsePositives();
+        long total = fp + negatives();
+        return total == 0 ? 0.0 : (double) fp / total;
+    }
+
+    //현재 채워진 비트 비율로 계산한 예상 오탐률
+    public double expectedFalsePositiveRate() {
+        Bits current = bits;
+        if (current == null) {
+            return 1.0;
+        }
+        return Math.pow((double) current.setBits.get() / bitSize, hashCount);
+    }
+
+    private static final class Bits {
+        private final AtomicLongArray words;
+        private final AtomicLong setBits = new AtomicLong();
+
+        Bits(int length) {
+            this.words = new AtomicLongArray(length);
+        }
+    }
+
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,55 @@
+package io.hhplus.tdd.util;
+
+import io.hhplus.tdd.exception.PointTimeoutException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 요청 단위 처리 기한
+ * - 서비스에서 한 번 만들고 락 획득, 저장소 호출까지 그대로 전달한다.
+ */
+public final class Deadline {
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static Deadline after(long timeoutMillis) {
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    }
+
+    //System.nanoTime() 기준 만료 시각
+    public long deadlineNanos() {
+        return deadlineNanos;
+    }
+
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    //기한이 지났으면 stage 단계에 들어가기 전에 취소한다
+    public void check(String stage) {
+        if (isExpired()) {
+            throw new PointTimeoutException(stage);
+        }
+    }
+
+    //남은 기한만큼만 락을 기다린다
+    public void lock(Lock lock) {
+        try {
+            if (!lock.tryLock(Math.max(0L, remainingNanos()), TimeUnit.NANOSECONDS)) {
+                throw new PointTimeoutException("lock");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PointTimeoutException("lock");
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.hhplus.study.main;
+
+import io.hhplus.tdd.point.LeaderboardEntry;
+import io.hhplus.tdd.store.BalanceLeaderboard;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BalanceLeaderboardTest {
+
+    // 포인트가 같으면 userId 가 작은 유저가 앞선다
+    @Test
+    public void testRankOf_TieBreaksByUserId() {
+        BalanceLeaderboard leaderboard = new BalanceLeaderboard();
+        leaderboard.update(3L, 100L);
+        leaderboard.update(1L, 100L);
+        leaderboard.update(2L, 500L);
+
+        assertEquals(new LeaderboardEntry(1L, 2L, 500L), leaderboard.rankOf(2L));
+        assertEquals(new LeaderboardEntry(2L, 1L, 100L), leaderboard.rankOf(1L));
+        assertEquals(new LeaderboardEntry(3L, 3L, 100L), leaderboard.rankOf(3L));
+        assertNull(leaderboard.rankOf(9L));
+        //순위표에 없는 (포인트, userId) 기준으로도 앞선 유저 수를 센다
+        assertEquals(2L, leaderboard.countAhead(100L, 2L));
+    }
+
+    // 포인트가 바뀌면 이전 순위는 지워지고 새 순위로 옮겨진다
+    @Test
+    public void testUpdate_MovesUser() {
+        BalanceLeaderboard leaderboard = new BalanceLeaderboard();
+        leaderboard.update(1L, 100L);
+        leaderboard.update(2L, 200L);
+        leaderboard.update(1L, 300L);
+
+        assertEquals(2, leaderboard.size());
+        assertEquals(List.of(new LeaderboardEntry(1L, 1L, 300L), new LeaderboardEntry(2L, 2L, 200L)), leaderboard.top(10));
+    }
+
+    // 무작위 갱신 후에도 정렬한 결과와 순위/상위 목록이 같다
+    @Test
+    public void testTopAndRank_MatchSortedSnapshot() {
+        BalanceLeaderboard leaderboard = new BalanceLeaderboard();
+        Map<Long, Long> points = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            long userId = random.nextInt(2_000);
+            long point = random.nextInt(1_000);
+            leaderboard.update(userId, point);
+            points.put(userId, point);
+        }
+
+        List<Map.Entry<Long, Long>> sorted = points.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<Long, Long>>comparingLong(Map.Entry::getValue).reversed()
+                        .thenComparingLong(Map.Entry::getKey))
+                .toList();
+
+        List<LeaderboardEntry> top = leaderboard.top(100);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(sorted.get(i).getKey(), top.get(i).userId());
+        }
+        for (int i = 0; i < sorted.size(); i += 97) {
+            assertEquals(i + 1, leaderboard.rankOf(sorted.get(i).getKey()).rank());
+        }
+        assertEquals(points.size(), leaderboard.size());
+    }
+
+    // 여러 스레드가 동시에 기록해도 유저마다 마지막 포인트로 순위가 매겨진다
+    @Test
+    public void testUpdate_Concurrent() throws Exception {
+        BalanceLeaderboard leaderboard = new BalanceLeaderboard();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                long base = t * 1_000L;
+                futures.add(executor.submit(() -> {
+                    for (long i = 0; i < 1_000; i++) {
+                        //유저마다 점점 커지는 값으로 여러 번 기록한다
+                        for (long point = 1; point <= 3; point++) {
+                            leaderboard.update(base + i, (base + i) * 10 + point);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(4_000, leaderboard.size());
+        assertEquals(new LeaderboardEntry(1L, 3_999L, 39_993L), leaderboard.top(1).get(0));
+        assertEquals(new LeaderboardEntry(4_000L, 0L, 3L), leaderboard.rankOf(0L));
+    }
+}
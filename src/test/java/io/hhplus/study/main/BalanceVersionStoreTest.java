@@ -0,0 +1,107 @@
+package io.hhplus.study.main;
+
+import io.hhplus.tdd.store.BalanceVersionStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BalanceVersionStoreTest {
+
+    // 시점 조회: 해당 시점 직전 버전의 포인트를 돌려준다
+    @Test
+    public void testAsOf_ReturnsVersionAtOrBefore() {
+        BalanceVersionStore store = new BalanceVersionStore(Long.MAX_VALUE / 2, 4096, () -> 0L);
+        store.publish(1L, 100L, 10L, 1L);
+        store.publish(1L, 150L, 20L, 2L);
+        store.publish(1L, 120L, 30L, 3L);
+
+        assertEquals(0L, store.asOf(1L, 5L).point());
+        assertEquals(100L, store.asOf(1L, 10L).point());
+        assertEquals(150L, store.asOf(1L, 29L).point());
+        assertEquals(120L, store.asOf(1L, 1_000L).point());
+        assertEquals(120L, store.latest(1L).point());
+        assertNull(store.latest(2L));
+    }
+
+    // 보관 기간이 지난 청크는 새 청크를 붙일 때 통째로 버리되 기간 시작 시점의 잔액이 든 청크는 남긴다
+    @Test
+    public void testPublish_DropsExpiredChunks() {
+        int chunk = BalanceVersionStore.CHUNK_SIZE;
+        AtomicLong now = new AtomicLong(0L);
+        BalanceVersionStore store = new BalanceVersionStore(1_000L, Integer.MAX_VALUE, now::get);
+        //0~chunk*2-1 시각에 두 청크를 채운다
+        for (int i = 0; i < chunk * 2; i++) {
+            store.publish(1L, i, i, i);
+        }
+
+        // 기간 시작(chunk + 10) 시점의 잔액은 두 번째 청크에 있으므로 첫 청크만 버린다
+        now.set(1_000L + chunk + 10);
+        store.publish(1L, 9_999L, now.get(), 9_999L);
+
+        assertEquals(chunk + 1, store.versionCount(1L));
+        assertEquals(chunk + 10, store.asOf(1L, chunk + 10).point());
+        assertEquals(9_999L, store.latest(1L).point());
+        assertThrows(IllegalArgumentException.class, () -> store.asOf(1L, 5L));
+    }
+
+    // sweep: 쓰기가 없는 유저도 보관 기간이 지난 청크를 버리고, 기간 내내 쓰기가 없던 유저는 최신 버전 하나만 남긴다
+    @Test
+    public void testSweep_PrunesWithoutWrites() {
+        int chunk = BalanceVersionStore.CHUNK_SIZE;
+        AtomicLong now = new AtomicLong(0L);
+        BalanceVersionStore store = new BalanceVersionStore(1_000L, Integer.MAX_VALUE, now::get);
+        for (int i = 0; i < chunk * 2; i++) {
+            store.publish(1L, i, i, i);
+        }
+        store.publish(2L, 500L, 5L, 1_000L);
+        store.publish(2L, 700L, 6L, 1_001L);
+
+        // 유저 1 은 기간 시작(chunk + 10) 이후에도 버전이 있으므로 첫 청크만 버린다
+        now.set(1_000L + chunk + 10);
+        assertEquals(2, store.sweep());
+
+        assertEquals(chunk, store.versionCount(1L));
+        assertEquals(chunk + 10, store.asOf(1L, chunk + 10).point());
+        assertThrows(IllegalArgumentException.class, () -> store.asOf(1L, 5L));
+        // 유저 2 는 최신 버전만 남고, 그 이후 시점과 최신 조회는 그대로다
+        assertEquals(1, store.versionCount(2L));
+        assertEquals(700L, store.latest(2L).point());
+        assertEquals(700L, store.asOf(2L, now.get()).point());
+        assertThrows(IllegalArgumentException.class, () -> store.asOf(2L, 5L));
+
+        // 더 줄일 것이 없으면 건드리지 않고, 줄인 뒤에도 이어서 쓸 수 있다
+        assertEquals(0, store.sweep());
+        store.publish(2L, 900L, now.get(), 1_002L);
+        assertEquals(2, store.versionCount(2L));
+        assertEquals(900L, store.latest(2L).point());
+        assertEquals(700L, store.asOf(2L, now.get() - 1).point());
+    }
+
+    // 보관 기간 안이라도 유저당 버전 수 상한을 넘으면 가장 오래된 청크부터 버린다
+    @Test
+    public void testPublish_CapsVersionsPerUser() {
+        int chunk = BalanceVersionStore.CHUNK_SIZE;
+        BalanceVersionStore store = new BalanceVersionStore(Long.MAX_VALUE / 2, chunk * 2, () -> 0L);
+        for (int i = 0; i < chunk * 10; i++) {
+            store.publish(1L, i, i, i);
+        }
+
+        assertEquals(chunk * 2, store.versionCount(1L));
+        assertEquals(chunk * 10 - 1, store.latest(1L).point());
+        assertEquals(chunk * 8, store.asOf(1L, chunk * 8).point());
+        assertThrows(IllegalArgumentException.class, () -> store.asOf(1L, chunk * 8 - 1));
+    }
+
+    // 시계가 뒤로 가더라도 버전 순서는 유지된다
+    @Test
+    public void testPublish_KeepsMonotonicMillis() {
+        BalanceVersionStore store = new BalanceVersionStore(Long.MAX_VALUE / 2, 4096, () -> 0L);
+        store.publish(1L, 100L, 50L, 1L);
+        store.publish(1L, 200L, 40L, 2L);
+
+        assertEquals(50L, store.latest(1L).updateMillis());
+        assertEquals(200L, store.asOf(1L, 50L).point());
+    }
+}
@@ -0,0 +1,180 @@
+package io.hhplus.study.main;
+
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.cluster.ClusterRouter;
+import io.hhplus.tdd.codec.PointBinaryFormat;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 서로 다른 포트의 인스턴스 두 개를 띄워 요청이 담당 노드로 전달되는지 확인한다.
+ */
+public class ClusterRoutingTest {
+
+    private static final HttpClient client = HttpClient.newHttpClient();
+    private static final String SECRET = "test-secret";
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+    private static String urlA;
+    private static String urlB;
+
+    @BeforeAll
+    public static void startNodes() throws IOException {
+        int portA = freePort();
+        int portB = freePort();
+        urlA = "http://localhost:" + portA;
+        urlB = "http://localhost:" + portB;
+        nodeA = start(portA, urlA);
+        nodeB = start(portB, urlB);
+    }
+
+    @AfterAll
+    public static void stopNodes() {
+        nodeA.close();
+        nodeB.close();
+    }
+
+    private static ConfigurableApplicationContext start(int port, String self) {
+        return new SpringApplicationBuilder(TddApplication.class).run(
+                "--server.port=" + port,
+                "--point.cluster.enabled=true",
+                "--point.cluster.self=" + self,
+                "--point.cluster.secret=" + SECRET,
+                "--point.cluster.nodes[0].url=" + urlA,
+                "--point.cluster.nodes[1].url=" + urlB);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static HttpResponse<String> send(String url, String method, String body, boolean forwarded) throws Exception {
+        return send(url, method, body, forwarded ? SECRET : null);
+    }
+
+    //token 을 주면 nodeA 가 전달한 요청처럼 보낸다
+    private static HttpResponse<String> send(String url, String method, String body, String token) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header(ClusterRouter.FORWARDED_HEADER, urlA);
+            builder.header(ClusterRouter.TOKEN_HEADER, token);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    //nodeB 가 담당하는 userId
+    private static long userOwnedByB() {
+        ClusterRouter router = nodeA.getBean(ClusterRouter.class);
+        return LongStream.range(1, 1_000).filter(id -> router.ownerOf(id).equals(urlB)).findFirst().orElseThrow();
+    }
+
+    // 담당이 아닌 노드로 들어온 충전은 담당 노드에서 처리되고, 어느 노드로 조회해도 같은 값이다
+    @Test
+    public void testCharge_ForwardedToOwner() throws Exception {
+        long userId = userOwnedByB();
+
+        HttpResponse<String> charged = send(urlA + "/point/" + userId + "/charge", "PATCH", "100", false);
+        assertEquals(200, charged.statusCode());
+
+        assertTrue(send(urlA + "/point/" + userId, "GET", null, false).body().contains("\"point\":100"));
+        assertTrue(send(urlB + "/point/" + userId, "GET", null, false).body().contains("\"point\":100"));
+        // 기록은 담당 노드에만 있다
+        assertTrue(send(urlA + "/point/" + userId, "GET", null, true).body().contains("\"point\":0"));
+        // secret 이 틀린 전달 헤더는 무시하고 담당 노드로 보낸다
+        assertTrue(send(urlA + "/point/" + userId, "GET", null, "wrong").body().contains("\"point\":100"));
+    }
+
+    // 순위는 모든 노드에서 그 유저보다 앞서는 유저 수를 더한 전체 순위다
+    @Test
+    public void testRank_Global() throws Exception {
+        ClusterRouter router = nodeA.getBean(ClusterRouter.class);
+        long remote = LongStream.range(5_000, 6_000).filter(id -> router.ownerOf(id).equals(urlB)).findFirst().orElseThrow();
+        long local = LongStream.range(5_000, 6_000).filter(router::isLocal).findFirst().orElseThrow();
+        send(urlA + "/point/" + remote + "/charge", "PATCH", "2000000", false);
+        send(urlA + "/point/" + local + "/charge", "PATCH", "1000000", false);
+
+        HttpResponse<String> response = send(urlA + "/point/" + local + "/rank", "GET", null, false);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"rank\":2"), response.body());
+        // 노드 안의 순위는 1위다
+        assertTrue(send(urlA + "/point/" + local + "/rank", "GET", null, true).body().contains("\"rank\":1"));
+    }
+
+    // 일괄 조회는 담당 노드별로 나눠 조회한 뒤 요청 순서대로 합친다
+    @Test
+    public void testBalances_ScatterGather() throws Exception {
+        long remote = userOwnedByB() + 1_000;
+        ClusterRouter router = nodeA.getBean(ClusterRouter.class);
+        long local = LongStream.range(1_000, 2_000).filter(router::isLocal).findFirst().orElseThrow();
+        while (!router.ownerOf(remote).equals(urlB)) {
+            remote++;
+        }
+        send(urlA + "/point/" + remote + "/charge", "PATCH", "30", false);
+        send(urlA + "/point/" + local + "/charge", "PATCH", "20", false);
+
+        HttpResponse<String> response = send(urlA + "/point/balances", "POST", List.of(remote, local).toString(), false);
+
+        assertEquals(200, response.statusCode());
+        String body = response.body();
+        assertTrue(body.indexOf("\"id\":" + remote) < body.indexOf("\"id\":" + local), body);
+        assertTrue(body.contains("\"point\":30") && body.contains("\"point\":20"), body);
+    }
+
+    // 바이너리 형식으로 요청하면 나눠 조회한 결과도 바이너리로 돌려준다
+    @Test
+    public void testBalances_ScatterGatherBinary() throws Exception {
+        long remote = userOwnedByB() + 2_000;
+        ClusterRouter router = nodeA.getBean(ClusterRouter.class);
+        long local = LongStream.range(2_000, 3_000).filter(router::isLocal).findFirst().orElseThrow();
+        while (!router.ownerOf(remote).equals(urlB)) {
+            remote++;
+        }
+        send(urlA + "/point/" + remote + "/charge", "PATCH", "40", false);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(urlA + "/point/balances"))
+                .header("Content-Type", PointBinaryFormat.MEDIA_TYPE_VALUE)
+                .header("Accept", PointBinaryFormat.MEDIA_TYPE_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(PointBinaryFormat.toBytes(List.of(remote, local))))
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, response.statusCode());
+        List<UserPoint> userPoints = PointBinaryFormat.readList(UserPoint.class, response.body());
+        assertEquals(List.of(remote, local), userPoints.stream().map(UserPoint::id).toList());
+        assertEquals(40L, userPoints.get(0).point());
+        assertEquals(0L, userPoints.get(1).point());
+    }
+
+    // 잘못된 요청은 노드로 나눠 보내기 전에 400 으로 끝난다
+    @Test
+    public void testBadRequest_BeforeScatter() throws Exception {
+        String tooMany = LongStream.rangeClosed(1, 1_001).boxed().toList().toString();
+
+        assertEquals(400, send(urlA + "/point/balances", "POST", tooMany, false).statusCode());
+        assertEquals(400, send(urlA + "/point/balances", "POST", "[1, null]", false).statusCode());
+        assertEquals(400, send(urlA + "/point/balances", "POST", "[1,", false).statusCode());
+        assertEquals(400, send(urlA + "/point/leaderboard?limit=abc", "GET", null, false).statusCode());
+        assertEquals(400, send(urlA + "/point/99999999999999999999/rank", "GET", null, false).statusCode());
+        assertEquals(400, send(urlA + "/point/99999999999999999999", "GET", null, false).statusCode());
+    }
+}
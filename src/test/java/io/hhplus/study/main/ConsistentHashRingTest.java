@@ -0,0 +1,64 @@
+package io.hhplus.study.main;
+
+import io.hhplus.tdd.cluster.ConsistentHashRing;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConsistentHashRingTest {
+
+    private static Map<String, Integer> nodes(int count, int virtualNodes) {
+        Map<String, Integer> nodes = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            nodes.put("http://localhost:" + (9999 - i), virtualNodes);
+        }
+        return nodes;
+    }
+
+    // 가상 노드를 충분히 두면 유저가 노드별로 고르게 나뉜다
+    @Test
+    public void testOwnerOf_Balanced() {
+        ConsistentHashRing ring = new ConsistentHashRing(nodes(4, 160));
+        Map<String, Integer> counts = new HashMap<>();
+        for (long userId = 0; userId < 100_000; userId++) {
+            counts.merge(ring.ownerOf(userId), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        counts.values().forEach(count -> assertTrue(count > 20_000 && count < 30_000, "count=" + count));
+        assertEquals(1.0, ring.ownership().values().stream().mapToDouble(Double::doubleValue).sum(), 1e-9);
+    }
+
+    // 노드를 하나 더하면 새 노드로 옮겨 가는 유저만 담당이 바뀐다
+    @Test
+    public void testAddNode_MovesOnlyItsShare() {
+        ConsistentHashRing before = new ConsistentHashRing(nodes(3, 160));
+        ConsistentHashRing after = new ConsistentHashRing(nodes(4, 160));
+        String added = "http://localhost:9996";
+
+        int moved = 0;
+        for (long userId = 0; userId < 100_000; userId++) {
+            String owner = after.ownerOf(userId);
+            if (!owner.equals(before.ownerOf(userId))) {
+                assertEquals(added, owner);
+                moved++;
+            }
+        }
+        assertTrue(moved > 15_000 && moved < 35_000, "moved=" + moved);
+    }
+
+    // 가상 노드 수를 늘린 노드가 더 많은 범위를 담당한다
+    @Test
+    public void testVirtualNodes_Weighted() {
+        Map<String, Integer> nodes = nodes(2, 100);
+        nodes.put("http://localhost:9999", 300);
+        ConsistentHashRing ring = new ConsistentHashRing(nodes);
+
+        double share = ring.ownership().get("http://localhost:9999");
+        assertTrue(share > 0.65 && share < 0.85, "share=" + share);
+    }
+}
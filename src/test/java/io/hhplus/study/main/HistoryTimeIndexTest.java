@@ -0,0 +1,156 @@
+package io.hhplus.study.main;
+
+import io.hhplus.tdd.config.PointAuditProperties;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.repository.PointHistoryRepository;
+import io.hhplus.tdd.service.PointHistoryServiceImpl;
+import io.hhplus.tdd.store.HistoryJournal;
+import io.hhplus.tdd.store.HistoryTimeIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class HistoryTimeIndexTest {
+
+    // 구간 조회: 기록 순서가 시각 순서와 어긋나도 [from, to) 안의 내역만 시각 순으로 돌려준다
+    @Test
+    public void testRange_TimeOrderedWindow() {
+        HistoryJournal journal = new HistoryJournal(10L);
+        journal.append(new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 15L));
+        journal.append(new PointHistory(2L, 2L, 200L, TransactionType.CHARGE, 5L));
+        journal.append(new PointHistory(3L, 1L, 50L, TransactionType.USE, 12L));
+        journal.append(new PointHistory(4L, 3L, 70L, TransactionType.EXPIRE, 30L));
+        journal.append(new PointHistory(5L, 2L, 20L, TransactionType.USE, 10L));
+        // 인덱서가 따라잡기 전에는 조회되지 않는다
+        assertTrue(journal.timeIndex().range(0L, 100L, null, null, 100).histories().isEmpty());
+        journal.timeIndex().catchUp();
+
+        PointHistoryPage page = journal.timeIndex().range(10L, 30L, null, null, 100);
+
+        assertEquals(List.of(5L, 3L, 1L), page.histories().stream().map(PointHistory::id).toList());
+        assertNull(page.nextCursor());
+
+        // 거래 종류로 거른다
+        PointHistoryPage uses = journal.timeIndex().range(0L, 100L, TransactionType.USE, null, 100);
+        assertEquals(List.of(5L, 3L), uses.histories().stream().map(PointHistory::id).toList());
+    }
+
+    // 커서로 이어 읽으면 빠짐이나 중복 없이 전체 구간을 읽는다 (같은 시각의 내역이 페이지 경계에 걸려도)
+    @Test
+    public void testRange_CursorPaging() {
+        HistoryJournal journal = new HistoryJournal(7L);
+        Random random = new Random(42L);
+        List<PointHistory> expected = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            PointHistory history = new PointHistory(id, id % 13, id, TransactionType.values()[random.nextInt(3)],
+                    random.nextInt(200));
+            journal.append(history);
+            if (history.updateMillis() >= 20 && history.updateMillis() < 150) {
+                expected.add(history);
+            }
+        }
+        // 작은 묶음으로 나눠 인덱스에 넣어도 (Run 이 여러 개여도) 결과는 같다
+        while (!journal.timeIndex().catchUp(23)) {
+            assertTrue(journal.timeIndex().indexedSize() < journal.size());
+        }
+        expected.sort(Comparator.comparingLong(PointHistory::updateMillis).thenComparingLong(PointHistory::id));
+
+        List<PointHistory> read = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            PointHistoryPage page = journal.timeIndex().range(20L, 150L, null,
+                    cursor != null ? HistoryTimeIndex.Cursor.parse(cursor) : null, 17);
+            assertTrue(page.histories().size() <= 17);
+            read.addAll(page.histories());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(expected, read);
+        assertEquals((expected.size() + 16) / 17, pages);
+    }
+
+    // 최근 settleMillis 안의 구간은 읽지 않고, 그 앞까지 읽었다는 커서를 돌려준다
+    @Test
+    public void testAudit_SettledWindow() {
+        PointHistoryRepository repository = mock(PointHistoryRepository.class);
+        PointAuditProperties properties = new PointAuditProperties();
+        properties.setSettleMillis(1_000L);
+        PointHistoryServiceImpl service = new PointHistoryServiceImpl(repository, properties);
+        PointHistory settled = new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 10L);
+        when(repository.selectPointHistoriesBetween(anyLong(), anyLong(), any(), any(), anyInt()))
+                .thenReturn(new PointHistoryPage(List.of(settled), null));
+        long now = System.currentTimeMillis();
+        // 인덱서가 마지막으로 따라잡은 시각
+        when(repository.selectIndexedMillis()).thenReturn(now - 500L);
+
+        PointHistoryPage page = service.selectPointHistoriesBetween(0L, now + 10_000L, null, null, 100);
+
+        verify(repository).selectPointHistoriesBetween(0L, now - 1_500L, null, null, 100);
+        assertEquals(List.of(settled), page.histories());
+        // 줄인 to 부터 이어 읽는다
+        assertEquals(new HistoryTimeIndex.Cursor(now - 1_501L, Long.MAX_VALUE),
+                HistoryTimeIndex.Cursor.parse(page.nextCursor()));
+
+        // 이미 자리 잡은 구간은 그대로 읽고 끝난다
+        assertNull(service.selectPointHistoriesBetween(0L, now - 5_000L, null, null, 100).nextCursor());
+        verify(repository).selectPointHistoriesBetween(0L, now - 5_000L, null, null, 100);
+    }
+
+    // 인덱서가 붙이는 동안에도 조회는 락 없이 공개된 스냅샷을 읽어, 항상 시각 순이고 중복이 없다
+    @Test
+    public void testRange_ConcurrentIndexer() throws Exception {
+        HistoryJournal journal = new HistoryJournal(50L);
+        int rows = 20_000;
+        AtomicBoolean done = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            for (long id = 1; id <= rows; id++) {
+                //스레드 사이의 어긋남처럼 시각이 조금씩 뒤섞인다
+                journal.append(new PointHistory(id, id % 7, id, TransactionType.CHARGE, id / 4 + (id % 3)));
+            }
+        });
+        Thread indexer = new Thread(() -> {
+            while (!done.get()) {
+                journal.timeIndex().catchUp(97);
+            }
+        });
+        writer.start();
+        indexer.start();
+        try {
+            while (writer.isAlive()) {
+                List<PointHistory> read = journal.timeIndex().range(0L, Long.MAX_VALUE, null, null, rows).histories();
+                for (int i = 1; i < read.size(); i++) {
+                    PointHistory prev = read.get(i - 1);
+                    PointHistory cur = read.get(i);
+                    assertTrue(prev.updateMillis() < cur.updateMillis()
+                            || (prev.updateMillis() == cur.updateMillis() && prev.id() < cur.id()));
+                }
+            }
+            writer.join();
+        } finally {
+            done.set(true);
+            indexer.join();
+        }
+        journal.timeIndex().catchUp();
+        assertEquals(rows, journal.timeIndex().range(0L, Long.MAX_VALUE, null, null, rows).histories().size());
+    }
+
+    // 잘못된 커서는 IllegalArgumentException
+    @Test
+    public void testCursor_Malformed() {
+        assertThrows(IllegalArgumentException.class, () -> HistoryTimeIndex.Cursor.parse("abc"));
+        assertThrows(IllegalArgumentException.class, () -> HistoryTimeIndex.Cursor.parse("1:x"));
+        assertEquals(new HistoryTimeIndex.Cursor(10L, 3L), HistoryTimeIndex.Cursor.parse("10:3"));
+    }
+}
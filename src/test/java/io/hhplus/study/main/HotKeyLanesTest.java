@@ -0,0 +1,199 @@
+package io.hhplus.study.main;
+
+import io.hhplus.tdd.engine.HotKeyDetector;
+import io.hhplus.tdd.engine.HotKeyLanes;
+import io.hhplus.tdd.engine.HotPointCommand;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.util.Deadline;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HotKeyLanesTest {
+
+    // 슬라이딩 윈도우: 이전 윈도우는 지난 비율만큼 줄여 더하고, 두 윈도우 동안 조용하면 0 이 된다
+    @Test
+    public void testDetector_SlidingWindowRate() {
+        AtomicLong now = new AtomicLong(1_000L);
+        HotKeyDetector detector = new HotKeyDetector(1_000L, 5.0, 2.0, now::get);
+
+        for (int i = 0; i < 4; i++) {
+            assertFalse(detector.recordAndCheckHot(1L));
+        }
+        assertTrue(detector.recordAndCheckHot(1L));
+        assertEquals(0.0, detector.rate(2L));
+
+        // 다음 윈도우의 절반: 이전 5건의 절반만 남는다
+        now.set(2_500L);
+        assertEquals(2.5, detector.rate(1L), 1e-9);
+        assertFalse(detector.isCool(1L));
+
+        now.set(2_900L);
+        assertTrue(detector.isCool(1L));
+
+        now.set(4_000L);
+        assertEquals(0.0, detector.rate(1L));
+    }
+
+    // 조용해진 유저는 요청 스레드가 아니라 sweep 이 지운다
+    @Test
+    public void testDetector_SweepOffRequestPath() {
+        AtomicLong now = new AtomicLong(1_000L);
+        HotKeyDetector detector = new HotKeyDetector(1_000L, 5.0, 2.0, now::get);
+        detector.recordAndCheckHot(1L);
+
+        now.set(4_000L);
+        detector.recordAndCheckHot(2L);
+        assertEquals(2, detector.trackedUsers());
+
+        detector.sweep();
+        assertEquals(1, detector.trackedUsers());
+        assertEquals(0.0, detector.rate(1L));
+    }
+
+    // 서로 다른 핫 유저가 동시에 레인을 만들어도 레인 수는 maxHotKeys 를 넘지 않는다
+    @Test
+    public void testLanes_MaxHotKeysUnderContention() throws Exception {
+        HotKeyDetector detector = new HotKeyDetector(10_000L, 0.2, 0.1);
+        HotKeyLanes lanes = new HotKeyLanes(detector, 2, 16, 8, 1_000L, Thread::new);
+        AtomicInteger promoted = new AtomicInteger();
+        AtomicInteger maxPromoted = new AtomicInteger();
+        lanes.setListener(new HotKeyLanes.Listener() {
+            @Override
+            public void onPromote(HotKeyLanes.LaneStats lane) {
+                maxPromoted.accumulateAndGet(promoted.incrementAndGet(), Math::max);
+            }
+
+            @Override
+            public void onDemote(HotKeyLanes.LaneStats lane) {
+                promoted.decrementAndGet();
+            }
+        });
+        HotKeyLanes.BatchWriter writer = (userId, batch) -> {
+            for (HotPointCommand command : batch) {
+                if (command.claim()) {
+                    command.complete(new UserPoint(userId, command.amount(), 0L));
+                }
+            }
+        };
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> offers = new ArrayList<>();
+        for (long userId = 1; userId <= 64; userId++) {
+            // 테스트 동안 식지 않을 만큼 요청률을 올려 둔다
+            for (int i = 0; i < 5; i++) {
+                lanes.record(userId);
+            }
+            long id = userId;
+            offers.add(pool.submit(() -> {
+                start.await();
+                return lanes.offer(id, new HotPointCommand(TransactionType.CHARGE, 1L, Deadline.after(1_000L), null), writer);
+            }));
+        }
+        start.countDown();
+
+        int accepted = 0;
+        for (Future<Boolean> offer : offers) {
+            accepted += offer.get(5, TimeUnit.SECONDS) ? 1 : 0;
+        }
+        pool.shutdown();
+
+        assertEquals(2, accepted);
+        assertEquals(2, lanes.hotKeys());
+        assertEquals(2L, lanes.promotions());
+        assertEquals(2, maxPromoted.get());
+        lanes.shutdown();
+    }
+
+    // 레인 큐가 가득 차면 거절하지 않고 false 를 돌려 원래 경로로 보낸다
+    @Test
+    public void testLanes_OverflowFallsBack() throws Exception {
+        HotKeyDetector detector = new HotKeyDetector(10_000L, 0.2, 0.1);
+        HotKeyLanes lanes = new HotKeyLanes(detector, 1, 1, 1, 1_000L, Thread::new);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        HotKeyLanes.BatchWriter writer = (userId, batch) -> {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (HotPointCommand command : batch) {
+                if (command.claim()) {
+                    command.complete(new UserPoint(userId, command.amount(), 0L));
+                }
+            }
+        };
+        for (int i = 0; i < 5; i++) {
+            lanes.record(1L);
+        }
+        try {
+            assertTrue(lanes.offer(1L, new HotPointCommand(TransactionType.CHARGE, 1L, Deadline.after(1_000L), null), writer));
+            assertTrue(writing.await(1, TimeUnit.SECONDS));
+            assertTrue(lanes.offer(1L, new HotPointCommand(TransactionType.CHARGE, 2L, Deadline.after(1_000L), null), writer));
+
+            assertFalse(lanes.offer(1L, new HotPointCommand(TransactionType.CHARGE, 3L, Deadline.after(1_000L), null), writer));
+            assertEquals(1L, lanes.overflowed());
+        } finally {
+            release.countDown();
+            lanes.shutdown();
+        }
+    }
+
+    // 핫 유저만 레인으로 가고, 요청이 끊기면 레인이 닫혀 다시 원래 경로로 간다
+    @Test
+    public void testLanes_PromoteAndDemote() throws Exception {
+        AtomicLong now = new AtomicLong(0L);
+        HotKeyDetector detector = new HotKeyDetector(1_000L, 3.0, 1.0, now::get);
+        HotKeyLanes lanes = new HotKeyLanes(detector, 1, 16, 8, 20L, Thread::new);
+        CountDownLatch written = new CountDownLatch(1);
+        HotKeyLanes.BatchWriter writer = (userId, batch) -> {
+            for (HotPointCommand command : batch) {
+                if (command.claim()) {
+                    command.complete(new UserPoint(userId, command.amount(), 0L));
+                }
+            }
+            written.countDown();
+        };
+
+        assertFalse(lanes.record(1L));
+        assertFalse(lanes.record(1L));
+        assertTrue(lanes.record(1L));
+        HotPointCommand command = new HotPointCommand(TransactionType.CHARGE, 10L, Deadline.after(1_000L), null);
+        assertTrue(lanes.offer(1L, command, writer));
+        assertEquals(10L, command.await().point());
+        assertTrue(written.await(1, TimeUnit.SECONDS));
+        assertTrue(lanes.isHot(1L));
+        assertEquals(1, lanes.hotKeys());
+
+        // 레인 수 상한에 닿으면 다른 핫 유저는 원래 경로로 간다
+        for (int i = 0; i < 3; i++) {
+            lanes.record(2L);
+        }
+        assertFalse(lanes.offer(2L, new HotPointCommand(TransactionType.CHARGE, 1L, Deadline.after(1_000L), null), writer));
+
+        // 요청이 끊기면 워커가 레인을 닫는다
+        now.set(3_000L);
+        long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (lanes.isHot(1L) && System.nanoTime() < waitUntil) {
+            Thread.sleep(10L);
+        }
+        assertFalse(lanes.isHot(1L));
+        assertEquals(1L, lanes.promotions());
+        assertEquals(1L, lanes.demotions());
+        assertTrue(lanes.lanes().isEmpty());
+        lanes.shutdown();
+    }
+}
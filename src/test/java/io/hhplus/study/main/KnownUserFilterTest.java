@@ -0,0 +1,129 @@
+package io.hhplus.study.main;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.repository.PointHistoryRepository;
+import io.hhplus.tdd.repository.UserPointRepository;
+import io.hhplus.tdd.store.HistoryJournal;
+import io.hhplus.tdd.store.BalanceLeaderboard;
+import io.hhplus.tdd.store.KnownUserFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class KnownUserFilterTest {
+
+    // 넣은 유저는 절대 놓치지 않는다
+    @Test
+    public void testMightContain_NoFalseNegative() {
+        KnownUserFilter filter = new KnownUserFilter(10_000, 0.01);
+        for (long userId = 0; userId < 10_000; userId++) {
+            filter.put(userId);
+        }
+        for (long userId = 0; userId < 10_000; userId++) {
+            assertTrue(filter.mightContain(userId));
+        }
+    }
+
+    // 예상 유저 수만큼 넣었을 때 오탐률이 목표 근처인지
+    @Test
+    public void testMightContain_FalsePositiveRate() {
+        KnownUserFilter filter = new KnownUserFilter(10_000, 0.01);
+        for (long userId = 0; userId < 10_000; userId++) {
+            filter.put(userId);
+        }
+        int positives = 0;
+        for (long userId = 1_000_000; userId < 1_100_000; userId++) {
+            if (filter.mightContain(userId)) {
+                positives++;
+            }
+        }
+        assertTrue(positives / 100_000.0 < 0.02, "fpp=" + positives / 100_000.0);
+        assertEquals(0.01, filter.expectedFalsePositiveRate(), 0.005);
+    }
+
+    @Test
+    public void testRebuild() {
+        KnownUserFilter filter = new KnownUserFilter(1_000, 0.01);
+        filter.put(1L);
+        filter.rebuild(LongStream.of(2L, 3L));
+
+        assertFalse(filter.mightContain(1L));
+        assertTrue(filter.mightContain(2L));
+        assertTrue(filter.mightContain(3L));
+    }
+
+    // rebuild 중에도 이전 배열로 조회하므로 놓치지 않고, 그동안 put 된 유저도 새 배열에 남는다
+    @Test
+    public void testRebuild_ConcurrentPut() throws Exception {
+        KnownUserFilter filter = new KnownUserFilter(10_000, 0.01);
+        LongStream.range(0, 1_000).forEach(filter::put);
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch resume = new CountDownLatch(1);
+
+        //저장소를 반쯤 훑은 상태에서 멈춘다
+        Thread rebuild = new Thread(() -> filter.rebuild(LongStream.range(0, 1_000).peek(userId -> {
+            if (userId == 500) {
+                scanning.countDown();
+                try {
+                    resume.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        })));
+        rebuild.start();
+        assertTrue(scanning.await(5, TimeUnit.SECONDS));
+
+        for (long userId = 0; userId < 1_000; userId++) {
+            assertTrue(filter.mightContain(userId), "userId=" + userId);
+        }
+        LongStream.range(1_000, 2_000).forEach(filter::put);
+        resume.countDown();
+        rebuild.join();
+
+        for (long userId = 0; userId < 2_000; userId++) {
+            assertTrue(filter.mightContain(userId), "userId=" + userId);
+        }
+    }
+
+    // 기록이 없는 유저는 저장소를 조회하지 않고 기본값을 돌려준다
+    @Test
+    public void testRepositories_ShortCircuitUnknownUser() {
+        KnownUserFilter filter = new KnownUserFilter(1_000, 0.01);
+        UserPointTable userPointTable = mock(UserPointTable.class);
+        PointHistoryTable pointHistoryTable = mock(PointHistoryTable.class);
+        UserPointRepository userPointRepository = new UserPointRepository(userPointTable, filter, new BalanceLeaderboard());
+        PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(pointHistoryTable, filter, new HistoryJournal());
+
+        assertEquals(0L, userPointRepository.selectDetailUserPoint(1L).point());
+        assertTrue(pointHistoryRepository.selectDetailPointHistory(1L).isEmpty());
+        verifyNoInteractions(userPointTable, pointHistoryTable);
+
+        when(pointHistoryTable.insert(eq(1L), eq(100L), eq(TransactionType.CHARGE), anyLong()))
+                .thenReturn(new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 0L));
+        when(pointHistoryTable.selectAllByUserId(1L))
+                .thenReturn(List.of(new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, 0L)));
+        when(userPointTable.selectById(1L)).thenReturn(new UserPoint(1L, 100L, 0L));
+        pointHistoryRepository.insertDetailPointHistory(1L, 100L);
+        userPointRepository.insertDetailUserPoint(1L, 100L);
+
+        assertEquals(100L, userPointRepository.selectDetailUserPoint(1L).point());
+        assertEquals(1, pointHistoryRepository.selectDetailPointHistory(1L).size());
+    }
+
+    @Test
+    public void testDisabled_AlwaysMightContain() {
+        assertTrue(KnownUserFilter.disabled().mightContain(123L));
+        assertFalse(KnownUserFilter.disabled().isEnabled());
+    }
+}
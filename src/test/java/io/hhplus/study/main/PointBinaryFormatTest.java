@@ -0,0 +1,111 @@
+package io.hhplus.study.main;
+
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.codec.PointBinaryFormat;
+import io.hhplus.tdd.codec.PointBinaryHttpMessageConverter;
+import io.hhplus.tdd.feed.PointChangeBroadcaster;
+import io.hhplus.tdd.point.LeaderboardEntry;
+import io.hhplus.tdd.point.PointController;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.service.PointHistoryService;
+import io.hhplus.tdd.service.UserPointService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class PointBinaryFormatTest {
+
+    // 모든 타입이 고정 크기로 쓰이고 그대로 읽힌다
+    @Test
+    public void testRoundTrip() throws Exception {
+        UserPoint userPoint = new UserPoint(1L, 150L, 1_700_000_000_000L);
+        List<PointHistory> histories = List.of(
+                new PointHistory(1L, 1L, 200L, TransactionType.CHARGE, 1L),
+                new PointHistory(2L, 1L, 50L, TransactionType.USE, 2L),
+                new PointHistory(3L, 1L, 10L, TransactionType.EXPIRE, 3L));
+        List<LeaderboardEntry> leaderboard = List.of(new LeaderboardEntry(1L, 7L, 900L));
+        ErrorResponse error = new ErrorResponse("500", "에러가 발생했습니다.");
+
+        assertEquals(24, PointBinaryFormat.toBytes(userPoint).length);
+        assertEquals(4 + 3 * 33, PointBinaryFormat.toBytes(histories).length);
+        assertEquals(userPoint, PointBinaryFormat.read(UserPoint.class, PointBinaryFormat.toBytes(userPoint)));
+        assertEquals(histories, PointBinaryFormat.readList(PointHistory.class, PointBinaryFormat.toBytes(histories)));
+        assertEquals(leaderboard, PointBinaryFormat.readList(LeaderboardEntry.class, PointBinaryFormat.toBytes(leaderboard)));
+        assertEquals(error, PointBinaryFormat.read(ErrorResponse.class, PointBinaryFormat.toBytes(error)));
+        assertEquals(-5L, PointBinaryFormat.read(long.class, PointBinaryFormat.toBytes(-5L)));
+        PointHistoryPage page = new PointHistoryPage(histories, "3:3");
+        assertEquals(page, PointBinaryFormat.read(PointHistoryPage.class, PointBinaryFormat.toBytes(page)));
+        PointHistoryPage lastPage = new PointHistoryPage(List.of(), null);
+        assertEquals(lastPage, PointBinaryFormat.read(PointHistoryPage.class, PointBinaryFormat.toBytes(lastPage)));
+
+        //버퍼(8KB)보다 큰 목록도 스트림에 나눠 쓴다
+        List<PointHistory> many = java.util.stream.LongStream.range(0, 1_000)
+                .mapToObj(i -> new PointHistory(i, 1L, i, TransactionType.CHARGE, i)).toList();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PointBinaryFormat.write(many, out);
+        assertArrayEquals(PointBinaryFormat.toBytes(many), out.toByteArray());
+    }
+
+    // 잘리거나 남는 바이트, 있을 수 없는 개수는 거절한다
+    @Test
+    public void testRead_Malformed() {
+        byte[] userPoint = PointBinaryFormat.toBytes(new UserPoint(1L, 1L, 1L));
+        assertThrows(IllegalArgumentException.class,
+                () -> PointBinaryFormat.read(UserPoint.class, java.util.Arrays.copyOf(userPoint, 20)));
+        assertThrows(IllegalArgumentException.class,
+                () -> PointBinaryFormat.read(UserPoint.class, java.util.Arrays.copyOf(userPoint, 25)));
+        assertThrows(IllegalArgumentException.class,
+                () -> PointBinaryFormat.readList(Long.class, new byte[]{0x7f, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1}));
+    }
+
+    // Accept/Content-Type 이 바이너리면 컨트롤러가 바이너리로 읽고 쓰며, 지정하지 않으면 JSON 이다
+    @Test
+    public void testController_ContentNegotiation() throws Exception {
+        UserPointService userPointService = mock(UserPointService.class);
+        PointHistoryService pointHistoryService = mock(PointHistoryService.class);
+        MockMvc mockMvc = MockMvcBuilders
+                .standaloneSetup(new PointController(pointHistoryService, userPointService, mock(PointChangeBroadcaster.class),
+                        Optional.empty(), Optional.empty(), Optional.empty()))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(), new PointBinaryHttpMessageConverter())
+                .build();
+        UserPoint charged = new UserPoint(1L, 300L, 5L);
+        when(userPointService.chargeUserPoint(1L, 300L)).thenReturn(charged);
+        List<PointHistory> histories = List.of(new PointHistory(1L, 1L, 300L, TransactionType.CHARGE, 5L));
+        when(pointHistoryService.selectDetailPointHistory(1L)).thenReturn(histories);
+
+        MvcResult result = mockMvc.perform(patch("/point/1/charge")
+                        .contentType(PointBinaryFormat.MEDIA_TYPE_VALUE)
+                        .accept(PointBinaryFormat.MEDIA_TYPE_VALUE)
+                        .content(PointBinaryFormat.toBytes(300L)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PointBinaryFormat.MEDIA_TYPE_VALUE))
+                .andReturn();
+        assertEquals(charged, PointBinaryFormat.read(UserPoint.class, result.getResponse().getContentAsByteArray()));
+        assertEquals(24, result.getResponse().getContentLength());
+
+        result = mockMvc.perform(get("/point/1/histories").accept(PointBinaryFormat.MEDIA_TYPE_VALUE))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertEquals(histories, PointBinaryFormat.readList(PointHistory.class, result.getResponse().getContentAsByteArray()));
+
+        mockMvc.perform(get("/point/1/histories"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/json"));
+    }
+}
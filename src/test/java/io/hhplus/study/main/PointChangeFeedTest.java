@@ -0,0 +1,121 @@
+package io.hhplus.study.main;
+
+import io.hhplus.tdd.feed.PointChangeBroadcaster;
+import io.hhplus.tdd.feed.PointChangeEvent;
+import io.hhplus.tdd.feed.PointChangeFeed;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointChangeFeedTest {
+
+    // 구독자는 각자의 위치부터 순서대로 읽는다
+    @Test
+    public void testDrain_FromCursor() {
+        PointChangeFeed feed = new PointChangeFeed(8);
+        for (long i = 1; i <= 5; i++) {
+            feed.publish(i, 10L, 10L * i, i, 0L);
+        }
+
+        List<PointChangeEvent> events = new ArrayList<>();
+        assertEquals(3, feed.drain(2L, 10, events));
+        assertEquals(List.of(2L, 3L, 4L), events.stream().map(PointChangeEvent::offset).toList());
+        assertEquals(3L, events.get(0).userId());
+
+        events.clear();
+        assertEquals(0, feed.drain(5L, 10, events));
+    }
+
+    // 버퍼가 한 바퀴 돌아 덮어써진 위치를 읽으면 OVERRUN 을 돌려준다
+    @Test
+    public void testDrain_Overrun() {
+        PointChangeFeed feed = new PointChangeFeed(4);
+        for (long i = 0; i < 6; i++) {
+            feed.publish(1L, 10L, 10L * i, i, 0L);
+        }
+
+        assertEquals(2L, feed.oldestOffset());
+        assertEquals(PointChangeFeed.OVERRUN, feed.drain(1L, 10, new ArrayList<>()));
+        assertEquals(4, feed.drain(2L, 10, new ArrayList<>()));
+    }
+
+    // 크기는 2의 거듭제곱이어야 한다
+    @Test
+    public void testConstructor_InvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new PointChangeFeed(6));
+    }
+
+    // 전송이 막힌 구독자가 있어도 다른 구독자는 계속 받고, 막힌 구독자만 뒤처져 끊긴다
+    @Test
+    public void testBroadcaster_StalledSubscriberIsolated() throws InterruptedException {
+        PointChangeFeed feed = new PointChangeFeed(64);
+        PointChangeBroadcaster broadcaster = new PointChangeBroadcaster(feed,
+                Executors.newSingleThreadScheduledExecutor(), Executors.newFixedThreadPool(2), 4, 2, 16L, 5L, 60_000L);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter stalled = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter(null);
+        broadcaster.subscribe(stalled, 0L, null);
+        broadcaster.subscribe(fast, 0L, null);
+
+        //빠른 구독자가 maxLag 안에서 따라오도록 조금씩 발행한다
+        for (int i = 0; i < 40; i++) {
+            feed.publish(i, 10L, 10L, i, 0L);
+            if (i % 4 == 3) {
+                int published = i + 1;
+                assertTrue(waitUntil(() -> fast.events.size() == published));
+            }
+        }
+        assertTrue(stalled.events.isEmpty());
+
+        // 풀어 주면 막혀 있던 전송만 마치고 overrun 으로 끊긴다
+        release.countDown();
+        assertTrue(waitUntil(() -> broadcaster.subscriberCount() == 1));
+        assertTrue(stalled.events.get(stalled.events.size() - 1).contains("event:overrun"));
+        assertTrue(stalled.events.size() < 40);
+        broadcaster.shutdown();
+    }
+
+    private static boolean waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > until) {
+                return false;
+            }
+            Thread.sleep(5L);
+        }
+        return true;
+    }
+
+    //보낸 이벤트를 기록한다, release 가 있으면 풀릴 때까지 전송이 막힌다
+    private static final class RecordingEmitter extends SseEmitter {
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch release;
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            events.add(text.toString());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.hhplus.study.main;
+
+import io.hhplus.tdd.feed.PointChangeBroadcaster;
+import io.hhplus.tdd.point.LeaderboardEntry;
+import io.hhplus.tdd.point.PointController;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.service.PointHistoryAuditService;
+import io.hhplus.tdd.service.PointHistoryService;
+import io.hhplus.tdd.service.UserPointRankService;
+import io.hhplus.tdd.service.UserPointService;
+import io.hhplus.tdd.service.UserPointVersionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class PointControllerTest {
+
+    private final UserPointService userPointService = mock(UserPointService.class);
+    private final PointHistoryService pointHistoryService = mock(PointHistoryService.class);
+    private final UserPointVersionService userPointVersionService = mock(UserPointVersionService.class);
+    private final UserPointRankService userPointRankService = mock(UserPointRankService.class);
+    private final PointHistoryAuditService pointHistoryAuditService = mock(PointHistoryAuditService.class);
+
+    private MockMvc lockMode() {
+        return MockMvcBuilders.standaloneSetup(new PointController(pointHistoryService, userPointService,
+                mock(PointChangeBroadcaster.class), Optional.of(userPointVersionService),
+                Optional.of(userPointRankService), Optional.of(pointHistoryAuditService))).build();
+    }
+
+    //sharded/ring 엔진: 부가 기능 서비스가 없다
+    private MockMvc otherMode() {
+        return MockMvcBuilders.standaloneSetup(new PointController(pointHistoryService, userPointService,
+                mock(PointChangeBroadcaster.class), Optional.empty(), Optional.empty(), Optional.empty())).build();
+    }
+
+    // 시점 조회: 보관 기간보다 오래된 시점은 400, 시점 조회가 없는 엔진은 501
+    @Test
+    public void testPoint_AsOf() throws Exception {
+        when(userPointVersionService.selectDetailUserPointAsOf(1L, 100L)).thenReturn(new UserPoint(1L, 30L, 90L));
+        when(userPointVersionService.selectDetailUserPointAsOf(1L, 1L))
+                .thenThrow(new IllegalArgumentException("asOf is older than the retained versions: 1"));
+
+        lockMode().perform(get("/point/1").param("asOf", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(30));
+        lockMode().perform(get("/point/1").param("asOf", "1"))
+                .andExpect(status().isBadRequest());
+        otherMode().perform(get("/point/1").param("asOf", "100"))
+                .andExpect(status().isNotImplemented());
+    }
+
+    // 일괄 조회: id 가 너무 많으면 500 이 아니라 400
+    @Test
+    public void testBalances_TooManyIds() throws Exception {
+        when(userPointService.selectDetailUserPoints(List.of(1L, 2L))).thenReturn(List.of(new UserPoint(1L, 10L, 0L), new UserPoint(2L, 0L, 0L)));
+        when(userPointService.selectDetailUserPoints(List.of(1L, 2L, 3L))).thenThrow(new IllegalArgumentException("Too many ids: max=2"));
+
+        otherMode().perform(post("/point/balances").contentType(MediaType.APPLICATION_JSON).content("[1,2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].point").value(10));
+        otherMode().perform(post("/point/balances").contentType(MediaType.APPLICATION_JSON).content("[1,2,3]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // 순위표: 범위를 벗어난 limit 은 400, 순위표가 없는 엔진은 501
+    @Test
+    public void testLeaderboard() throws Exception {
+        when(userPointRankService.selectTopUserPoints(10)).thenReturn(List.of(new LeaderboardEntry(1L, 7L, 900L)));
+        when(userPointRankService.selectTopUserPoints(0)).thenThrow(new IllegalArgumentException("Limit must be between 1 and 1000"));
+
+        lockMode().perform(get("/point/leaderboard").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].userId").value(7));
+        lockMode().perform(get("/point/leaderboard").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        otherMode().perform(get("/point/leaderboard"))
+                .andExpect(status().isNotImplemented());
+        otherMode().perform(get("/point/7/rank"))
+                .andExpect(status().isNotImplemented());
+    }
+
+    // 구간 내역: 잘못된 커서는 400, 구간 조회가 없는 엔진은 501
+    @Test
+    public void testAuditHistories() throws Exception {
+        when(pointHistoryAuditService.selectPointHistoriesBetween(0L, 100L, null, null, 1000))
+                .thenReturn(new PointHistoryPage(List.of(), "99:" + Long.MAX_VALUE));
+        when(pointHistoryAuditService.selectPointHistoriesBetween(0L, 100L, null, "abc", 1000))
+                .thenThrow(new IllegalArgumentException("Malformed cursor: abc"));
+
+        lockMode().perform(get("/point/audit/histories").param("from", "0").param("to", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value("99:" + Long.MAX_VALUE));
+        lockMode().perform(get("/point/audit/histories").param("from", "0").param("to", "100").param("cursor", "abc"))
+                .andExpect(status().isBadRequest());
+        otherMode().perform(get("/point/audit/histories").param("from", "0").param("to", "100"))
+                .andExpect(status().isNotImplemented());
+    }
+}
@@ -0,0 +1,163 @@
+package io.hhplus.study.main;
+
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.config.PointBatchProperties;
+import io.hhplus.tdd.config.PointTimeoutProperties;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.engine.HotKeyLanes;
+import io.hhplus.tdd.engine.UserLocks;
+import io.hhplus.tdd.expire.PointExpiryTracker;
+import io.hhplus.tdd.feed.PointChangeFeed;
+import io.hhplus.tdd.jfr.PointOperationEvent;
+import io.hhplus.tdd.jfr.TableCallEvent;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.repository.PointHistoryRepository;
+import io.hhplus.tdd.repository.UserPointRepository;
+import io.hhplus.tdd.service.UserPointServiceImpl;
+import io.hhplus.tdd.store.BalanceLeaderboard;
+import io.hhplus.tdd.store.BalanceVersionStore;
+import io.hhplus.tdd.store.HistoryJournal;
+import io.hhplus.tdd.store.KnownUserFilter;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class PointFlightRecorderTest {
+
+    private UserPointTable userPointTable;
+    private PointHistoryTable pointHistoryTable;
+    private ExecutorService pointIoExecutor;
+    private UserPointServiceImpl userPointService;
+    private PointHistoryRepository pointHistoryRepository;
+
+    @BeforeEach
+    public void setup() {
+        userPointTable = mock(UserPointTable.class);
+        pointHistoryTable = mock(PointHistoryTable.class);
+        pointIoExecutor = Executors.newFixedThreadPool(2);
+        pointHistoryRepository = new PointHistoryRepository(pointHistoryTable, KnownUserFilter.disabled(), new HistoryJournal());
+        userPointService = new UserPointServiceImpl(
+                new UserPointRepository(userPointTable, KnownUserFilter.disabled(), new BalanceLeaderboard()),
+                pointHistoryRepository,
+                new PointTimeoutProperties(),
+                new UserLocks(0),
+                pointIoExecutor,
+                new BalanceVersionStore(60_000L, 4096),
+                new PointBatchProperties(),
+                pointIoExecutor,
+                new PointChangeFeed(1024),
+                PointExpiryTracker.disabled(),
+                HotKeyLanes.disabled(),
+                pointIoExecutor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pointIoExecutor.shutdown();
+    }
+
+    // 녹화 중에는 충전/사용 결과와 Table 호출, 내역 조회 크기가 이벤트로 남는다
+    @Test
+    public void testRecording_PointAndTableEvents() throws Exception {
+        long userId = 7L;
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 100L, 0L));
+        when(pointHistoryTable.insert(eq(userId), eq(50L), any(), anyLong()))
+                .thenReturn(new PointHistory(1L, userId, 50L, TransactionType.CHARGE, 0L));
+        when(userPointTable.insertOrUpdate(userId, 150L)).thenReturn(new UserPoint(userId, 150L, 0L));
+        when(pointHistoryTable.selectAllByUserId(userId)).thenReturn(List.of(
+                new PointHistory(1L, userId, 50L, TransactionType.CHARGE, 0L),
+                new PointHistory(2L, userId, 30L, TransactionType.USE, 0L)));
+
+        Path file = Files.createTempFile("point-test-", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PointOperationEvent.class);
+            recording.enable(TableCallEvent.class);
+            recording.start();
+
+            userPointService.chargeUserPoint(userId, 50L);
+            //잔액 100 에서 500 사용은 실패한다
+            assertThrows(IllegalStateException.class, () -> userPointService.useUserPoint(userId, 500L));
+            pointHistoryRepository.selectDetailPointHistory(userId);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.deleteIfExists(file);
+
+        List<RecordedEvent> operations = events.stream()
+                .filter(event -> event.getEventType().getName().equals("io.hhplus.tdd.PointOperation")).toList();
+        assertEquals(2, operations.size());
+        assertTrue(operations.stream().anyMatch(event -> event.getString("outcome").equals("OK")
+                && event.getString("type").equals("CHARGE") && event.getLong("userId") == userId));
+        assertTrue(operations.stream().anyMatch(event -> event.getString("outcome").equals("INSUFFICIENT")
+                && event.getString("type").equals("USE")));
+        assertTrue(operations.stream().allMatch(event -> event.getLong("lockWaitNanos") >= 0 && event.getLong("holdNanos") >= 0));
+
+        List<RecordedEvent> tableCalls = events.stream()
+                .filter(event -> event.getEventType().getName().equals("io.hhplus.tdd.TableCall")).toList();
+        //selectById 2번, insertOrUpdate, insert, selectAllByUserId
+        assertEquals(5, tableCalls.size());
+        RecordedEvent scan = tableCalls.stream()
+                .filter(event -> event.getString("operation").equals("selectAllByUserId")).findFirst().orElseThrow();
+        assertEquals("PointHistoryTable", scan.getString("table"));
+        assertEquals(2, scan.getInt("rows"));
+    }
+
+    // 녹화 중이 아니면 이벤트는 꺼져 있고 아무것도 남기지 않는다
+    @Test
+    public void testDisabled_NoCommit() {
+        PointOperationEvent event = PointOperationEvent.start(1L, TransactionType.CHARGE, 10L);
+        assertFalse(event.isEnabled());
+        event.lockAcquired();
+        event.finish("OK");
+        TableCallEvent tableCall = TableCallEvent.start("UserPointTable", "selectById", 1L);
+        assertFalse(tableCall.isEnabled());
+        tableCall.finish(-1);
+    }
+
+    // jfr/reconcile 은 애플리케이션 포트로 열리지 않고, ops 프로필에서만 관리 포트로 열린다
+    @Test
+    public void testEndpoints_NotExposedByDefault() throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(TddApplication.class)
+                .run("--server.port=0")) {
+            String url = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+            assertEquals(404, get(client, url + "/actuator/jfr").statusCode());
+            assertEquals(404, get(client, url + "/actuator/reconcile").statusCode());
+        }
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(TddApplication.class)
+                .profiles("ops").run("--server.port=0", "--management.server.port=0")) {
+            String url = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+            String management = "http://localhost:" + app.getEnvironment().getProperty("local.management.port");
+            assertEquals(404, get(client, url + "/actuator/jfr").statusCode());
+            assertEquals(200, get(client, management + "/actuator/jfr").statusCode());
+        }
+    }
+
+    private static HttpResponse<String> get(HttpClient client, String url) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(url)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -4,6 +4,8 @@ import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.point.PointHistory;
 import io.hhplus.tdd.point.TransactionType;
 import io.hhplus.tdd.repository.PointHistoryRepository;
+import io.hhplus.tdd.store.HistoryJournal;
+import io.hhplus.tdd.store.KnownUserFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -26,7 +28,7 @@ public class PointHistoryRepositoryTest {
     @BeforeEach
     public void setup() {
         pointHistoryTable = mock(PointHistoryTable.class);
-        pointHistoryRepository = new PointHistoryRepository(pointHistoryTable);
+        pointHistoryRepository = new PointHistoryRepository(pointHistoryTable, KnownUserFilter.disabled(), new HistoryJournal());
     }
 
     //정상적인 상황 주어진 userId에 대해 예상되는 데이터를 반환
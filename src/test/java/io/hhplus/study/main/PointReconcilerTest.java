@@ -0,0 +1,264 @@
+package io.hhplus.study.main;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.engine.UserLocks;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.reconcile.PointReconcileEndpoint;
+import io.hhplus.tdd.reconcile.PointReconciler;
+import io.hhplus.tdd.reconcile.ReconciliationReport;
+import io.hhplus.tdd.repository.PointHistoryRepository;
+import io.hhplus.tdd.repository.UserPointRepository;
+import io.hhplus.tdd.store.BalanceVersionStore;
+import io.hhplus.tdd.store.HistoryJournal;
+import io.hhplus.tdd.store.BalanceLeaderboard;
+import io.hhplus.tdd.store.KnownUserFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class PointReconcilerTest {
+
+    private UserPointTable userPointTable;
+    private PointHistoryTable pointHistoryTable;
+    private HistoryJournal historyJournal;
+    private BalanceVersionStore balanceVersionStore;
+    private ForkJoinPool pool;
+    private Map<Long, Long> points;
+    private List<PointHistory> histories;
+
+    @BeforeEach
+    public void setup() {
+        userPointTable = mock(UserPointTable.class);
+        pointHistoryTable = mock(PointHistoryTable.class);
+        historyJournal = new HistoryJournal();
+        balanceVersionStore = new BalanceVersionStore(Long.MAX_VALUE / 2, 4096);
+        pool = new ForkJoinPool(4);
+        points = new HashMap<>();
+        histories = new ArrayList<>();
+        when(userPointTable.selectById(anyLong())).thenAnswer(invocation -> {
+            long id = invocation.getArgument(0);
+            return new UserPoint(id, points.getOrDefault(id, 0L), 0L);
+        });
+        when(pointHistoryTable.selectAllByUserId(anyLong())).thenAnswer(invocation -> {
+            long id = invocation.getArgument(0);
+            return histories.stream().filter(history -> history.userId() == id).toList();
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    private PointReconciler reconciler() {
+        return reconciler(0L);
+    }
+
+    private PointReconciler reconciler(long maxRowsPerSecond) {
+        return reconciler(maxRowsPerSecond, new UserLocks(0));
+    }
+
+    private PointReconciler reconciler(long maxRowsPerSecond, UserLocks userLocks) {
+        return new PointReconciler(historyJournal, balanceVersionStore,
+                new UserPointRepository(userPointTable, KnownUserFilter.disabled(), new BalanceLeaderboard()),
+                new PointHistoryRepository(pointHistoryTable, KnownUserFilter.disabled(), historyJournal),
+                userLocks, pool, 128, maxRowsPerSecond, 20L);
+    }
+
+    private void record(long userId, long amount, TransactionType type) {
+        PointHistory history = new PointHistory(histories.size() + 1, userId, amount, type, 0L);
+        histories.add(history);
+        historyJournal.append(history);
+        long point = points.merge(userId, type.signed(amount), Long::sum);
+        balanceVersionStore.publish(userId, point, 0L, history.id());
+    }
+
+    // 포인트와 내역 합계가 모두 같으면 불일치가 없다 (저널 청크 경계를 넘는 양)
+    @Test
+    public void testReconcile_AllMatch() {
+        for (int i = 0; i < 10_000; i++) {
+            record(i % 500, 10L, TransactionType.CHARGE);
+            if (i % 3 == 0) {
+                record(i % 500, 5L, TransactionType.USE);
+            }
+        }
+
+        ReconciliationReport report = reconciler().reconcile();
+
+        assertEquals(historyJournal.size(), report.rowsScanned());
+        assertEquals(500, report.usersChecked());
+        assertTrue(report.mismatches().isEmpty());
+    }
+
+    // 포인트가 내역 합계와 다른 유저만 불일치로 보고한다
+    @Test
+    public void testReconcile_ReportsMismatch() {
+        for (long userId = 1; userId <= 100; userId++) {
+            record(userId, 100L, TransactionType.CHARGE);
+            record(userId, 30L, TransactionType.USE);
+        }
+        points.put(42L, 999L);
+        balanceVersionStore.publish(42L, 999L, 0L, 0L);
+
+        PointReconciler reconciler = reconciler();
+        ReconciliationReport report = reconciler.reconcile();
+
+        assertEquals(List.of(new ReconciliationReport.Mismatch(42L, 999L, 70L)), report.mismatches());
+        assertEquals(200L, reconciler.rowsScanned());
+        assertEquals(report, reconciler.lastReport());
+        //비교 단계는 저장소를 읽지 않고, 다른 유저만 다시 확인한다
+        verify(userPointTable, times(1)).selectById(anyLong());
+    }
+
+    // 내역이 한 건도 없는데 포인트가 있는 유저도 불일치로 보고한다
+    @Test
+    public void testReconcile_BalanceWithoutHistory() {
+        record(1L, 100L, TransactionType.CHARGE);
+        points.put(9L, 50L);
+        balanceVersionStore.publish(9L, 50L, 0L, 0L);
+
+        ReconciliationReport report = reconciler().reconcile();
+
+        assertEquals(List.of(new ReconciliationReport.Mismatch(9L, 50L, 0L)), report.mismatches());
+        assertEquals(2, report.usersChecked());
+    }
+
+    // 요청이 유저 락을 쥐고 있으면 기다리지 않고 건너뛴 유저로 보고한다
+    @Test
+    public void testReconcile_SkipsBusyUser() throws Exception {
+        record(1L, 100L, TransactionType.CHARGE);
+        record(2L, 100L, TransactionType.CHARGE);
+        points.put(1L, 1L);
+        balanceVersionStore.publish(1L, 1L, 0L, 0L);
+        points.put(2L, 2L);
+        balanceVersionStore.publish(2L, 2L, 0L, 0L);
+        UserLocks userLocks = new UserLocks(0);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            userLocks.lockFor(1L).lock();
+            try {
+                locked.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                userLocks.lockFor(1L).unlock();
+            }
+        });
+        holder.start();
+        locked.await();
+        try {
+            ReconciliationReport report = reconciler(0L, userLocks).reconcile();
+
+            assertEquals(List.of(1L), report.skippedUsers());
+            assertEquals(List.of(new ReconciliationReport.Mismatch(2L, 2L, 100L)), report.mismatches());
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
+    // 실행 중에 다시 요청하면 기다리지 않고 진행 상황과 함께 409 를 돌려준다
+    @Test
+    public void testEndpoint_ConflictWhileRunning() throws Exception {
+        record(1L, 100L, TransactionType.CHARGE);
+        points.put(1L, 1L);
+        balanceVersionStore.publish(1L, 1L, 0L, 0L);
+        CountDownLatch rechecking = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userPointTable.selectById(1L)).thenAnswer(invocation -> {
+            rechecking.countDown();
+            release.await();
+            return new UserPoint(1L, 1L, 0L);
+        });
+        PointReconciler reconciler = reconciler();
+        PointReconcileEndpoint endpoint = new PointReconcileEndpoint(reconciler);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<WebEndpointResponse<Object>> first = executor.submit(endpoint::reconcile);
+            rechecking.await();
+
+            assertEquals(409, endpoint.reconcile().getStatus());
+            release.countDown();
+            assertEquals(200, first.get().getStatus());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    // 속도를 제한해도 나눠 집계한 결과는 같다
+    @Test
+    public void testReconcile_Throttled() {
+        for (int i = 0; i < 2_000; i++) {
+            record(i % 50, 10L, TransactionType.CHARGE);
+        }
+
+        ReconciliationReport report = reconciler(100_000L).reconcile();
+
+        assertEquals(2_000L, report.rowsScanned());
+        assertEquals(50, report.usersChecked());
+        assertTrue(report.mismatches().isEmpty());
+    }
+
+    // 저널은 기록 순서대로 컬럼 값을 돌려준다
+    @Test
+    public void testHistoryJournal_ReadsBack() {
+        record(7L, 50L, TransactionType.CHARGE);
+        record(7L, 20L, TransactionType.USE);
+
+        assertEquals(2L, historyJournal.size());
+        assertEquals(new PointHistory(2L, 7L, 20L, TransactionType.USE, 0L), historyJournal.get(1L));
+        assertEquals(-20L, historyJournal.signedAmountAt(1L));
+        assertThrows(IndexOutOfBoundsException.class, () -> historyJournal.get(2L));
+    }
+
+    // 여러 스레드가 동시에 기록해도 빠지거나 겹치는 행이 없다
+    @Test
+    public void testHistoryJournal_ConcurrentAppend() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                long base = t * 5_000L;
+                futures.add(executor.submit(() -> {
+                    for (long i = 1; i <= 5_000; i++) {
+                        historyJournal.append(new PointHistory(base + i, 1L, 1L, TransactionType.CHARGE, 0L));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(20_000L, historyJournal.size());
+        Set<Long> ids = new HashSet<>();
+        for (long i = 0; i < historyJournal.size(); i++) {
+            ids.add(historyJournal.idAt(i));
+        }
+        assertEquals(20_000, ids.size());
+    }
+}
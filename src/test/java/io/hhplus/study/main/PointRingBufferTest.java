@@ -0,0 +1,110 @@
+package io.hhplus.study.main;
+
+import io.hhplus.tdd.engine.PointRingBuffer;
+import io.hhplus.tdd.exception.PointTimeoutException;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.util.Deadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointRingBufferTest {
+
+    private PointRingBuffer ringBuffer;
+
+    @BeforeEach
+    public void setup() {
+        //슬롯 재사용(여러 바퀴)까지 확인하기 위해 작게 잡는다
+        ringBuffer = new PointRingBuffer(8);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ringBuffer.shutdown();
+    }
+
+    @Test
+    public void testConstructor_SizeMustBePowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new PointRingBuffer(10));
+    }
+
+    // 링 크기보다 훨씬 많은 동시 충전이 유실 없이 반영되고 내역 id가 겹치지 않는지
+    @Test
+    public void testApply_ConcurrentCharges() throws InterruptedException {
+        long userId = 1L;
+        int numberOfCalls = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        CountDownLatch latch = new CountDownLatch(numberOfCalls);
+
+        for (int i = 0; i < numberOfCalls; i++) {
+            executor.submit(() -> {
+                try {
+                    ringBuffer.apply(userId, 10L, TransactionType.CHARGE, Deadline.after(5000L));
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executor.shutdown();
+
+        assertEquals(10L * numberOfCalls, ringBuffer.selectPoint(userId, Deadline.after(1000L)).point());
+        List<PointHistory> histories = ringBuffer.selectHistories(userId, Deadline.after(1000L));
+        assertEquals(numberOfCalls, histories.size());
+        Set<Long> ids = new HashSet<>();
+        histories.forEach(history -> ids.add(history.id()));
+        assertEquals(numberOfCalls, ids.size());
+    }
+
+    // 잔액 부족 시 내역이 남지 않는다
+    @Test
+    public void testApply_InsufficientUse() {
+        long userId = 2L;
+        ringBuffer.apply(userId, 100L, TransactionType.CHARGE, Deadline.after(1000L));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> ringBuffer.apply(userId, 500L, TransactionType.USE, Deadline.after(1000L)));
+
+        assertEquals("Insufficient points: current=100, required=500", exception.getMessage());
+        assertEquals(100L, ringBuffer.selectPoint(userId, Deadline.after(1000L)).point());
+        assertEquals(1, ringBuffer.selectHistories(userId, Deadline.after(1000L)).size());
+    }
+
+    // 처리 전에 기한이 지난 명령은 반영되지 않는다
+    @Test
+    public void testApply_ExpiredDeadline() {
+        long userId = 3L;
+
+        assertThrows(PointTimeoutException.class,
+                () -> ringBuffer.apply(userId, 100L, TransactionType.CHARGE, Deadline.after(-1L)));
+
+        assertEquals(0L, ringBuffer.selectPoint(userId, Deadline.after(1000L)).point());
+        assertTrue(ringBuffer.selectHistories(userId, Deadline.after(1000L)).isEmpty());
+    }
+
+    // 소비자가 멈춘 뒤의 요청은 기한까지 묶이지 않고 바로 PointTimeoutException 으로 끝난다
+    @Test
+    public void testApply_AfterShutdown() throws InterruptedException {
+        long userId = 4L;
+        ringBuffer.apply(userId, 100L, TransactionType.CHARGE, Deadline.after(1000L));
+        ringBuffer.shutdown();
+        Thread.sleep(100L);
+
+        long startNanos = System.nanoTime();
+        assertThrows(PointTimeoutException.class,
+                () -> ringBuffer.apply(userId, 100L, TransactionType.CHARGE, Deadline.after(5000L)));
+        assertThrows(PointTimeoutException.class, () -> ringBuffer.selectPoint(userId, Deadline.after(5000L)));
+        assertTrue(System.nanoTime() - startNanos < 1_000_000_000L);
+    }
+}
@@ -0,0 +1,149 @@
+package io.hhplus.study.main;
+
+import io.hhplus.tdd.engine.UserSerialLanes;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.service.PointHistoryService;
+import io.hhplus.tdd.service.ReactivePointHistoryServiceImpl;
+import io.hhplus.tdd.service.ReactiveUserPointServiceImpl;
+import io.hhplus.tdd.service.UserPointService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ReactiveUserPointServiceTest {
+
+    private Scheduler scheduler;
+    private UserPointService userPointService;
+    private PointHistoryService pointHistoryService;
+    private ReactiveUserPointServiceImpl reactiveUserPointService;
+    private ReactivePointHistoryServiceImpl reactivePointHistoryService;
+
+    @BeforeEach
+    public void setup() {
+        scheduler = Schedulers.newBoundedElastic(8, 10_000, "test-elastic");
+        userPointService = mock(UserPointService.class);
+        pointHistoryService = mock(PointHistoryService.class);
+        UserSerialLanes lanes = new UserSerialLanes(scheduler::schedule, 8);
+        reactiveUserPointService = new ReactiveUserPointServiceImpl(userPointService, lanes, scheduler, Optional.empty(), Optional.empty());
+        reactivePointHistoryService = new ReactivePointHistoryServiceImpl(pointHistoryService, scheduler, Optional.empty());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.dispose();
+    }
+
+    // 같은 유저의 충전은 동시에 구독해도 겹치지 않고 모두 반영된다 (블로킹 락 없이)
+    @Test
+    public void testChargeUserPoint_SerialPerUser() {
+        long userId = 1L;
+        AtomicLong balance = new AtomicLong();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        when(userPointService.chargeUserPoint(eq(userId), anyLong())).thenAnswer(invocation -> {
+            if (running.incrementAndGet() != 1) {
+                overlaps.incrementAndGet();
+            }
+            //락 없이 읽고-쓰기를 나눠도 레인이 직렬로 실행하므로 유실이 없어야 한다
+            long current = balance.get();
+            Thread.onSpinWait();
+            balance.set(current + (long) invocation.getArgument(1));
+            running.decrementAndGet();
+            return new UserPoint(userId, balance.get(), 0L);
+        });
+
+        Flux.range(0, 500)
+                .flatMap(i -> reactiveUserPointService.chargeUserPoint(userId, 10L), 64)
+                .blockLast(Duration.ofSeconds(10));
+
+        assertEquals(0, overlaps.get());
+        assertEquals(5_000L, balance.get());
+    }
+
+    // 서비스 예외는 Mono 에러로 전달된다
+    @Test
+    public void testUseUserPoint_Error() {
+        when(userPointService.useUserPoint(2L, 100L)).thenThrow(new IllegalStateException("Insufficient points"));
+
+        StepVerifier.create(reactiveUserPointService.useUserPoint(2L, 100L))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    // 조회는 요청 스레드가 아니라 블로킹 전용 스케줄러에서 실행된다
+    @Test
+    public void testSelectDetailUserPoint_OnBlockingScheduler() {
+        AtomicInteger calls = new AtomicInteger();
+        when(userPointService.selectDetailUserPoint(3L)).thenAnswer(invocation -> {
+            assertTrue(Thread.currentThread().getName().startsWith("test-elastic"));
+            calls.incrementAndGet();
+            return new UserPoint(3L, 30L, 0L);
+        });
+
+        StepVerifier.create(reactiveUserPointService.selectDetailUserPoint(3L))
+                .expectNext(new UserPoint(3L, 30L, 0L))
+                .verifyComplete();
+        assertEquals(1, calls.get());
+    }
+
+    // 시점 조회가 없는 엔진(sharded/ring)이면 501 로 끝난다
+    @Test
+    public void testSelectDetailUserPointAsOf_NotSupported() {
+        StepVerifier.create(reactiveUserPointService.selectDetailUserPointAsOf(1L, 100L))
+                .expectErrorMatches(error -> error instanceof ResponseStatusException statusException
+                        && statusException.getStatusCode() == HttpStatus.NOT_IMPLEMENTED)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    // 순위표가 없는 엔진(sharded/ring)이면 501 로 끝난다
+    @Test
+    public void testSelectTopUserPoints_NotSupported() {
+        StepVerifier.create(reactiveUserPointService.selectTopUserPoints(10))
+                .expectErrorMatches(error -> error instanceof ResponseStatusException statusException
+                        && statusException.getStatusCode() == HttpStatus.NOT_IMPLEMENTED)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    // 구간 내역 조회가 없는 엔진(sharded/ring)이면 501 로 끝난다
+    @Test
+    public void testSelectPointHistoriesBetween_NotSupported() {
+        StepVerifier.create(reactivePointHistoryService.selectPointHistoriesBetween(0L, 100L, null, null, 10))
+                .expectErrorMatches(error -> error instanceof ResponseStatusException statusException
+                        && statusException.getStatusCode() == HttpStatus.NOT_IMPLEMENTED)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    // 내역은 구독자가 요청한 만큼만 내보낸다
+    @Test
+    public void testSelectDetailPointHistory_Backpressure() {
+        List<PointHistory> histories = List.of(
+                new PointHistory(1L, 4L, 10L, TransactionType.CHARGE, 0L),
+                new PointHistory(2L, 4L, 5L, TransactionType.USE, 0L),
+                new PointHistory(3L, 4L, 7L, TransactionType.CHARGE, 0L));
+        when(pointHistoryService.selectDetailPointHistory(4L)).thenReturn(histories);
+
+        StepVerifier.create(reactivePointHistoryService.selectDetailPointHistory(4L), 1)
+                .expectNext(histories.get(0))
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenRequest(2)
+                .expectNext(histories.get(1), histories.get(2))
+                .verifyComplete();
+    }
+}
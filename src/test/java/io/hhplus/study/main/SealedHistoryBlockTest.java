@@ -0,0 +1,71 @@
+package io.hhplus.study.main;
+
+import io.hhplus.tdd.engine.PointLedger;
+import io.hhplus.tdd.engine.SealedHistoryBlock;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SealedHistoryBlockTest {
+
+    // 압축 후 풀면 id/금액/타입/시각이 그대로 돌아온다 (감소하는 값, 큰 값 포함)
+    @Test
+    public void testEncodeDecode_RoundTrip() {
+        long[] ids = {5L, 9L, 7L, Long.MAX_VALUE / 2};
+        long[] amounts = {100L, 1L, 0L, Long.MAX_VALUE};
+        long[] millis = {1_000L, 1_500L, 1_200L, 99_999_999_999L};
+        byte[] types = {0, 1, 1, 0};
+
+        SealedHistoryBlock block = SealedHistoryBlock.encode(ids, amounts, millis, types, 4);
+        List<PointHistory> decoded = new ArrayList<>();
+        block.decodeInto(3L, decoded);
+
+        assertEquals(4, block.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(new PointHistory(ids[i], 3L, amounts[i], TransactionType.values()[types[i]], millis[i]), decoded.get(i));
+        }
+    }
+
+    // 비슷한 시각에 쌓인 내역은 압축 전 컬럼 크기보다 작아진다
+    @Test
+    public void testEncode_Compresses() {
+        int count = 64;
+        long[] ids = new long[count];
+        long[] amounts = new long[count];
+        long[] millis = new long[count];
+        byte[] types = new byte[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = 1_000_000L + i * 37L;
+            amounts[i] = 1_000L * (i % 10 + 1);
+            millis[i] = 1_700_000_000_000L + i * 60_000L;
+            types[i] = (byte) (i % 2);
+        }
+
+        SealedHistoryBlock block = SealedHistoryBlock.encode(ids, amounts, millis, types, count);
+
+        assertTrue(block.encodedBytes() * 3 < count * SealedHistoryBlock.RAW_ROW_BYTES, "bytes=" + block.encodedBytes());
+    }
+
+    // 오래된 내역이 압축되어도 조회 결과는 기록 순서 그대로다
+    @Test
+    public void testLedger_SealsColdHistories() {
+        PointLedger ledger = new PointLedger(1_000L);
+        for (int i = 0; i < 100; i++) {
+            ledger.appendHistory(i + 1, 1L, 10L, TransactionType.CHARGE, i);
+        }
+        ledger.appendHistory(101L, 1L, 10L, TransactionType.USE, 10_000L);
+
+        List<PointHistory> histories = ledger.selectHistories(1L);
+
+        assertEquals(100L, ledger.sealedRows());
+        assertTrue(ledger.sealedBytes() > 0);
+        assertEquals(101, histories.size());
+        assertEquals(new PointHistory(50L, 1L, 10L, TransactionType.CHARGE, 49L), histories.get(49));
+        assertEquals(TransactionType.USE, histories.get(100).type());
+    }
+}
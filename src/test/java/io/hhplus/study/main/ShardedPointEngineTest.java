@@ -0,0 +1,106 @@
+package io.hhplus.study.main;
+
+import io.hhplus.tdd.config.PointBatchProperties;
+import io.hhplus.tdd.config.PointTimeoutProperties;
+import io.hhplus.tdd.engine.ShardedPointEngine;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.service.ShardedUserPointServiceImpl;
+import io.hhplus.tdd.util.Deadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardedPointEngineTest {
+
+    private ShardedPointEngine engine;
+
+    @BeforeEach
+    public void setup() {
+        engine = new ShardedPointEngine(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    // 같은 userId는 항상 같은 샤드로 간다
+    @Test
+    public void testShardOf_Stable() {
+        for (long userId = -100; userId < 100; userId++) {
+            int shard = engine.shardOf(userId);
+            assertTrue(shard >= 0 && shard < engine.shardCount());
+            assertEquals(shard, engine.shardOf(userId));
+        }
+    }
+
+    // 일괄 조회: sharded 모드도 max-ids 를 넘거나 null id 가 있으면 거부한다
+    @Test
+    public void testSelectDetailUserPoints_MaxIds() {
+        PointBatchProperties batchProperties = new PointBatchProperties();
+        batchProperties.setMaxIds(3);
+        ShardedUserPointServiceImpl service =
+                new ShardedUserPointServiceImpl(engine, new PointTimeoutProperties(), batchProperties);
+        engine.apply(1L, 10L, TransactionType.CHARGE, Deadline.after(5000L));
+
+        List<UserPoint> result = service.selectDetailUserPoints(List.of(1L, 2L, 1L));
+
+        assertEquals(List.of(1L, 2L), result.stream().map(UserPoint::id).toList());
+        assertEquals(10L, result.get(0).point());
+        assertThrows(IllegalArgumentException.class, () -> service.selectDetailUserPoints(List.of(1L, 2L, 3L, 4L)));
+        assertThrows(IllegalArgumentException.class, () -> service.selectDetailUserPoints(Arrays.asList(1L, null)));
+    }
+
+    // 여러 유저에 대한 동시 충전이 유실 없이 반영되는지
+    @Test
+    public void testApply_ConcurrentCharges() throws InterruptedException {
+        int userCount = 10;
+        int numberOfCalls = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        CountDownLatch latch = new CountDownLatch(numberOfCalls);
+
+        for (int i = 0; i < numberOfCalls; i++) {
+            long userId = i % userCount;
+            executor.submit(() -> {
+                try {
+                    engine.apply(userId, 10L, TransactionType.CHARGE, Deadline.after(5000L));
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+
+        latch.await();
+        executor.shutdown();
+
+        for (long userId = 0; userId < userCount; userId++) {
+            assertEquals(10L * (numberOfCalls / userCount), engine.selectPoint(userId, Deadline.after(1000L)).point());
+            assertEquals(numberOfCalls / userCount, engine.selectHistories(userId, Deadline.after(1000L)).size());
+        }
+    }
+
+    // 잔액 부족 시 포인트와 내역 모두 변하지 않는다
+    @Test
+    public void testApply_InsufficientUse() {
+        long userId = 1L;
+        engine.apply(userId, 100L, TransactionType.CHARGE, Deadline.after(1000L));
+
+        assertThrows(IllegalStateException.class,
+                () -> engine.apply(userId, 500L, TransactionType.USE, Deadline.after(1000L)));
+
+        assertEquals(100L, engine.selectPoint(userId, Deadline.after(1000L)).point());
+        List<PointHistory> histories = engine.selectHistories(userId, Deadline.after(1000L));
+        assertEquals(1, histories.size());
+        assertEquals(TransactionType.CHARGE, histories.get(0).type());
+    }
+}
@@ -0,0 +1,61 @@
+package io.hhplus.study.main;
+
+import io.hhplus.tdd.database.latency.StorageLatencyModel;
+import io.hhplus.tdd.database.latency.SyntheticUserPointTable;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StorageLatencyModelTest {
+
+    // 같은 시드면 같은 지연 순서가 나온다
+    @Test
+    public void testSeeded_Reproducible() {
+        StorageLatencyModel first = StorageLatencyModel.seeded(7L);
+        StorageLatencyModel second = StorageLatencyModel.seeded(7L);
+
+        for (int i = 0; i < 100; i++) {
+            long delay = first.delayNanos(300);
+            assertEquals(delay, second.delayNanos(300));
+            assertTrue(delay >= 0 && delay < 300_000_000L);
+        }
+    }
+
+    @Test
+    public void testFixedAndZero() {
+        assertEquals(100_000_000L, StorageLatencyModel.fixed().delayNanos(200));
+        assertEquals(0L, StorageLatencyModel.zero().delayNanos(200));
+    }
+
+    // 로그정규 분포의 중앙값/p99 가 설정한 비율 근처인지
+    @Test
+    public void testLogNormal_Quantiles() {
+        StorageLatencyModel model = StorageLatencyModel.logNormal(1L, 0.25, 1.0);
+        long[] samples = new long[20_000];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = model.delayNanos(100);
+        }
+        Arrays.sort(samples);
+
+        assertEquals(25_000_000L, samples[samples.length / 2], 2_500_000L);
+        assertEquals(100_000_000L, samples[(int) (samples.length * 0.99)], 15_000_000L);
+    }
+
+    @Test
+    public void testLogNormal_InvalidRatio() {
+        assertThrows(IllegalArgumentException.class, () -> StorageLatencyModel.logNormal(1L, 0.5, 0.1));
+    }
+
+    // 지연 없는 테이블도 실제 Table 과 같은 값을 돌려준다
+    @Test
+    public void testSyntheticUserPointTable_SameBehavior() {
+        SyntheticUserPointTable table = new SyntheticUserPointTable(StorageLatencyModel.zero());
+
+        assertEquals(0L, table.selectById(1L).point());
+        UserPoint inserted = table.insertOrUpdate(1L, 500L);
+        assertEquals(inserted, table.selectById(1L));
+    }
+}
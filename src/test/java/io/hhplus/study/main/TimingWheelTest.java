@@ -0,0 +1,102 @@
+package io.hhplus.study.main;
+
+import io.hhplus.tdd.config.PointExpirationConfig;
+import io.hhplus.tdd.config.PointExpirationProperties;
+import io.hhplus.tdd.expire.PointExpiryTracker;
+import io.hhplus.tdd.expire.TimingWheel;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTest {
+
+    // 여러 레벨에 걸친 타이머가 모두 정확한 틱에 만료된다
+    @Test
+    public void testAdvance_FiresAtExactTick() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1L, 0L);
+        long[] delays = {1, 5, 63, 64, 65, 100, 4095, 4096, 4097, 262_143, 262_144, 300_000};
+        for (long delay : delays) {
+            wheel.schedule(delay, delay);
+        }
+
+        Map<Long, Long> firedAt = new HashMap<>();
+        for (long now = 1; now <= 300_000; now++) {
+            long tick = now;
+            wheel.advance(now, delay -> firedAt.put(delay, tick));
+        }
+
+        for (long delay : delays) {
+            assertEquals(delay, firedAt.get(delay), "delay=" + delay);
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    // 취소된 타이머는 만료되지 않는다
+    @Test
+    public void testCancel_PreventsExpiry() {
+        TimingWheel<String> wheel = new TimingWheel<>(10L, 0L);
+        TimingWheel.Timeout<String> kept = wheel.schedule("kept", 500L);
+        TimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 500L);
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(1_000L, fired::add);
+        assertEquals(List.of("kept"), fired);
+        assertFalse(wheel.cancel(kept));
+    }
+
+    // 휠 범위(64^5 틱)를 넘는 타이머가 든 최상위 칸을 다시 나눠 담아도 멈추지 않고, 만료되지도 않는다
+    @Test
+    public void testAdvance_BeyondRangeDoesNotLoop() {
+        TimingWheel<String> wheel = new TimingWheel<>(1L, 0L);
+        //2^24 틱에 나눠 담는 최상위 1번 칸에 다시 들어가는 타이머
+        wheel.schedule("far", (1L << 24) + TimingWheel.MAX_TICKS);
+
+        List<String> fired = new ArrayList<>();
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> wheel.advance((1L << 24) + 5, fired::add));
+
+        assertTrue(fired.isEmpty());
+        assertEquals(1, wheel.size());
+    }
+
+    // 만료 시간이 휠 범위를 넘는 설정은 거부한다
+    @Test
+    public void testExpirationConfig_RejectsBeyondRange() {
+        PointExpirationProperties properties = new PointExpirationProperties();
+        properties.setTickMillis(1L);
+        properties.setAfterMillis(TimingWheel.MAX_TICKS);
+
+        assertThrows(IllegalArgumentException.class, () -> new PointExpirationConfig().pointExpiryTracker(properties));
+
+        properties.setAfterMillis(TimingWheel.MAX_TICKS - 1);
+        assertTrue(new PointExpirationConfig().pointExpiryTracker(properties).isEnabled());
+    }
+
+    // 사용은 오래된 충전부터 차감하고, 다 쓴 충전은 만료 대상에서 빠진다
+    @Test
+    public void testTracker_UseConsumesOldestFirst() {
+        PointExpiryTracker tracker = new PointExpiryTracker(1_000L, 10L, 0L);
+        tracker.onCharge(1L, 100L, 0L);
+        tracker.onCharge(1L, 50L, 500L);
+
+        tracker.onUse(1L, 120L);
+
+        assertEquals(1, tracker.pendingLots());
+        assertEquals(0L, tracker.expiredAmount(1L, 1_000L));
+        assertEquals(30L, tracker.expiredAmount(1L, 1_500L));
+
+        Set<Long> expiredUsers = new HashSet<>();
+        tracker.advance(1_500L, expiredUsers);
+        assertEquals(Set.of(1L), expiredUsers);
+    }
+}
@@ -7,6 +7,9 @@ import io.hhplus.tdd.point.TransactionType;
 import io.hhplus.tdd.point.UserPoint;
 import io.hhplus.tdd.repository.PointHistoryRepository;
 import io.hhplus.tdd.repository.UserPointRepository;
+import io.hhplus.tdd.store.HistoryJournal;
+import io.hhplus.tdd.store.BalanceLeaderboard;
+import io.hhplus.tdd.store.KnownUserFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -33,8 +36,8 @@ public class UserPointHistoryServiceTest {
     public void setup() {
         userPointTable = mock(UserPointTable.class);
         pointHistoryTable = mock(PointHistoryTable.class);
-        userPointRepository = new UserPointRepository(userPointTable);
-        pointHistoryRepository = new PointHistoryRepository(pointHistoryTable);
+        userPointRepository = new UserPointRepository(userPointTable, KnownUserFilter.disabled(), new BalanceLeaderboard());
+        pointHistoryRepository = new PointHistoryRepository(pointHistoryTable, KnownUserFilter.disabled(), new HistoryJournal());
         locks = new ConcurrentHashMap<>();
     }
 
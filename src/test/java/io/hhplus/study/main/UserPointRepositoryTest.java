@@ -3,6 +3,8 @@ package io.hhplus.study.main;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.point.UserPoint;
 import io.hhplus.tdd.repository.UserPointRepository;
+import io.hhplus.tdd.store.BalanceLeaderboard;
+import io.hhplus.tdd.store.KnownUserFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -22,7 +24,7 @@ public class UserPointRepositoryTest {
     @BeforeEach
     public void setup() {
         userPointTable = mock(UserPointTable.class);
-        userPointRepository = new UserPointRepository(userPointTable);
+        userPointRepository = new UserPointRepository(userPointTable, KnownUserFilter.disabled(), new BalanceLeaderboard());
     }
 
 
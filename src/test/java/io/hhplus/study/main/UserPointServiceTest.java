@@ -0,0 +1,374 @@
+package io.hhplus.study.main;
+
+import io.hhplus.tdd.config.PointBatchProperties;
+import io.hhplus.tdd.config.PointTimeoutProperties;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.engine.HotKeyDetector;
+import io.hhplus.tdd.engine.HotKeyLanes;
+import io.hhplus.tdd.engine.UserLocks;
+import io.hhplus.tdd.exception.PointTimeoutException;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.repository.PointHistoryRepository;
+import io.hhplus.tdd.repository.UserPointRepository;
+import io.hhplus.tdd.service.UserPointServiceImpl;
+import io.hhplus.tdd.expire.PointExpiryTracker;
+import io.hhplus.tdd.feed.PointChangeEvent;
+import io.hhplus.tdd.feed.PointChangeFeed;
+import io.hhplus.tdd.store.BalanceVersionStore;
+import io.hhplus.tdd.store.HistoryJournal;
+import io.hhplus.tdd.store.BalanceLeaderboard;
+import io.hhplus.tdd.store.KnownUserFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class UserPointServiceTest {
+
+    private UserPointTable userPointTable;
+    private PointHistoryTable pointHistoryTable;
+    private PointTimeoutProperties pointTimeoutProperties;
+    private ExecutorService pointIoExecutor;
+    private PointChangeFeed pointChangeFeed;
+    private PointExpiryTracker pointExpiryTracker;
+    private UserPointServiceImpl userPointService;
+
+    @BeforeEach
+    public void setup() {
+        userPointTable = mock(UserPointTable.class);
+        pointHistoryTable = mock(PointHistoryTable.class);
+        pointTimeoutProperties = new PointTimeoutProperties();
+        pointIoExecutor = Executors.newFixedThreadPool(4);
+        pointChangeFeed = new PointChangeFeed(1024);
+        pointExpiryTracker = new PointExpiryTracker(60_000L, 1_000L, 0L);
+        userPointService = new UserPointServiceImpl(
+                new UserPointRepository(userPointTable, KnownUserFilter.disabled(), new BalanceLeaderboard()),
+                new PointHistoryRepository(pointHistoryTable, KnownUserFilter.disabled(), new HistoryJournal()),
+                pointTimeoutProperties,
+                new UserLocks(0),
+                pointIoExecutor,
+                new BalanceVersionStore(60_000L, 4096),
+                new PointBatchProperties(),
+                pointIoExecutor,
+                pointChangeFeed,
+                pointExpiryTracker,
+                HotKeyLanes.disabled(),
+                pointIoExecutor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pointIoExecutor.shutdown();
+    }
+
+    // 정상 충전: 내역과 포인트가 모두 기록된다
+    @Test
+    public void testChargeUserPoint_Success() {
+        long userId = 1L;
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 100L, 0L));
+        when(pointHistoryTable.insert(eq(userId), eq(50L), any(), anyLong()))
+                .thenReturn(new PointHistory(1L, userId, 50L, TransactionType.CHARGE, 0L));
+        when(userPointTable.insertOrUpdate(userId, 150L)).thenReturn(new UserPoint(userId, 150L, 0L));
+
+        UserPoint result = userPointService.chargeUserPoint(userId, 50L);
+
+        assertEquals(150L, result.point());
+        verify(userPointTable, times(1)).insertOrUpdate(userId, 150L);
+    }
+
+    // 잔액 부족: 예외가 발생하고 내역이 남지 않는다
+    @Test
+    public void testUseUserPoint_InsufficientLeavesNoHistory() {
+        long userId = 1L;
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 10L, 0L));
+
+        assertThrows(IllegalStateException.class, () -> userPointService.useUserPoint(userId, 50L));
+
+        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+    }
+
+    // 같은 유저의 락이 처리 기한보다 오래 잡혀 있으면 대기하던 요청은 기록 없이 취소된다
+    @Test
+    public void testChargeUserPoint_LockTimeoutLeavesNoWrite() throws Exception {
+        long userId = 1L;
+        pointTimeoutProperties.setChargeMillis(100L);
+        CountDownLatch selecting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        when(userPointTable.selectById(userId)).thenAnswer(invocation -> {
+            selecting.countDown();
+            release.await();
+            return new UserPoint(userId, 0L, 0L);
+        });
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong()))
+                .thenReturn(new PointHistory(1L, userId, 10L, TransactionType.CHARGE, 0L));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> slow = executor.submit(() -> userPointService.chargeUserPoint(userId, 10L));
+        selecting.await();
+
+        PointTimeoutException exception = assertThrows(PointTimeoutException.class,
+                () -> userPointService.chargeUserPoint(userId, 10L));
+        assertEquals("lock", exception.getStage());
+
+        release.countDown();
+        assertThrows(Exception.class, slow::get);
+        executor.shutdown();
+
+        // 먼저 들어온 요청도 기한을 넘겼으므로 기록 단계 전에 취소된다
+        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), any(), anyLong());
+        verify(userPointTable, never()).insertOrUpdate(anyLong(), anyLong());
+    }
+
+    // 사용 내역은 USE 타입으로 기록된다
+    @Test
+    public void testUseUserPoint_RecordsUseHistory() {
+        long userId = 1L;
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 100L, 0L));
+        when(pointHistoryTable.insert(eq(userId), eq(30L), eq(TransactionType.USE), anyLong()))
+                .thenReturn(new PointHistory(1L, userId, 30L, TransactionType.USE, 0L));
+        when(userPointTable.insertOrUpdate(userId, 70L)).thenReturn(new UserPoint(userId, 70L, 0L));
+
+        UserPoint result = userPointService.useUserPoint(userId, 30L);
+
+        assertEquals(70L, result.point());
+        verify(pointHistoryTable, times(1)).insert(eq(userId), eq(30L), eq(TransactionType.USE), anyLong());
+        verify(pointHistoryTable, never()).insert(anyLong(), anyLong(), eq(TransactionType.CHARGE), anyLong());
+    }
+
+    // 내역 기록과 포인트 기록이 동시에 수행되어 전체 시간이 두 지연의 합보다 짧다
+    @Test
+    public void testChargeUserPoint_WritesOverlap() {
+        long userId = 1L;
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 0L, 0L));
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return new PointHistory(1L, userId, 10L, TransactionType.CHARGE, 0L);
+        });
+        when(userPointTable.insertOrUpdate(userId, 10L)).thenAnswer(invocation -> {
+            Thread.sleep(300);
+            return new UserPoint(userId, 10L, 0L);
+        });
+
+        long start = System.nanoTime();
+        userPointService.chargeUserPoint(userId, 10L);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+        assertTrue(elapsedMillis < 550, "elapsed=" + elapsedMillis);
+    }
+
+    // 내역 기록이 실패하면 포인트를 원래 값으로 되돌린다
+    @Test
+    public void testChargeUserPoint_HistoryFailureRestoresPoint() {
+        long userId = 1L;
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 100L, 0L));
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenThrow(new RuntimeException("Database error"));
+        when(userPointTable.insertOrUpdate(anyLong(), anyLong())).thenAnswer(invocation ->
+                new UserPoint(invocation.getArgument(0), invocation.getArgument(1), 0L));
+
+        assertThrows(IllegalStateException.class, () -> userPointService.chargeUserPoint(userId, 50L));
+
+        verify(userPointTable, times(1)).insertOrUpdate(userId, 150L);
+        verify(userPointTable, times(1)).insertOrUpdate(userId, 100L);
+    }
+
+    // 충전/사용이 끝나면 변경 이벤트가 발행되고, 실패한 요청은 발행되지 않는다
+    @Test
+    public void testUseUserPoint_PublishesChangeEvent() {
+        long userId = 1L;
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 100L, 0L));
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong()))
+                .thenReturn(new PointHistory(5L, userId, 30L, TransactionType.USE, 0L));
+        when(userPointTable.insertOrUpdate(userId, 70L)).thenReturn(new UserPoint(userId, 70L, 0L));
+
+        userPointService.useUserPoint(userId, 30L);
+        assertThrows(IllegalStateException.class, () -> userPointService.useUserPoint(userId, 500L));
+
+        List<PointChangeEvent> events = new ArrayList<>();
+        pointChangeFeed.drain(0L, 10, events);
+        assertEquals(1, events.size());
+        assertEquals(-30L, events.get(0).delta());
+        assertEquals(70L, events.get(0).newBalance());
+        assertEquals(5L, events.get(0).historyId());
+    }
+
+    // 만료: 충전 후 쓰고 남은 포인트만 EXPIRE 내역으로 차감된다 (테이블 시각 0 기준 60초 후 만료)
+    @Test
+    public void testExpireUserPoint_DebitsRemainingCharge() {
+        long userId = 1L;
+        AtomicLong balance = new AtomicLong();
+        when(userPointTable.selectById(userId)).thenAnswer(invocation -> new UserPoint(userId, balance.get(), 0L));
+        when(userPointTable.insertOrUpdate(eq(userId), anyLong())).thenAnswer(invocation -> {
+            balance.set(invocation.getArgument(1));
+            return new UserPoint(userId, balance.get(), 0L);
+        });
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong())).thenAnswer(invocation ->
+                new PointHistory(1L, userId, invocation.getArgument(1), invocation.getArgument(2), 0L));
+
+        userPointService.chargeUserPoint(userId, 100L);
+        userPointService.useUserPoint(userId, 30L);
+        UserPoint result = userPointService.expireUserPoint(userId);
+
+        assertEquals(0L, result.point());
+        verify(pointHistoryTable, times(1)).insert(eq(userId), eq(70L), eq(TransactionType.EXPIRE), anyLong());
+        assertEquals(0, pointExpiryTracker.pendingLots());
+        assertEquals(70L, pointExpiryTracker.expiredPoints());
+
+        // 만료할 포인트가 없으면 기록하지 않는다
+        userPointService.expireUserPoint(userId);
+        verify(pointHistoryTable, times(1)).insert(anyLong(), anyLong(), eq(TransactionType.EXPIRE), anyLong());
+    }
+
+    // 일괄 조회: 중복 id 는 한 번만 조회하고 요청 순서대로 돌려준다
+    @Test
+    public void testSelectDetailUserPoints_Deduplicate() {
+        when(userPointTable.selectById(anyLong())).thenAnswer(invocation -> {
+            long id = invocation.getArgument(0);
+            return new UserPoint(id, id * 10, 0L);
+        });
+
+        List<UserPoint> result = userPointService.selectDetailUserPoints(List.of(3L, 1L, 3L, 2L, 1L));
+
+        assertEquals(List.of(3L, 1L, 2L), result.stream().map(UserPoint::id).toList());
+        assertEquals(30L, result.get(0).point());
+        verify(userPointTable, times(1)).selectById(3L);
+        verify(userPointTable, times(1)).selectById(1L);
+    }
+
+    // 일괄 조회: 충전 직후의 유저는 최신 버전에서 바로 돌려주고 저장소를 조회하지 않는다
+    @Test
+    public void testSelectDetailUserPoints_ServesLatestVersion() {
+        long userId = 1L;
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 0L, 0L));
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong()))
+                .thenReturn(new PointHistory(1L, userId, 10L, TransactionType.CHARGE, 0L));
+        when(userPointTable.insertOrUpdate(userId, 10L)).thenReturn(new UserPoint(userId, 10L, 0L));
+        userPointService.chargeUserPoint(userId, 10L);
+
+        List<UserPoint> result = userPointService.selectDetailUserPoints(List.of(userId));
+
+        assertEquals(10L, result.get(0).point());
+        verify(userPointTable, times(1)).selectById(userId);
+    }
+
+    // 시점 조회: 충전 전 시점은 이전 포인트, 충전 후 시점은 충전된 포인트를 돌려준다
+    @Test
+    public void testSelectDetailUserPointAsOf_Success() {
+        long userId = 1L;
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 0L, 0L));
+        when(pointHistoryTable.insert(anyLong(), anyLong(), any(), anyLong()))
+                .thenReturn(new PointHistory(7L, userId, 10L, TransactionType.CHARGE, 1_000L));
+        when(userPointTable.insertOrUpdate(userId, 10L)).thenReturn(new UserPoint(userId, 10L, 1_000L));
+        userPointService.chargeUserPoint(userId, 10L);
+
+        assertEquals(0L, userPointService.selectDetailUserPointAsOf(userId, 999L).point());
+        assertEquals(10L, userPointService.selectDetailUserPointAsOf(userId, 1_000L).point());
+        assertEquals(10L, userPointService.selectDetailUserPoint(userId).point());
+    }
+
+    // 일괄 조회: 저장소 조회가 병렬로 수행되어 전체 시간이 조회 한 번과 비슷하다
+    @Test
+    public void testSelectDetailUserPoints_ParallelFanOut() {
+        when(userPointTable.selectById(anyLong())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return UserPoint.empty(invocation.getArgument(0));
+        });
+        //첫 호출의 클래스 로딩/스레드 생성 시간이 측정에 섞이지 않도록 한 번 먼저 조회한다
+        userPointService.selectDetailUserPoints(List.of(9L));
+
+        long start = System.nanoTime();
+        List<UserPoint> result = userPointService.selectDetailUserPoints(List.of(1L, 2L, 3L, 4L));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+
+        assertEquals(4, result.size());
+        assertTrue(elapsedMillis < 500, "elapsed=" + elapsedMillis);
+    }
+
+    // 핫 유저: 전용 레인에서 묶어서 기록하므로 포인트 기록 횟수가 요청 수보다 적고, 잔액은 성공한 내역의 합과 같다
+    @Test
+    public void testChargeUserPoint_HotUserBatched() throws Exception {
+        long userId = 7L;
+        AtomicLong balance = new AtomicLong(0L);
+        AtomicLong historySum = new AtomicLong(0L);
+        AtomicLong historyIds = new AtomicLong(0L);
+        AtomicInteger pointWrites = new AtomicInteger();
+        when(userPointTable.selectById(userId)).thenAnswer(invocation -> new UserPoint(userId, balance.get(), 0L));
+        when(userPointTable.insertOrUpdate(eq(userId), anyLong())).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            pointWrites.incrementAndGet();
+            balance.set(invocation.getArgument(1));
+            return new UserPoint(userId, balance.get(), System.currentTimeMillis());
+        });
+        when(pointHistoryTable.insert(eq(userId), anyLong(), any(), anyLong())).thenAnswer(invocation -> {
+            Thread.sleep(20);
+            TransactionType type = invocation.getArgument(2);
+            historySum.addAndGet(type.signed(invocation.<Long>getArgument(1)));
+            return new PointHistory(historyIds.incrementAndGet(), userId, invocation.getArgument(1), type, 0L);
+        });
+        HotKeyLanes hotKeyLanes = new HotKeyLanes(new HotKeyDetector(1_000L, 1.0, 0.5), 4, 256, 64, 100L, Thread::new);
+        UserPointServiceImpl hotService = new UserPointServiceImpl(
+                new UserPointRepository(userPointTable, KnownUserFilter.disabled(), new BalanceLeaderboard()),
+                new PointHistoryRepository(pointHistoryTable, KnownUserFilter.disabled(), new HistoryJournal()),
+                pointTimeoutProperties,
+                new UserLocks(0),
+                pointIoExecutor,
+                new BalanceVersionStore(60_000L, 4096),
+                new PointBatchProperties(),
+                pointIoExecutor,
+                pointChangeFeed,
+                pointExpiryTracker,
+                hotKeyLanes,
+                pointIoExecutor);
+
+        int requests = 40;
+        ExecutorService clients = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            boolean charge = i % 2 == 0;
+            results.add(clients.submit(() -> {
+                start.await();
+                try {
+                    if (charge) {
+                        hotService.chargeUserPoint(userId, 10L);
+                    } else {
+                        hotService.useUserPoint(userId, 5L);
+                    }
+                    return true;
+                } catch (IllegalStateException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        int succeeded = 0;
+        for (Future<Boolean> result : results) {
+            succeeded += result.get() ? 1 : 0;
+        }
+        clients.shutdown();
+        hotKeyLanes.shutdown();
+
+        assertTrue(hotKeyLanes.promotions() >= 1);
+        assertTrue(succeeded >= requests / 2, "succeeded=" + succeeded);
+        assertEquals(succeeded, historyIds.get());
+        assertEquals(historySum.get(), balance.get());
+        assertTrue(balance.get() >= 0L);
+        assertTrue(pointWrites.get() < succeeded, "pointWrites=" + pointWrites.get());
+    }
+
+}
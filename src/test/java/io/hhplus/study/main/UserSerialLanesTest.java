@@ -0,0 +1,145 @@
+package io.hhplus.study.main;
+
+import io.hhplus.tdd.engine.UserSerialLanes;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserSerialLanesTest {
+
+    // 같은 유저의 작업은 여러 스레드에서 제출해도 겹치지 않고, 한 스레드가 제출한 순서를 지킨다
+    @Test
+    public void testExecute_SerialPerUser() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        UserSerialLanes lanes = new UserSerialLanes(executor, 16);
+        int submitters = 4;
+        int perSubmitter = 2_000;
+        Map<Long, List<Integer>> seen = new ConcurrentHashMap<>();
+        Map<Long, AtomicInteger> running = new ConcurrentHashMap<>();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(submitters * perSubmitter);
+
+        ExecutorService clients = Executors.newFixedThreadPool(submitters);
+        for (int s = 0; s < submitters; s++) {
+            int submitter = s;
+            clients.submit(() -> {
+                for (int i = 0; i < perSubmitter; i++) {
+                    long userId = i % 10;
+                    int sequence = submitter * perSubmitter + i;
+                    lanes.execute(userId, new UserSerialLanes.Task() {
+                        @Override
+                        public void run() {
+                            AtomicInteger active = running.computeIfAbsent(userId, id -> new AtomicInteger());
+                            if (active.incrementAndGet() != 1) {
+                                overlaps.incrementAndGet();
+                            }
+                            //유저별 리스트는 레인 안에서만 고치므로 동기화하지 않는다
+                            seen.computeIfAbsent(userId, id -> new ArrayList<>()).add(sequence);
+                            active.decrementAndGet();
+                            done.countDown();
+                        }
+
+                        @Override
+                        public void reject(RuntimeException error) {
+                            fail(error);
+                        }
+                    });
+                }
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        clients.shutdown();
+        //레인은 작업이 끝난 뒤에 pending 을 내리므로 드레인이 모두 끝날 때까지 기다린다
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(0, overlaps.get());
+        assertEquals(0, lanes.pending());
+        assertEquals(0, lanes.activeLanes());
+        for (List<Integer> sequences : seen.values()) {
+            for (int s = 0; s < submitters; s++) {
+                int submitter = s;
+                List<Integer> own = sequences.stream().filter(seq -> seq / perSubmitter == submitter).toList();
+                for (int i = 1; i < own.size(); i++) {
+                    assertTrue(own.get(i - 1) < own.get(i));
+                }
+            }
+        }
+    }
+
+    // 한 유저의 작업이 오래 걸려도 다른 유저의 작업은 그 뒤에서 기다리지 않는다
+    @Test
+    public void testExecute_NoHeadOfLineBlocking() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            UserSerialLanes lanes = new UserSerialLanes(executor, 16);
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch otherDone = new CountDownLatch(1);
+            lanes.execute(1L, task(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, new AtomicReference<>()));
+            lanes.execute(1L, task(() -> {
+            }, new AtomicReference<>()));
+            lanes.execute(2L, task(otherDone::countDown, new AtomicReference<>()));
+
+            assertTrue(otherDone.await(5, TimeUnit.SECONDS));
+            assertEquals(2, lanes.pending());
+            release.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    // executor 가 거절하면 레인에 쌓인 작업은 모두 reject 로 알리고, 이후 제출은 다시 드레인을 맡긴다
+    @Test
+    public void testExecute_Rejected() {
+        AtomicInteger accepted = new AtomicInteger();
+        UserSerialLanes lanes = new UserSerialLanes(task -> {
+            if (accepted.get() == 0) {
+                throw new RejectedExecutionException("full");
+            }
+            task.run();
+        }, 8);
+
+        AtomicReference<RuntimeException> rejected = new AtomicReference<>();
+        lanes.execute(1L, task(() -> fail("must not run"), rejected));
+        assertInstanceOf(RejectedExecutionException.class, rejected.get());
+        assertEquals(0, lanes.pending());
+
+        accepted.set(1);
+        AtomicInteger ran = new AtomicInteger();
+        lanes.execute(1L, task(ran::incrementAndGet, new AtomicReference<>()));
+        assertEquals(1, ran.get());
+    }
+
+    private static UserSerialLanes.Task task(Runnable body, AtomicReference<RuntimeException> rejected) {
+        return new UserSerialLanes.Task() {
+            @Override
+            public void run() {
+                body.run();
+            }
+
+            @Override
+            public void reject(RuntimeException error) {
+                rejected.set(error);
+            }
+        };
+    }
+}